@@ -0,0 +1,80 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Runs the benchmarks with the allocation profiler and prints, for each of
+ * them, the lines processed per second and the bytes allocated per line.
+ *
+ * <p>Build the analyzer and the benchmarks once, then run them offline:</p>
+ * <pre>
+ * (cd demo &amp;&amp; mvn -o install -DskipTests)
+ * cd benchmarks
+ * mvn -o package
+ * java -jar target/benchmarks.jar [benchmarkRegex] [corpusDirectory]
+ * </pre>
+ *
+ * <p>The jar also accepts the usual JMH command line through
+ * {@code java -cp target/benchmarks.jar org.openjdk.jmh.Main}.</p>
+ */
+public class BenchmarkRunner {
+    /**
+     * Name of the allocation result of {@link GCProfiler}, in bytes per operation.
+     */
+    private static final String ALLOCATION_RESULT = "gc.alloc.rate.norm";
+
+    /**
+     * Name of the result of the {@link LineCounters#lines} counter.
+     */
+    private static final String LINES_RESULT = "lines";
+
+    /**
+     * Default directory of the corpus, relative to the benchmarks directory.
+     */
+    private static final String DEFAULT_CORPUS = "../demo/src/main/java";
+
+    /**
+     * Runs the benchmarks and prints the summary.
+     *
+     * @param args Optional regular expression of the benchmarks to run and corpus directory.
+     * @throws RunnerException If JMH fails to run a benchmark.
+     * @throws IOException If the corpus cannot be read.
+     * @throws FileException If a file of the corpus cannot be found.
+     */
+    public static void main(String[] args) throws RunnerException, IOException, FileException {
+        String include = args.length > 0 ? args[0] : CounterBenchmark.class.getSimpleName();
+        String corpus = args.length > 1 ? args[1] : DEFAULT_CORPUS;
+        int corpusLines = SourceCorpus.countLines(Path.of(corpus));
+
+        Options options = new OptionsBuilder()
+            .include(include)
+            .param("corpus", corpus)
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        System.out.println();
+        System.out.println(String.format("Corpus: %s (%d lines)", corpus, corpusLines));
+        System.out.println(String.format("%-45s %16s %14s", "benchmark", "lines/s", "bytes/line"));
+        for (RunResult result : results) {
+            Result lines = result.getSecondaryResults().get(LINES_RESULT);
+            Result allocation = result.getSecondaryResults().get(ALLOCATION_RESULT);
+            System.out.println(String.format("%-45s %16.0f %14s",
+                result.getParams().getBenchmark(),
+                lines != null ? lines.getScore() : Double.NaN,
+                allocation != null ? String.format("%.1f", allocation.getScore() / corpusLines) : "n/a"));
+        }
+    }
+}
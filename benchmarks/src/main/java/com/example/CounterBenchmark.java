@@ -0,0 +1,165 @@
+package com.example;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.exceptions.FileException;
+import com.example.exceptions.FileFormatException;
+import com.example.validators.FileFormatValidator;
+
+/**
+ * Measures the throughput of every counter, the class analyzer, the format
+ * validator and the line reader over the files of a {@link SourceCorpus}.
+ * Each operation processes the whole corpus once; {@link LineCounters} turns
+ * the score into lines per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CounterBenchmark {
+    /**
+     * Counter of physical lines.
+     */
+    private final PhysicalLineCounter physicalLineCounter = new PhysicalLineCounter();
+
+    /**
+     * Counter of logical lines.
+     */
+    private final LogicalLineCounter logicalLineCounter = new LogicalLineCounter();
+
+    /**
+     * Counter of method declarations.
+     */
+    private final MethodLineCounter methodLineCounter = new MethodLineCounter();
+
+    /**
+     * Analyzer of class declarations.
+     */
+    private final ClassAnalyzer classAnalyzer = new ClassAnalyzer();
+
+    /**
+     * Measures {@link PhysicalLineCounter#count(JavaFile)}.
+     *
+     * @param sourceCorpus The files to analyze.
+     * @param counters     The counter of processed lines.
+     * @return The physical lines of the corpus.
+     */
+    @Benchmark
+    public int physicalLineCounter(SourceCorpus sourceCorpus, LineCounters counters) {
+        int total = 0;
+        for (JavaFile javaFile : sourceCorpus.getJavaFiles()) {
+            total += this.physicalLineCounter.count(javaFile);
+        }
+        counters.lines += sourceCorpus.getLineCount();
+        return total;
+    }
+
+    /**
+     * Measures {@link LogicalLineCounter#count(JavaFile)}.
+     *
+     * @param sourceCorpus The files to analyze.
+     * @param counters     The counter of processed lines.
+     * @return The logical lines of the corpus.
+     */
+    @Benchmark
+    public int logicalLineCounter(SourceCorpus sourceCorpus, LineCounters counters) {
+        int total = 0;
+        for (JavaFile javaFile : sourceCorpus.getJavaFiles()) {
+            total += this.logicalLineCounter.count(javaFile);
+        }
+        counters.lines += sourceCorpus.getLineCount();
+        return total;
+    }
+
+    /**
+     * Measures {@link MethodLineCounter#count(JavaFile)}.
+     *
+     * @param sourceCorpus The files to analyze.
+     * @param counters     The counter of processed lines.
+     * @return The method declarations of the corpus.
+     */
+    @Benchmark
+    public int methodLineCounter(SourceCorpus sourceCorpus, LineCounters counters) {
+        int total = 0;
+        for (JavaFile javaFile : sourceCorpus.getJavaFiles()) {
+            total += this.methodLineCounter.count(javaFile);
+        }
+        counters.lines += sourceCorpus.getLineCount();
+        return total;
+    }
+
+    /**
+     * Measures {@link ClassAnalyzer#analyze(JavaFile)}.
+     *
+     * @param sourceCorpus The files to analyze.
+     * @param counters     The counter of processed lines.
+     * @param blackhole    Sink for the class lists.
+     */
+    @Benchmark
+    public void classAnalyzer(SourceCorpus sourceCorpus, LineCounters counters, Blackhole blackhole) {
+        for (JavaFile javaFile : sourceCorpus.getJavaFiles()) {
+            blackhole.consume(this.classAnalyzer.analyze(javaFile));
+        }
+        counters.lines += sourceCorpus.getLineCount();
+    }
+
+    /**
+     * Measures {@link FileFormatValidator#isValidFileFormat(JavaFile)}. The
+     * validation of a file stops at its first format error, as in the analyzer,
+     * so on a corpus with invalid files the lines after each error are counted
+     * without being visited.
+     *
+     * @param sourceCorpus The files to validate.
+     * @param counters     The counter of processed lines.
+     * @return The number of valid files.
+     */
+    @Benchmark
+    public int fileFormatValidator(SourceCorpus sourceCorpus, LineCounters counters) {
+        int validFiles = 0;
+        for (JavaFile javaFile : sourceCorpus.getJavaFiles()) {
+            try {
+                if (FileFormatValidator.isValidFileFormat(javaFile)) {
+                    validFiles++;
+                }
+            } catch (FileFormatException e) {
+                // An invalid file is a normal outcome of the validation
+            }
+        }
+        counters.lines += sourceCorpus.getLineCount();
+        return validFiles;
+    }
+
+    /**
+     * Measures {@link FileManager#readLines(String)}, reading every file of the
+     * corpus from disk. The files stay in the page cache after the first read.
+     *
+     * @param sourceCorpus The files to read.
+     * @param counters     The counter of processed lines.
+     * @return The lines read.
+     * @throws IOException If a file cannot be read.
+     * @throws FileException If a file cannot be found.
+     */
+    @Benchmark
+    public int readLines(SourceCorpus sourceCorpus, LineCounters counters) throws IOException, FileException {
+        int total = 0;
+        for (String path : sourceCorpus.getPaths()) {
+            total += FileManager.readLines(path).size();
+        }
+        counters.lines += total;
+        return total;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the lines processed by a benchmark. JMH reports the counter as a rate
+ * next to the score of the benchmark, so throughput is shown in lines per second
+ * whatever the size of the corpus.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class LineCounters {
+    /**
+     * The lines processed during the current iteration.
+     */
+    public long lines;
+
+    /**
+     * Clears the counter before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void clean() {
+        this.lines = 0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.exceptions.FileException;
+
+/**
+ * The Java files every benchmark analyzes, loaded once per run. By default they
+ * are the sources of the analyzer itself, which are real code with comments,
+ * nested classes and long lines; any other tree can be passed with
+ * {@code -p corpus=<directory>}.
+ */
+@State(Scope.Benchmark)
+public class SourceCorpus {
+    /**
+     * The directory whose Java files are analyzed, relative to the working directory.
+     */
+    @Param("../demo/src/main/java")
+    public String corpus;
+
+    /**
+     * The files of the corpus, with their content loaded.
+     */
+    private List<JavaFile> javaFiles;
+
+    /**
+     * The paths of the files of the corpus.
+     */
+    private List<String> paths;
+
+    /**
+     * The number of lines of the corpus.
+     */
+    private int lineCount;
+
+    /**
+     * Finds and loads the files of the corpus.
+     *
+     * @throws IOException If the corpus cannot be read.
+     * @throws FileException If a file of the corpus cannot be found.
+     */
+    @Setup(Level.Trial)
+    public void load() throws IOException, FileException {
+        this.paths = findJavaFiles(Path.of(this.corpus));
+        this.javaFiles = new ArrayList<>();
+        this.lineCount = 0;
+        for (String path : this.paths) {
+            JavaFile javaFile = new JavaFile(path, Path.of(path).getFileName().toString());
+            javaFile.load();
+            this.lineCount += javaFile.getLineCount();
+            this.javaFiles.add(javaFile);
+        }
+    }
+
+    /**
+     * Gets the files of the corpus, with their content loaded.
+     *
+     * @return The files.
+     */
+    public List<JavaFile> getJavaFiles() {
+        return this.javaFiles;
+    }
+
+    /**
+     * Gets the paths of the files of the corpus.
+     *
+     * @return The paths, in name order.
+     */
+    public List<String> getPaths() {
+        return this.paths;
+    }
+
+    /**
+     * Gets the number of lines of the corpus.
+     *
+     * @return The number of lines of every file.
+     */
+    public int getLineCount() {
+        return this.lineCount;
+    }
+
+    /**
+     * Counts the lines of the Java files of a directory, as {@link #load()} does.
+     *
+     * @param directory The directory of the corpus.
+     * @return The number of lines.
+     * @throws IOException If the corpus cannot be read.
+     * @throws FileException If a file of the corpus cannot be found.
+     */
+    public static int countLines(Path directory) throws IOException, FileException {
+        SourceCorpus sourceCorpus = new SourceCorpus();
+        sourceCorpus.corpus = directory.toString();
+        sourceCorpus.load();
+        return sourceCorpus.getLineCount();
+    }
+
+    /**
+     * Finds the Java files of a directory and its subdirectories.
+     *
+     * @param directory The directory to search.
+     * @return The paths of the files, in name order.
+     * @throws IOException If the directory cannot be read or has no Java files.
+     */
+    private static List<String> findJavaFiles(Path directory) throws IOException {
+        List<String> found;
+        try (Stream<Path> files = Files.walk(directory)) {
+            found = files.filter(Files::isRegularFile)
+                .map(Path::toString)
+                .filter(JavaFile::isValidFileType)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        if (found.isEmpty()) {
+            throw new IOException("The corpus has no Java files: " + directory.toAbsolutePath());
+        }
+        return found;
+    }
+}
@@ -0,0 +1,379 @@
+package com.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.example.exceptions.FileException;
+
+/**
+ * The {@code AnalysisCache} class keeps the analysis of every file between runs,
+ * in a file on disk, so unchanged files do not have to be read or analyzed again.
+ *
+ * <p>Entries are keyed by the path of the file. A file is unchanged if its size and
+ * modification time match the entry; this only needs the metadata of the file. When
+ * only the modification time differs, for example after a checkout that touched every
+ * file, the SHA-256 digest of the content is compared instead, and a matching entry is
+ * reused and refreshed with the new metadata. A file whose size changed is analyzed
+ * again, and hashed from the content loaded for that analysis.</p>
+ *
+ * <p>Only the entries used during a run are written back by {@link #save()}, so files
+ * that were deleted or moved out of the directory are dropped from the cache. The
+ * cache is safe to use from several threads at the same time.</p>
+ */
+public class AnalysisCache {
+    /**
+     * Identifies a cache file.
+     */
+    private static final int MAGIC = 0x4C4F4343;
+
+    /**
+     * Version of the cache format and of the analysis rules. Caches written with
+     * another version are ignored, so it must change whenever the results of the
+     * analysis of a file can change.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * The file where the cache is stored.
+     */
+    private final Path cacheFile;
+
+    /**
+     * The entries read from the cache file, by file path.
+     */
+    private final Map<String, Entry> storedEntries;
+
+    /**
+     * The entries used or created during this run, by file path.
+     */
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+
+    /**
+     * The metadata and digest of the files that missed the cache, taken before they
+     * are analyzed and completed with their analysis by {@link #store(JavaFile, FileAnalysis)}.
+     */
+    private final Map<String, Entry> pendingEntries = new ConcurrentHashMap<>();
+
+    /**
+     * The number of lookups answered by the cache.
+     */
+    private final AtomicInteger hitCount = new AtomicInteger();
+
+    /**
+     * The number of lookups that required an analysis.
+     */
+    private final AtomicInteger missCount = new AtomicInteger();
+
+    /**
+     * The cached state of a file.
+     */
+    private static final class Entry {
+        /**
+         * The size of the file, in bytes.
+         */
+        private final long size;
+
+        /**
+         * The modification time of the file, in nanoseconds since the epoch.
+         */
+        private final long modifiedTime;
+
+        /**
+         * The digest of the content of the file.
+         */
+        private final byte[] hash;
+
+        /**
+         * The analysis of the file, or {@code null} while it is pending.
+         */
+        private final FileAnalysis fileAnalysis;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param size         The size of the file, in bytes.
+         * @param modifiedTime The modification time of the file, in nanoseconds.
+         * @param hash         The digest of the content of the file.
+         * @param fileAnalysis The analysis of the file, or {@code null} while it is pending.
+         */
+        private Entry(long size, long modifiedTime, byte[] hash, FileAnalysis fileAnalysis) {
+            this.size = size;
+            this.modifiedTime = modifiedTime;
+            this.hash = hash;
+            this.fileAnalysis = fileAnalysis;
+        }
+    }
+
+    /**
+     * Constructs a cache with the specified entries.
+     *
+     * @param cacheFile     The file where the cache is stored.
+     * @param storedEntries The entries read from the cache file.
+     */
+    private AnalysisCache(Path cacheFile, Map<String, Entry> storedEntries) {
+        this.cacheFile = cacheFile;
+        this.storedEntries = storedEntries;
+    }
+
+    /**
+     * Opens the cache stored in a file. A missing, unreadable or outdated cache
+     * file gives an empty cache, which is rebuilt by the next run.
+     *
+     * @param cacheFile The file where the cache is stored.
+     * @return The cache.
+     */
+    public static AnalysisCache open(Path cacheFile) {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        if (Files.isRegularFile(cacheFile)) {
+            try (DataInputStream input = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+                if (input.readInt() == MAGIC && input.readInt() == FORMAT_VERSION) {
+                    int entryCount = input.readInt();
+                    for (int i = 0; i < entryCount; i++) {
+                        String filePath = input.readUTF();
+                        entries.put(filePath, readEntry(input));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                entries.clear();
+            }
+        }
+        return new AnalysisCache(cacheFile, entries);
+    }
+
+    /**
+     * Looks up the analysis of a file. The metadata of the file is compared first;
+     * its content is only hashed when the size matches the entry but the modification
+     * time does not. A new file or a file whose size changed is a miss without reading
+     * it, and its digest is computed by {@link #load(JavaFile)} from the content loaded
+     * for the analysis. On a miss, the metadata of the file is kept until
+     * {@link #store(JavaFile, FileAnalysis)}.
+     *
+     * @param javaFile The file to look up.
+     * @return The cached analysis, or {@code null} if the file must be analyzed.
+     */
+    public FileAnalysis lookup(JavaFile javaFile) {
+        String filePath = javaFile.getfilePath();
+        try {
+            Path path = Path.of(filePath);
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long size = attributes.size();
+            long modifiedTime = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+            Entry stored = this.storedEntries.get(filePath);
+            byte[] hash = null;
+            if (stored != null && stored.size == size) {
+                if (stored.modifiedTime == modifiedTime) {
+                    return hit(filePath, stored);
+                }
+                hash = ContentHasher.hash(path);
+                if (Arrays.equals(stored.hash, hash)) {
+                    return hit(filePath, new Entry(size, modifiedTime, hash, stored.fileAnalysis));
+                }
+            }
+            this.pendingEntries.put(filePath, new Entry(size, modifiedTime, hash, null));
+        } catch (IOException | RuntimeException e) {
+            // The file cannot be read; its analysis reports the error and is not cached
+        }
+        this.missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Loads the content of a file that missed the cache. If {@link #lookup(JavaFile)}
+     * did not hash the file, the digest is computed from the bytes loaded here,
+     * so the file is only read once.
+     *
+     * @param javaFile The file to load.
+     * @throws FileException If the file does not exist or is not valid.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public void load(JavaFile javaFile) throws FileException, IOException {
+        String filePath = javaFile.getfilePath();
+        Entry pending = this.pendingEntries.get(filePath);
+        if (pending == null || pending.hash != null) {
+            javaFile.load();
+            return;
+        }
+        byte[] hash = javaFile.loadAndHash();
+        if (hash == null) {
+            // The content was loaded before the lookup, so its bytes are gone
+            hash = ContentHasher.hash(Path.of(filePath));
+        }
+        this.pendingEntries.replace(filePath, pending, new Entry(pending.size, pending.modifiedTime, hash, null));
+    }
+
+    /**
+     * Stores the analysis of a file that missed the cache. The entry keeps the
+     * metadata taken by {@link #lookup(JavaFile)}, before the file was analyzed,
+     * so a file modified during the analysis is checked again next time. A file
+     * whose content was not loaded through {@link #load(JavaFile)}, for example
+     * because it could not be read, is not cached.
+     *
+     * @param javaFile     The analyzed file.
+     * @param fileAnalysis The analysis of the file.
+     */
+    public void store(JavaFile javaFile, FileAnalysis fileAnalysis) {
+        String filePath = javaFile.getfilePath();
+        Entry pending = this.pendingEntries.remove(filePath);
+        if (pending != null && pending.hash != null) {
+            this.currentEntries.put(filePath, new Entry(pending.size, pending.modifiedTime, pending.hash, fileAnalysis));
+        }
+    }
+
+    /**
+     * Writes the entries used during this run to the cache file. The file is
+     * replaced atomically where the file system allows it.
+     *
+     * @throws IOException If an error occurs while writing the cache file.
+     */
+    public void save() throws IOException {
+        Path directory = this.cacheFile.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporaryFile = Files.createTempFile(directory, this.cacheFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                List<Map.Entry<String, Entry>> entries = new ArrayList<>(this.currentEntries.entrySet());
+                output.writeInt(entries.size());
+                for (Map.Entry<String, Entry> entry : entries) {
+                    output.writeUTF(entry.getKey());
+                    writeEntry(output, entry.getValue());
+                }
+            }
+            try {
+                Files.move(temporaryFile, this.cacheFile,
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, this.cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Gets the number of lookups answered by the cache.
+     *
+     * @return The number of hits.
+     */
+    public int getHitCount() {
+        return this.hitCount.get();
+    }
+
+    /**
+     * Gets the number of lookups that required an analysis.
+     *
+     * @return The number of misses.
+     */
+    public int getMissCount() {
+        return this.missCount.get();
+    }
+
+    /**
+     * Records a hit and keeps the entry for the next save.
+     *
+     * @param filePath The path of the file.
+     * @param entry    The entry that answered the lookup.
+     * @return The cached analysis.
+     */
+    private FileAnalysis hit(String filePath, Entry entry) {
+        this.currentEntries.put(filePath, entry);
+        this.hitCount.incrementAndGet();
+        return entry.fileAnalysis;
+    }
+
+    /**
+     * Writes an entry: metadata, digest, validation outcome, counts, classes and methods.
+     *
+     * @param output The stream to write to.
+     * @param entry  The entry to write.
+     * @throws IOException If an error occurs while writing.
+     */
+    private static void writeEntry(DataOutputStream output, Entry entry) throws IOException {
+        output.writeLong(entry.size);
+        output.writeLong(entry.modifiedTime);
+        output.write(entry.hash);
+        FileAnalysis fileAnalysis = entry.fileAnalysis;
+        output.writeBoolean(fileAnalysis.isValid());
+        if (!fileAnalysis.isValid()) {
+            output.writeUTF(String.valueOf(fileAnalysis.getErrorMessage()));
+            return;
+        }
+        output.writeInt(fileAnalysis.getPhysicalLines());
+        output.writeInt(fileAnalysis.getLogicalLines());
+        output.writeInt(fileAnalysis.getMethodCount());
+        List<ClassInfo> classesInfo = fileAnalysis.getClassesInfo();
+        output.writeInt(classesInfo.size());
+        for (ClassInfo classInfo : classesInfo) {
+            output.writeUTF(classInfo.getClassName());
+            output.writeInt(classInfo.getMethodCount());
+            output.writeInt(classInfo.getPhysicalLines());
+        }
+        MethodIndex methodIndex = fileAnalysis.getMethodIndex();
+        output.writeInt(methodIndex.size());
+        for (int i = 0; i < methodIndex.size(); i++) {
+            output.writeUTF(methodIndex.getMethodName(i));
+            String className = methodIndex.getClassName(i);
+            output.writeBoolean(className != null);
+            if (className != null) {
+                output.writeUTF(className);
+            }
+            output.writeInt(methodIndex.getStartLine(i));
+            output.writeInt(methodIndex.getEndLine(i));
+            output.writeInt(methodIndex.getPhysicalLines(i));
+        }
+    }
+
+    /**
+     * Reads an entry written by {@link #writeEntry(DataOutputStream, Entry)}.
+     *
+     * @param input The stream to read from.
+     * @return The entry.
+     * @throws IOException If an error occurs while reading or the data is truncated.
+     */
+    private static Entry readEntry(DataInputStream input) throws IOException {
+        long size = input.readLong();
+        long modifiedTime = input.readLong();
+        byte[] hash = new byte[ContentHasher.HASH_LENGTH];
+        input.readFully(hash);
+        if (!input.readBoolean()) {
+            return new Entry(size, modifiedTime, hash, FileAnalysis.invalid(input.readUTF()));
+        }
+        int physicalLines = input.readInt();
+        int logicalLines = input.readInt();
+        int methodCount = input.readInt();
+        int classCount = input.readInt();
+        List<ClassInfo> classesInfo = new ArrayList<>(classCount);
+        for (int i = 0; i < classCount; i++) {
+            classesInfo.add(new ClassInfo(input.readUTF(), input.readInt(), input.readInt()));
+        }
+        int recordCount = input.readInt();
+        MethodIndex methodIndex = new MethodIndex();
+        for (int i = 0; i < recordCount; i++) {
+            String methodName = input.readUTF();
+            String className = input.readBoolean() ? input.readUTF() : null;
+            methodIndex.add(methodName, className, MethodIndex.NONE, input.readInt(), input.readInt(), input.readInt());
+        }
+        return new Entry(size, modifiedTime, hash,
+            new FileAnalysis(classesInfo, physicalLines, logicalLines, methodCount, methodIndex));
+    }
+}
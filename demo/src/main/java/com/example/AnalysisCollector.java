@@ -0,0 +1,124 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The {@code AnalysisCollector} class gathers the analysis of every file of a
+ * directory and merges them into the aggregates reported for the directory.
+ *
+ * <p>Each file has its own slot, identified by its position in the list of Java
+ * files, so analyses can be collected from any number of threads at the same
+ * time and in any order. The aggregates are always merged in file order, which
+ * keeps the results and the error messages identical to a sequential run.</p>
+ */
+public class AnalysisCollector {
+    /**
+     * The analysis of each file, indexed by file id. Empty slots belong to
+     * files that have not been collected.
+     */
+    private final AtomicReferenceArray<FileAnalysis> analyses;
+
+    /**
+     * Constructs a collector for the specified number of files.
+     *
+     * @param fileCount The number of files to collect.
+     */
+    public AnalysisCollector(int fileCount) {
+        this.analyses = new AtomicReferenceArray<>(fileCount);
+    }
+
+    /**
+     * Stores the analysis of a file. It is safe to call from several threads.
+     *
+     * @param fileId       The position of the file in the list of Java files.
+     * @param fileAnalysis The analysis of the file.
+     */
+    public void collect(int fileId, FileAnalysis fileAnalysis) {
+        this.analyses.set(fileId, fileAnalysis);
+    }
+
+    /**
+     * Gets the analysis of a file.
+     *
+     * @param fileId The position of the file in the list of Java files.
+     * @return The analysis of the file, or {@code null} if it has not been collected.
+     */
+    public FileAnalysis get(int fileId) {
+        return this.analyses.get(fileId);
+    }
+
+    /**
+     * Gets the number of files the collector was created for.
+     *
+     * @return The number of file slots.
+     */
+    public int getFileCount() {
+        return this.analyses.length();
+    }
+
+    /**
+     * Stores the classes of every valid file in a columnar store, in file order.
+     * The file id of each row is the position of its file.
+     *
+     * @return The class rows of the directory.
+     */
+    public ClassResultStore getClassResults() {
+        ClassResultStore classResults = new ClassResultStore();
+        for (int fileId = 0; fileId < this.analyses.length(); fileId++) {
+            FileAnalysis fileAnalysis = this.analyses.get(fileId);
+            if (fileAnalysis != null && fileAnalysis.isValid()) {
+                classResults.addAll(fileAnalysis.getClassesInfo(), fileId);
+            }
+        }
+        return classResults;
+    }
+
+    /**
+     * Adds up the physical lines of every valid file.
+     *
+     * @return The total physical lines of the directory.
+     */
+    public int getTotalLOC() {
+        int totalLOC = 0;
+        for (int fileId = 0; fileId < this.analyses.length(); fileId++) {
+            FileAnalysis fileAnalysis = this.analyses.get(fileId);
+            if (fileAnalysis != null && fileAnalysis.isValid()) {
+                totalLOC += fileAnalysis.getPhysicalLines();
+            }
+        }
+        return totalLOC;
+    }
+
+    /**
+     * Merges the method records of every valid file into an index.
+     * The file id of each record is the position of its file.
+     *
+     * @param methodIndex The index that receives the records.
+     */
+    public void mergeMethodIndex(MethodIndex methodIndex) {
+        for (int fileId = 0; fileId < this.analyses.length(); fileId++) {
+            FileAnalysis fileAnalysis = this.analyses.get(fileId);
+            if (fileAnalysis != null && fileAnalysis.isValid()) {
+                methodIndex.addAll(fileAnalysis.getMethodIndex(), fileId);
+            }
+        }
+    }
+
+    /**
+     * Gets the error messages of the files that could not be analyzed, in file order.
+     *
+     * @return The error messages.
+     */
+    public List<String> getErrorMessages() {
+        List<String> errorMessages = new ArrayList<>();
+        for (int fileId = 0; fileId < this.analyses.length(); fileId++) {
+            FileAnalysis fileAnalysis = this.analyses.get(fileId);
+            if (fileAnalysis != null && !fileAnalysis.isValid()) {
+                errorMessages.add(fileAnalysis.getErrorMessage());
+            }
+        }
+        return errorMessages;
+    }
+}
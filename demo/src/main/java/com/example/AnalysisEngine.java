@@ -0,0 +1,20 @@
+package com.example;
+
+/**
+ * This interface defines the contract for analyzing a Java file.
+ * An engine validates the format of the file and computes its classes
+ * and line counts.
+ * Implementations must be thread-safe: a single engine may analyze several
+ * files from several threads at the same time.
+ */
+public interface AnalysisEngine {
+
+    /**
+     * Analyzes the provided Java file. Format errors do not throw; they are
+     * reported through {@link FileAnalysis#isValid()} and {@link FileAnalysis#getErrorMessage()}.
+     *
+     * @param javaFile The Java file to analyze. Its content must be readable.
+     * @return The results of the analysis.
+     */
+    public FileAnalysis analyze(JavaFile javaFile);
+}
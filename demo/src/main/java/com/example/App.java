@@ -1,12 +1,53 @@
 package com.example;
 
+import java.io.File;
 import java.util.Scanner;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import com.example.exceptions.FileException;
 
 public class App {
+    /**
+     * Option that starts the watch mode on the directory that follows it.
+     */
+    public static final String WATCH_OPTION = "--watch";
+
+    /**
+     * Exit status of a batch run in which a directory could not be analyzed.
+     */
+    public static final int EXIT_ROOT_FAILED = 1;
+
+    /**
+     * Exit status of a batch run with invalid arguments.
+     */
+    public static final int EXIT_INVALID_ARGUMENTS = 2;
+
+    /**
+     * Analyzes the directories given on the command line with a {@link BatchAnalyzer}
+     * and exits, or asks for one directory after another when there are no arguments.
+     *
+     * @param args The directories to analyze and the options of the batch mode,
+     *             or {@value #WATCH_OPTION} followed by a directory.
+     * @throws FileException If the watched directory does not exist.
+     * @throws IOException If the watched directory cannot be watched.
+     */
     public static void main(String[] args) throws FileException, IOException {
+        if (args.length == 2 && args[0].equals(WATCH_OPTION)) {
+            watch(args[1]);
+            return;
+        }
+
+        boolean patternStatistics = Boolean.getBoolean(PatternRegistry.STATISTICS_PROPERTY);
+        PatternRegistry.setTimingEnabled(patternStatistics);
+        boolean phaseTimings = Boolean.getBoolean(PhaseTimings.SUMMARY_PROPERTY);
+        String timingsRecordFile = System.getProperty(PhaseTimings.RECORD_PROPERTY);
+        PhaseTimings.setEnabled(phaseTimings || timingsRecordFile != null);
+
+        if (args.length > 0) {
+            System.exit(runBatch(args, patternStatistics, phaseTimings, timingsRecordFile));
+        }
+
         Scanner scanner = new Scanner(System.in);
         boolean tryAgain = true;
         while (tryAgain) {
@@ -16,8 +57,19 @@ public class App {
                 continue;
             }
             try {
+                PhaseTimings.reset();
                 DirectoryManager directoryManager = new DirectoryManager(directoryPath);
                 directoryManager.processDirectory();
+                if (phaseTimings) {
+                    PhaseTimings.printSummary();
+                }
+                if (timingsRecordFile != null) {
+                    PhaseTimings.appendRecord(Path.of(timingsRecordFile));
+                }
+                if (patternStatistics) {
+                    PatternRegistry.printStatistics();
+                    PatternRegistry.resetStatistics();
+                }
             } catch (Exception e) {
                 System.out.println(e.getMessage());
             }
@@ -29,4 +81,57 @@ public class App {
 
         scanner.close();
     }
-}
\ No newline at end of file
+
+    /**
+     * Analyzes every directory given on the command line in this JVM, then prints
+     * the statistics of the whole batch if they are enabled.
+     *
+     * @param args              The directories to analyze and the options of the batch mode.
+     * @param patternStatistics Indicates whether the pattern statistics are printed.
+     * @param phaseTimings      Indicates whether the summary of the phase timings is printed.
+     * @param timingsRecordFile The file that receives the record of the timings, or {@code null}.
+     * @return The exit status: 0 if every directory was analyzed.
+     * @throws IOException If the record of the timings cannot be written.
+     */
+    private static int runBatch(String[] args, boolean patternStatistics, boolean phaseTimings,
+            String timingsRecordFile) throws IOException {
+        BatchAnalyzer batchAnalyzer;
+        try {
+            batchAnalyzer = BatchAnalyzer.fromArguments(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return EXIT_INVALID_ARGUMENTS;
+        } catch (IOException e) {
+            System.out.println("Error: The paths file cannot be read: " + e.getMessage());
+            return EXIT_INVALID_ARGUMENTS;
+        }
+
+        PhaseTimings.reset();
+        int failedRootCount = batchAnalyzer.run();
+        if (patternStatistics) {
+            PatternRegistry.printStatistics();
+        }
+        if (phaseTimings) {
+            PhaseTimings.printSummary();
+        }
+        if (timingsRecordFile != null) {
+            PhaseTimings.appendRecord(Path.of(timingsRecordFile));
+        }
+        return failedRootCount == 0 ? 0 : EXIT_ROOT_FAILED;
+    }
+
+    /**
+     * Analyzes a directory and keeps its results up to date while its files change,
+     * until the program is stopped.
+     *
+     * @param directoryPath The path of the directory to watch.
+     * @throws FileException If the directory does not exist.
+     * @throws IOException If the directory cannot be watched.
+     */
+    private static void watch(String directoryPath) throws FileException, IOException {
+        try (DirectoryWatcher watcher = new DirectoryWatcher(new File(directoryPath), new FusedAnalysisEngine())) {
+            watcher.start();
+            watcher.run();
+        }
+    }
+}
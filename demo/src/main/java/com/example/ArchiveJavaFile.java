@@ -0,0 +1,74 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Represents a Java file stored as an entry of a zip or jar archive.
+ *
+ * <p>Its content is streamed out of the archive when it is loaded, so the archive
+ * never has to be extracted to disk. Entries of the same archive can be loaded from
+ * several threads at the same time.</p>
+ */
+public class ArchiveJavaFile extends JavaFile {
+    /**
+     * Separator between the path of the archive and the name of the entry.
+     */
+    public static final String ENTRY_SEPARATOR = "!/";
+
+    /**
+     * The archive that contains the file.
+     */
+    private final ZipFile archive;
+
+    /**
+     * The entry of the file in the archive.
+     */
+    private final ZipEntry entry;
+
+    /**
+     * Constructs an {@code ArchiveJavaFile} for an entry of an archive. Its path is
+     * the path of the archive followed by {@link #ENTRY_SEPARATOR} and the entry name.
+     *
+     * @param archive The archive that contains the file. It must stay open while the file is used.
+     * @param entry The entry of the file in the archive.
+     * @throws FileException If an error occurs related to file handling.
+     * @throws IOException If an I/O error occurs.
+     */
+    public ArchiveJavaFile(ZipFile archive, ZipEntry entry) throws FileException, IOException {
+        super(archive.getName() + ENTRY_SEPARATOR + entry.getName(), getSimpleName(entry.getName()));
+        this.archive = archive;
+        this.entry = entry;
+    }
+
+    /**
+     * Reads the content of the entry from the archive. It is decoded like files
+     * on disk, with the default charset.
+     *
+     * @return The bytes of the entry.
+     * @throws FileException If the archive was closed.
+     * @throws IOException If an I/O error occurs while reading the entry.
+     */
+    @Override
+    byte[] readContent() throws FileException, IOException {
+        try (InputStream input = this.archive.getInputStream(this.entry)) {
+            return input.readAllBytes();
+        } catch (IllegalStateException e) {
+            throw new FileException("The archive is closed: " + this.archive.getName());
+        }
+    }
+
+    /**
+     * Gets the name of an entry without the directories that contain it.
+     *
+     * @param entryName The full name of the entry.
+     * @return The last segment of the name.
+     */
+    private static String getSimpleName(String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,295 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.example.exceptions.FileException;
+
+/**
+ * The {@code BatchAnalyzer} class analyzes several directories or archives in a
+ * row, without asking anything, and then prints a combined report.
+ *
+ * <p>Every directory is analyzed in the same JVM, so the compiled patterns of
+ * {@link PatternRegistry} and the code compiled by the JIT are reused from one
+ * directory to the next. The files of each directory are analyzed concurrently
+ * on an executor shared by every directory: one virtual thread per file on Java 21
+ * and later, where the maximum number of open files bounds the concurrency, and a
+ * fixed pool of platform threads before. The table of each directory is
+ * printed as soon as it is analyzed; a directory that cannot be analyzed does
+ * not stop the others, and is reported in the combined report.</p>
+ */
+public class BatchAnalyzer {
+    /**
+     * Option that adds the directories listed in the file that follows it.
+     */
+    public static final String PATHS_FILE_OPTION = "--paths-file";
+
+    /**
+     * Option that sets the number of threads of the shared worker pool used before Java 21.
+     */
+    public static final String THREADS_OPTION = "--threads";
+
+    /**
+     * Prefix of the comment lines of a paths file.
+     */
+    public static final String COMMENT_PREFIX = "#";
+
+    /**
+     * The directories or archives to analyze, in order.
+     */
+    private final List<String> roots;
+
+    /**
+     * Number of threads of the shared worker pool used before Java 21.
+     */
+    private int threads;
+
+    /**
+     * Constructs a {@code BatchAnalyzer} without directories and with one worker per processor.
+     */
+    public BatchAnalyzer() {
+        this.roots = new ArrayList<>();
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates a {@code BatchAnalyzer} from the arguments of the command line: paths
+     * of directories or archives, {@value #PATHS_FILE_OPTION} followed by a file
+     * that lists more of them, and {@value #THREADS_OPTION} followed by the size
+     * of the worker pool used before Java 21. Directories are analyzed in the order they are given.
+     *
+     * @param args The arguments of the command line.
+     * @return The batch analyzer of the arguments.
+     * @throws IllegalArgumentException If an option is unknown, lacks its value or has an invalid value.
+     * @throws IOException If a paths file cannot be read.
+     */
+    public static BatchAnalyzer fromArguments(String[] args) throws IOException {
+        BatchAnalyzer batchAnalyzer = new BatchAnalyzer();
+        for (int i = 0; i < args.length; i++) {
+            String argument = args[i];
+            if (argument.equals(PATHS_FILE_OPTION) || argument.equals(THREADS_OPTION)) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Error: Missing value of the option " + argument + ".");
+                }
+                String value = args[++i];
+                if (argument.equals(PATHS_FILE_OPTION)) {
+                    batchAnalyzer.addPathsFile(Path.of(value));
+                } else {
+                    batchAnalyzer.setThreads(parseThreads(value));
+                }
+            } else if (argument.startsWith("--")) {
+                throw new IllegalArgumentException("Error: Unknown option " + argument + ".");
+            } else {
+                batchAnalyzer.addRoot(argument);
+            }
+        }
+        return batchAnalyzer;
+    }
+
+    /**
+     * Adds a directory or archive to analyze.
+     *
+     * @param root The path of the directory or archive.
+     */
+    public void addRoot(String root) {
+        this.roots.add(root);
+    }
+
+    /**
+     * Adds the directories or archives listed in a file, one path per line.
+     * Blank lines and lines starting with {@value #COMMENT_PREFIX} are skipped.
+     *
+     * @param pathsFile The file that lists the paths, in UTF-8.
+     * @throws IOException If the file cannot be read.
+     */
+    public void addPathsFile(Path pathsFile) throws IOException {
+        for (String line : Files.readAllLines(pathsFile, StandardCharsets.UTF_8)) {
+            String root = line.trim();
+            if (!root.isEmpty() && !root.startsWith(COMMENT_PREFIX)) {
+                this.roots.add(root);
+            }
+        }
+    }
+
+    /**
+     * Gets the directories or archives to analyze.
+     *
+     * @return The paths, in order.
+     */
+    public List<String> getRoots() {
+        return Collections.unmodifiableList(this.roots);
+    }
+
+    /**
+     * Sets the number of threads of the worker pool shared by every directory. It is
+     * only used before Java 21; later versions run each file on a virtual thread.
+     *
+     * @param threads The number of threads.
+     * @throws IllegalArgumentException If {@code threads} is lower than one.
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("The number of threads must be at least 1.");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Analyzes every directory in order, printing the table of each one, then
+     * prints the combined report with a line per directory and the totals.
+     *
+     * @return The number of directories that could not be analyzed.
+     */
+    public int run() {
+        List<RootResult> rootResults = new ArrayList<>(this.roots.size());
+        ExecutorService executor = ConcurrentFileAnalyzer.newVirtualThreadExecutor();
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(this.threads);
+        }
+        try {
+            for (String root : this.roots) {
+                rootResults.add(analyzeRoot(root, executor));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return printSummary(rootResults);
+    }
+
+    /**
+     * Parses the value of the {@value #THREADS_OPTION} option.
+     *
+     * @param value The value of the option.
+     * @return The number of threads.
+     * @throws IllegalArgumentException If the value is not a positive number.
+     */
+    private static int parseThreads(String value) {
+        try {
+            int threads = Integer.parseInt(value);
+            if (threads >= 1) {
+                return threads;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Error: Invalid number of threads " + value + ".");
+    }
+
+    /**
+     * Analyzes a directory on the shared executor and prints its table. Only
+     * its totals are kept, so the files of a directory can be garbage collected
+     * while the next one is analyzed.
+     *
+     * @param root     The path of the directory or archive.
+     * @param executor The shared executor.
+     * @return The totals of the directory, or its error.
+     */
+    private static RootResult analyzeRoot(String root, ExecutorService executor) {
+        DirectoryManager directoryManager = new DirectoryManager(root);
+        directoryManager.setConcurrentAnalysis(true);
+        directoryManager.setExecutor(executor);
+        try {
+            directoryManager.processDirectory();
+        } catch (FileException | IOException | RuntimeException e) {
+            String errorMessage = getErrorMessage(e);
+            System.out.println(errorMessage);
+            return new RootResult(root, 0, 0, 0, errorMessage);
+        }
+        return new RootResult(root, directoryManager.getJavaFileCount(),
+            directoryManager.getClassResults().size(), directoryManager.getTotalLOC(), null);
+    }
+
+    /**
+     * Gets the message of the error that stopped the analysis of a directory.
+     *
+     * @param exception The error.
+     * @return The message of the error, or the name of its class if it has no message.
+     */
+    static String getErrorMessage(Exception exception) {
+        String message = exception.getMessage();
+        return message != null ? message : exception.getClass().getName();
+    }
+
+    /**
+     * Prints the combined report of the analyzed directories.
+     *
+     * @param rootResults The totals of each directory, in order.
+     * @return The number of directories that could not be analyzed.
+     */
+    private static int printSummary(List<RootResult> rootResults) {
+        long fileCount = 0;
+        long classCount = 0;
+        long totalLOC = 0;
+        int failedRootCount = 0;
+        ResultPrinter.printBatchSummaryTitle(rootResults.size());
+        for (RootResult rootResult : rootResults) {
+            if (rootResult.errorMessage != null) {
+                failedRootCount++;
+                ResultPrinter.printBatchError(rootResult.root, rootResult.errorMessage);
+                continue;
+            }
+            ResultPrinter.printBatchRoot(rootResult.root, rootResult.fileCount, rootResult.classCount,
+                rootResult.totalLOC);
+            fileCount += rootResult.fileCount;
+            classCount += rootResult.classCount;
+            totalLOC += rootResult.totalLOC;
+        }
+        ResultPrinter.printBatchTotal(fileCount, classCount, totalLOC, failedRootCount);
+        return failedRootCount;
+    }
+
+    /**
+     * The totals of an analyzed directory, or the error that stopped its analysis.
+     */
+    private static final class RootResult {
+        /**
+         * The path of the directory or archive.
+         */
+        private final String root;
+
+        /**
+         * The number of Java files of the directory.
+         */
+        private final int fileCount;
+
+        /**
+         * The number of classes of the directory.
+         */
+        private final int classCount;
+
+        /**
+         * The total physical LOC of the directory.
+         */
+        private final int totalLOC;
+
+        /**
+         * The message of the error that stopped the analysis, or {@code null}.
+         */
+        private final String errorMessage;
+
+        /**
+         * Constructs the result of a directory.
+         *
+         * @param root         The path of the directory or archive.
+         * @param fileCount    The number of Java files of the directory.
+         * @param classCount   The number of classes of the directory.
+         * @param totalLOC     The total physical LOC of the directory.
+         * @param errorMessage The message of the error that stopped the analysis, or {@code null}.
+         */
+        private RootResult(String root, int fileCount, int classCount, int totalLOC, String errorMessage) {
+            this.root = root;
+            this.fileCount = fileCount;
+            this.classCount = classCount;
+            this.totalLOC = totalLOC;
+            this.errorMessage = errorMessage;
+        }
+    }
+}
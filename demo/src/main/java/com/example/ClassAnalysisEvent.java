@@ -0,0 +1,58 @@
+package com.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the class analysis of a file, either by
+ * {@link ClassAnalyzer} or by the single pass of {@link FusedAnalysisEngine},
+ * where it also spans the validation and the counting done in the same pass.
+ * It is not recorded for a file that fails the validation.
+ *
+ * <p>It is only recorded while a flight recording that enables it is running.</p>
+ */
+@Name("com.example.ClassAnalysis")
+@Label("Class Analysis")
+@Category({"Contador", "Analysis"})
+@Description("Search of the classes and methods declared in a Java file")
+@StackTrace(false)
+class ClassAnalysisEvent extends Event {
+    /**
+     * The path of the file.
+     */
+    @Label("Path")
+    String path;
+
+    /**
+     * The number of lines of the file.
+     */
+    @Label("Lines")
+    int lines;
+
+    /**
+     * The number of classes found in the file.
+     */
+    @Label("Classes")
+    int classes;
+
+    /**
+     * Commits the event of the class analysis of a file, if a recording enables it.
+     * The fields are only filled when the event is committed.
+     *
+     * @param javaFile   The analyzed file.
+     * @param classCount The number of classes found in the file.
+     */
+    void commitResult(JavaFile javaFile, int classCount) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.path = javaFile.getfilePath();
+        this.lines = javaFile.getLineCount();
+        this.classes = classCount;
+        commit();
+    }
+}
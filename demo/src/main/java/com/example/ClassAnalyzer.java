@@ -1,36 +1,26 @@
 package com.example;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import com.example.constants.JavaRegexConstants;
+import com.example.validators.JavaLexer;
 
 /**
  * The {@code ClassAnalyzer} class is responsible for analyzing Java source files
  * to extract information about class declarations, including the class name, 
  * method count, and physical line count.
+ *
+ * <p>The file is scanned once. A {@link ScopeTracker} follows the brace depth so
+ * each line and method is attributed to the class that encloses it, which gives
+ * nested, inner and local classes their own numbers.</p>
+ *
+ * <p>Instances are stateless: patterns come from {@link PatternRegistry}, and the
+ * state of a scan lives in local variables, so one instance can analyze
+ * several files from several threads at the same time.</p>
  */
 public class ClassAnalyzer {
     /**
-     * Regular expression pattern used to match class declarations.
-     */
-    private Pattern pattern;
-    /**
-     * Matcher for evaluating patterns against each line.
-     */
-    private Matcher matcher;
-
-     /**
-     * Instance of {@link PhysicalLineCounter} used to count physical lines 
-     * (excluding comments and empty lines) in a Java file.
-     */
-    private final PhysicalLineCounter physicalLineCounter = new PhysicalLineCounter();
-
-    /**
-     * Instance of {@link MethodLineCounter} used to count the number of method 
-     * declarations in a Java file.
+     * Instance of {@link MethodLineCounter} whose rules are used to recognize
+     * method declarations.
      */
     private final MethodLineCounter methodLineCounter = new MethodLineCounter();
 
@@ -38,25 +28,54 @@ public class ClassAnalyzer {
      * Analyzes the provided Java file and returns a list of {@link ClassInfo} objects 
      * containing details about each class, such as the class name, method count, 
      * and physical line count.
+     * The physical lines and methods of a class are those it directly encloses;
+     * the lines of a nested class are attributed to the nested class only.
      *
      * @param javaFile The Java file to analyze.
      * @return A list of ClassInfo objects with class names, method counts, 
-     *         and physical line counts.
+     *         and physical line counts, in declaration order.
      */
     public List<ClassInfo> analyze(JavaFile javaFile) {
-        List<String> lines = javaFile.getLines();
-        List<ClassInfo> classInfoList = new ArrayList<>();
-        
-        for (String line : lines) {
-            if (isClassDeclaration(line)) {
-                String className = extractClassName(line);
-                int physicalLines = physicalLineCounter.count(javaFile);
-                int methodCount = methodLineCounter.count(javaFile);
-                classInfoList.add(new ClassInfo(className, methodCount, physicalLines));
+        return analyze(javaFile, new MethodIndex());
+    }
+
+    /**
+     * Analyzes the provided Java file like {@link #analyze(JavaFile)} and, in the
+     * same pass, records every method declaration in the specified index with its
+     * enclosing class, start line, end line and physical line count.
+     *
+     * @param javaFile The Java file to analyze.
+     * @param methodIndex The index that receives the method records.
+     * @return A list of ClassInfo objects with class names, method counts, 
+     *         and physical line counts, in declaration order.
+     */
+    public List<ClassInfo> analyze(JavaFile javaFile, MethodIndex methodIndex) {
+        ClassAnalysisEvent event = new ClassAnalysisEvent();
+        event.begin();
+        JavaLexer lexer = new JavaLexer();
+        ScopeTracker scopeTracker = new ScopeTracker(methodIndex, MethodIndex.NONE);
+
+        for (int i = 0; i < javaFile.getLineCount(); i++) {
+            CharSequence lineView = javaFile.getLine(i);
+            lexer.scanLine(lineView);
+            boolean isComment = lexer.isCommentLine();
+            // Comment and blank lines declare nothing, so only code lines are copied into a String
+            String line = !isComment && !javaFile.isBlankLine(i) ? lineView.toString() : null;
+            String declaredClassName = line != null && isClassDeclaration(line) ? extractClassName(line) : null;
+            scopeTracker.beginLine(declaredClassName);
+            if (line != null) {
+                scopeTracker.addPhysicalLine();
+                if (methodLineCounter.isMethod(line)) {
+                    scopeTracker.addMethod(methodLineCounter.extractMethodName(line));
+                }
             }
+            scopeTracker.endLine(lexer.getCode());
         }
         
-        return classInfoList;
+        scopeTracker.finish();
+        List<ClassInfo> classesInfo = scopeTracker.getClassesInfo();
+        event.commitResult(javaFile, classesInfo.size());
+        return classesInfo;
     }
 
     /**
@@ -65,9 +84,9 @@ public class ClassAnalyzer {
      * @param line The line containing the class declaration.
      * @return The name of the class, or "UnknownClass" if not found.
      */
-    private String extractClassName(String line) {
-        Matcher matcher = Pattern.compile("\\bclass\\s+(\\w+)").matcher(line);
-        return matcher.find() ? matcher.group(1) : "UnknownClass";
+    String extractClassName(String line) {
+        String className = PatternRegistry.CLASS_NAME.findGroup(line, 1);
+        return className != null ? className : "UnknownClass";
     }
 
     /**
@@ -76,10 +95,7 @@ public class ClassAnalyzer {
      * @param line The line of code to analyze.
      * @return {@code true} if the line declares a class, otherwise {@code false}.
      */
-    private boolean isClassDeclaration(String line) {
-        line = line.trim();
-        this.pattern = Pattern.compile(JavaRegexConstants.CLASS_DECLARATION_REGEX);
-        this.matcher = this.pattern.matcher(line);
-        return this.matcher.find();
+    boolean isClassDeclaration(String line) {
+        return PatternRegistry.CLASS_DECLARATION.find(line.trim());
     }
 }
@@ -0,0 +1,247 @@
+package com.example;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code ClassResultStore} class stores one row per class of the results table:
+ * its name, method count, physical line count and file.
+ *
+ * <p>Like {@link MethodIndex}, rows are kept in parallel primitive arrays and names
+ * are interned in a {@link NameTable}, so each class costs a few {@code int}s instead
+ * of a {@link ClassInfo} object. The widest name, the largest counts and the totals
+ * are updated on every append, so the column widths and the aggregates of the table
+ * are answered without walking the rows.</p>
+ *
+ * <p>Appends are synchronized, so workers can add their rows to a shared store.
+ * Reads are not; they must happen after every worker has finished, for example
+ * after waiting on its future.</p>
+ */
+public class ClassResultStore {
+    /**
+     * Initial capacity of the row arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The table holding the class names.
+     */
+    private final NameTable names = new NameTable();
+
+    /**
+     * The name id of each class.
+     */
+    private int[] classNames = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of methods of each class.
+     */
+    private int[] methodCounts = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of physical lines of each class.
+     */
+    private int[] physicalLines = new int[INITIAL_CAPACITY];
+
+    /**
+     * The id of the file declaring each class, or {@link MethodIndex#NONE}.
+     */
+    private int[] fileIds = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of rows in the store.
+     */
+    private int size = 0;
+
+    /**
+     * The length of the longest class name.
+     */
+    private int maxClassNameLength = 0;
+
+    /**
+     * The largest method count of a class.
+     */
+    private int maxMethodCount = 0;
+
+    /**
+     * The largest physical line count of a class.
+     */
+    private int maxPhysicalLines = 0;
+
+    /**
+     * The sum of the method counts of every class.
+     */
+    private long totalMethodCount = 0;
+
+    /**
+     * The sum of the physical line counts of every class.
+     */
+    private long totalPhysicalLines = 0;
+
+    /**
+     * Creates a store with the rows of a list of classes, in list order.
+     *
+     * @param classInfoList The classes to store.
+     * @return The store, whose rows have no file id.
+     */
+    public static ClassResultStore of(List<ClassInfo> classInfoList) {
+        ClassResultStore store = new ClassResultStore();
+        store.addAll(classInfoList, MethodIndex.NONE);
+        return store;
+    }
+
+    /**
+     * Adds a row. It is safe to call from several threads.
+     *
+     * @param className     The name of the class.
+     * @param methodCount   The number of methods of the class.
+     * @param physicalLines The number of physical lines of the class.
+     * @param fileId        The id of the file declaring the class, or {@link MethodIndex#NONE}.
+     * @return The index of the new row.
+     */
+    public synchronized int add(String className, int methodCount, int physicalLines, int fileId) {
+        if (this.size == this.classNames.length) {
+            grow();
+        }
+        int index = this.size;
+        this.classNames[index] = this.names.intern(className);
+        this.methodCounts[index] = methodCount;
+        this.physicalLines[index] = physicalLines;
+        this.fileIds[index] = fileId;
+        this.size++;
+
+        this.maxClassNameLength = Math.max(this.maxClassNameLength, className.length());
+        this.maxMethodCount = Math.max(this.maxMethodCount, methodCount);
+        this.maxPhysicalLines = Math.max(this.maxPhysicalLines, physicalLines);
+        this.totalMethodCount += methodCount;
+        this.totalPhysicalLines += physicalLines;
+        return index;
+    }
+
+    /**
+     * Adds a row for every class of a file, in list order. The rows of the
+     * file are added together, even when other threads append at the same time.
+     *
+     * @param classInfoList The classes of the file.
+     * @param fileId        The id of the file, or {@link MethodIndex#NONE}.
+     */
+    public synchronized void addAll(List<ClassInfo> classInfoList, int fileId) {
+        for (ClassInfo classInfo : classInfoList) {
+            add(classInfo.getClassName(), classInfo.getMethodCount(), classInfo.getPhysicalLines(), fileId);
+        }
+    }
+
+    /**
+     * Gets the number of rows in the store.
+     *
+     * @return The number of classes.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the name of a class.
+     *
+     * @param index The index of the row.
+     * @return The class name.
+     */
+    public String getClassName(int index) {
+        return this.names.get(this.classNames[index]);
+    }
+
+    /**
+     * Gets the number of methods of a class.
+     *
+     * @param index The index of the row.
+     * @return The method count.
+     */
+    public int getMethodCount(int index) {
+        return this.methodCounts[index];
+    }
+
+    /**
+     * Gets the number of physical lines of a class.
+     *
+     * @param index The index of the row.
+     * @return The physical line count.
+     */
+    public int getPhysicalLines(int index) {
+        return this.physicalLines[index];
+    }
+
+    /**
+     * Gets the id of the file declaring a class.
+     *
+     * @param index The index of the row.
+     * @return The file id, or {@link MethodIndex#NONE}.
+     */
+    public int getFileId(int index) {
+        return this.fileIds[index];
+    }
+
+    /**
+     * Gets the number of distinct class names.
+     *
+     * @return The number of interned names.
+     */
+    public int getDistinctClassNameCount() {
+        return this.names.size();
+    }
+
+    /**
+     * Gets the length of the longest class name.
+     *
+     * @return The length, or 0 if the store is empty.
+     */
+    public int getMaxClassNameLength() {
+        return this.maxClassNameLength;
+    }
+
+    /**
+     * Gets the largest method count of a class.
+     *
+     * @return The method count, or 0 if the store is empty.
+     */
+    public int getMaxMethodCount() {
+        return this.maxMethodCount;
+    }
+
+    /**
+     * Gets the largest physical line count of a class.
+     *
+     * @return The physical line count, or 0 if the store is empty.
+     */
+    public int getMaxPhysicalLines() {
+        return this.maxPhysicalLines;
+    }
+
+    /**
+     * Gets the sum of the method counts of every class.
+     *
+     * @return The total method count.
+     */
+    public long getTotalMethodCount() {
+        return this.totalMethodCount;
+    }
+
+    /**
+     * Gets the sum of the physical line counts of every class.
+     *
+     * @return The total physical line count.
+     */
+    public long getTotalPhysicalLines() {
+        return this.totalPhysicalLines;
+    }
+
+    /**
+     * Doubles the capacity of the row arrays.
+     */
+    private void grow() {
+        int capacity = this.classNames.length * 2;
+        this.classNames = Arrays.copyOf(this.classNames, capacity);
+        this.methodCounts = Arrays.copyOf(this.methodCounts, capacity);
+        this.physicalLines = Arrays.copyOf(this.physicalLines, capacity);
+        this.fileIds = Arrays.copyOf(this.fileIds, capacity);
+    }
+}
@@ -0,0 +1,301 @@
+package com.example;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import com.example.exceptions.FileException;
+
+/**
+ * The {@code ConcurrentFileAnalyzer} class analyzes the Java files of a directory
+ * concurrently, one task per file, so the time spent waiting on reads overlaps
+ * across files. This matters most on slow or network file systems.
+ *
+ * <p>On Java 21 and later each file runs on its own virtual thread. On earlier
+ * versions a pool of platform threads, sized to the cap on open files, is used
+ * instead. In both cases a semaphore limits how many files are loaded at the
+ * same time. A single {@link AnalysisEngine} is shared by every task, so the
+ * engine must be thread-safe, as the engines of this package are.</p>
+ *
+ * <p>When several directories are analyzed in a row, they can share one
+ * executor instead, which is then left running after each run.</p>
+ */
+public class ConcurrentFileAnalyzer {
+    /**
+     * Default maximum number of files loaded at the same time.
+     */
+    public static final int DEFAULT_MAX_OPEN_FILES = 256;
+
+    /**
+     * Factory method of the virtual thread executor, or {@code null} if the
+     * running Java version does not provide it.
+     */
+    private static final Method VIRTUAL_THREAD_EXECUTOR_FACTORY = findVirtualThreadExecutorFactory();
+
+    /**
+     * Factory that creates the engine shared by the tasks of each run.
+     */
+    private final Supplier<AnalysisEngine> analysisEngineFactory;
+
+    /**
+     * Maximum number of files loaded at the same time.
+     */
+    private final int maxOpenFiles;
+
+    /**
+     * Cache of the analyses of previous runs, or {@code null} if caching is disabled.
+     */
+    private final AnalysisCache analysisCache;
+
+    /**
+     * Executor shared with other analyses, or {@code null} to create one per run.
+     */
+    private final ExecutorService sharedExecutor;
+
+    /**
+     * Constructs a {@code ConcurrentFileAnalyzer} without a cache.
+     *
+     * @param analysisEngineFactory Factory that creates the engine shared by the tasks of each run.
+     * @param maxOpenFiles          Maximum number of files loaded at the same time.
+     * @throws IllegalArgumentException If {@code maxOpenFiles} is lower than one.
+     */
+    public ConcurrentFileAnalyzer(Supplier<AnalysisEngine> analysisEngineFactory, int maxOpenFiles) {
+        this(analysisEngineFactory, maxOpenFiles, null);
+    }
+
+    /**
+     * Constructs a {@code ConcurrentFileAnalyzer}.
+     *
+     * @param analysisEngineFactory Factory that creates the engine shared by the tasks of each run.
+     * @param maxOpenFiles          Maximum number of files loaded at the same time.
+     * @param analysisCache         Cache of the analyses of previous runs, or {@code null}.
+     * @throws IllegalArgumentException If {@code maxOpenFiles} is lower than one.
+     */
+    public ConcurrentFileAnalyzer(Supplier<AnalysisEngine> analysisEngineFactory, int maxOpenFiles,
+            AnalysisCache analysisCache) {
+        this(analysisEngineFactory, maxOpenFiles, analysisCache, null);
+    }
+
+    /**
+     * Constructs a {@code ConcurrentFileAnalyzer} that runs its tasks on an executor
+     * shared with other analyses. The executor is not shut down after each run.
+     *
+     * @param analysisEngineFactory Factory that creates the engine shared by the tasks of each run.
+     * @param maxOpenFiles          Maximum number of files loaded at the same time.
+     * @param analysisCache         Cache of the analyses of previous runs, or {@code null}.
+     * @param sharedExecutor        Executor of the tasks, or {@code null} to create one per run.
+     * @throws IllegalArgumentException If {@code maxOpenFiles} is lower than one.
+     */
+    public ConcurrentFileAnalyzer(Supplier<AnalysisEngine> analysisEngineFactory, int maxOpenFiles,
+            AnalysisCache analysisCache, ExecutorService sharedExecutor) {
+        if (maxOpenFiles < 1) {
+            throw new IllegalArgumentException("The maximum number of open files must be at least 1.");
+        }
+        this.analysisEngineFactory = analysisEngineFactory;
+        this.maxOpenFiles = maxOpenFiles;
+        this.analysisCache = analysisCache;
+        this.sharedExecutor = sharedExecutor;
+    }
+
+    /**
+     * Indicates whether per-file tasks run on virtual threads.
+     *
+     * @return {@code true} on Java 21 and later.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Analyzes every file concurrently and stores each result in the collector
+     * under the position of its file. Returns once every file has been analyzed.
+     *
+     * @param javaFiles The files to analyze.
+     * @param collector The collector that receives the analyses.
+     * @throws FileException If the analysis is interrupted or a task fails unexpectedly.
+     */
+    public void analyzeAll(List<JavaFile> javaFiles, AnalysisCollector collector) throws FileException {
+        AnalysisEngine analysisEngine = this.analysisEngineFactory.get();
+        Semaphore openFiles = new Semaphore(this.maxOpenFiles);
+        ExecutorService executor = this.sharedExecutor != null
+            ? this.sharedExecutor
+            : newPerFileExecutor(javaFiles.size());
+        List<Future<?>> tasks = new ArrayList<>(javaFiles.size());
+        try {
+            for (int i = 0; i < javaFiles.size(); i++) {
+                int fileId = i;
+                JavaFile javaFile = javaFiles.get(fileId);
+                tasks.add(executor.submit(() -> {
+                    openFiles.acquireUninterruptibly();
+                    try {
+                        collector.collect(fileId, analyze(analysisEngine, this.analysisCache, javaFile));
+                    } finally {
+                        openFiles.release();
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileException("Error: The analysis was interrupted.");
+        } catch (ExecutionException e) {
+            throw new FileException("Error: " + e.getCause().getMessage());
+        } finally {
+            if (executor == this.sharedExecutor) {
+                // Only the tasks of this run are stopped
+                for (Future<?> task : tasks) {
+                    task.cancel(true);
+                }
+            } else {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Loads, analyzes and releases a single file. Any error is returned as an
+     * invalid analysis carrying its message.
+     *
+     * @param analysisEngine The engine used to analyze the file.
+     * @param javaFile       The file to analyze.
+     * @return The analysis of the file.
+     */
+    public static FileAnalysis analyze(AnalysisEngine analysisEngine, JavaFile javaFile) {
+        return loadAndAnalyze(analysisEngine, null, javaFile);
+    }
+
+    /**
+     * Loads, analyzes and releases a single file, loading it through the cache
+     * when one is given so its digest is computed from the loaded content.
+     *
+     * @param analysisEngine The engine used to analyze the file.
+     * @param analysisCache  The cache the file missed, or {@code null}.
+     * @param javaFile       The file to analyze.
+     * @return The analysis of the file.
+     */
+    private static FileAnalysis loadAndAnalyze(AnalysisEngine analysisEngine, AnalysisCache analysisCache,
+            JavaFile javaFile) {
+        FileAnalysisEvent event = new FileAnalysisEvent();
+        event.begin();
+        long fileStart = PhaseTimings.isEnabled() ? System.nanoTime() : 0;
+        FileAnalysis fileAnalysis = null;
+        try {
+            if (analysisCache != null) {
+                analysisCache.load(javaFile);
+            } else {
+                javaFile.load();
+            }
+            PhaseTimings.Measurement measurement = PhaseTimings.start(PhaseTimings.Phase.ANALYZE);
+            fileAnalysis = analysisEngine.analyze(javaFile);
+            if (measurement != null) {
+                int lineCount = javaFile.getLineCount();
+                PhaseTimings.stop(measurement, 1, lineCount, 0);
+                PhaseTimings.recordFile(javaFile.getfilePath(), System.nanoTime() - fileStart, lineCount);
+            }
+            return fileAnalysis;
+        } catch (Exception e) {
+            fileAnalysis = FileAnalysis.invalid(e.getMessage());
+            return fileAnalysis;
+        } finally {
+            if (fileAnalysis != null && event.shouldCommit()) {
+                commitEvent(event, javaFile, fileAnalysis);
+            }
+            javaFile.release();
+        }
+    }
+
+    /**
+     * Fills and commits the flight recorder event of the analysis of a file,
+     * while its content is still loaded.
+     *
+     * @param event        The event, begun before the file was loaded.
+     * @param javaFile     The analyzed file.
+     * @param fileAnalysis The analysis of the file.
+     */
+    private static void commitEvent(FileAnalysisEvent event, JavaFile javaFile, FileAnalysis fileAnalysis) {
+        event.path = javaFile.getfilePath();
+        event.bytes = javaFile.getByteCount();
+        event.lines = javaFile.isLoaded() ? javaFile.getLineCount() : 0;
+        event.classes = fileAnalysis.getClassesInfo().size();
+        event.valid = fileAnalysis.isValid();
+        event.validationMessage = fileAnalysis.getErrorMessage();
+        event.commit();
+    }
+
+    /**
+     * Gets the analysis of a single file from the cache, or loads, analyzes and
+     * releases the file and stores its analysis in the cache.
+     *
+     * @param analysisEngine The engine used to analyze the file.
+     * @param analysisCache  Cache of the analyses of previous runs, or {@code null}.
+     * @param javaFile       The file to analyze.
+     * @return The analysis of the file.
+     */
+    public static FileAnalysis analyze(AnalysisEngine analysisEngine, AnalysisCache analysisCache,
+            JavaFile javaFile) {
+        if (analysisCache == null) {
+            return analyze(analysisEngine, javaFile);
+        }
+        FileAnalysis fileAnalysis = analysisCache.lookup(javaFile);
+        if (fileAnalysis == null) {
+            fileAnalysis = loadAndAnalyze(analysisEngine, analysisCache, javaFile);
+            analysisCache.store(javaFile, fileAnalysis);
+        }
+        return fileAnalysis;
+    }
+
+    /**
+     * Creates the executor that runs one task per file.
+     *
+     * @param fileCount The number of files to analyze.
+     * @return A virtual thread per task executor, or a fixed pool of platform threads.
+     */
+    private ExecutorService newPerFileExecutor(int fileCount) {
+        ExecutorService executor = newVirtualThreadExecutor();
+        if (executor != null) {
+            return executor;
+        }
+        return Executors.newFixedThreadPool(Math.max(1, Math.min(this.maxOpenFiles, fileCount)));
+    }
+
+    /**
+     * Creates an executor that starts a virtual thread for each task. Its concurrency
+     * is not bounded, so the tasks of each run are limited by the maximum number of
+     * open files instead.
+     *
+     * @return The executor, or {@code null} before Java 21.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        if (VIRTUAL_THREAD_EXECUTOR_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Reported as unavailable
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()}, which is only
+     * available on Java 21 and later. The project is compiled for older versions,
+     * so the method cannot be called directly.
+     *
+     * @return The factory method, or {@code null} if it is not available.
+     */
+    private static Method findVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
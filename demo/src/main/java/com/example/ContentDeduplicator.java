@@ -0,0 +1,171 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The {@code ContentDeduplicator} class finds the files of a directory that are
+ * byte-identical copies of another file, so each distinct content is loaded and
+ * analyzed only once.
+ *
+ * <p>Files are first grouped by size, which only needs their metadata; a file
+ * whose size is unique cannot have a copy and is never read. The files that share
+ * a size are then compared by the digest of their content, computed with
+ * {@link ContentHasher}. The first file of each content, in file order, is its
+ * original, and its analysis is attributed to every copy.</p>
+ *
+ * <p>The analysis of a file only depends on its content, except for the format
+ * errors, whose message names the file. A copy of an invalid file with a different
+ * name is therefore analyzed on its own, so its error message names it.</p>
+ */
+public class ContentDeduplicator {
+    /**
+     * The files of the directory, in file order.
+     */
+    private final List<JavaFile> javaFiles;
+
+    /**
+     * The position in {@link #distinctFiles} of the original of each file.
+     */
+    private final int[] distinctIds;
+
+    /**
+     * The original of each distinct content, in file order.
+     */
+    private final List<JavaFile> distinctFiles;
+
+    /**
+     * Constructs a deduplicator with the specified results.
+     *
+     * @param javaFiles     The files of the directory.
+     * @param distinctIds   The position of the original of each file.
+     * @param distinctFiles The original of each distinct content.
+     */
+    private ContentDeduplicator(List<JavaFile> javaFiles, int[] distinctIds, List<JavaFile> distinctFiles) {
+        this.javaFiles = javaFiles;
+        this.distinctIds = distinctIds;
+        this.distinctFiles = distinctFiles;
+    }
+
+    /**
+     * Finds the copies among a list of files. Only the files that share their size
+     * with another file are read. A file whose size or content cannot be read is
+     * treated as distinct, so its analysis reports the error.
+     *
+     * @param javaFiles The files to deduplicate, in file order.
+     * @return The deduplicator of the files.
+     */
+    public static ContentDeduplicator of(List<JavaFile> javaFiles) {
+        int fileCount = javaFiles.size();
+        long[] sizes = new long[fileCount];
+        Map<Long, Integer> filesBySize = new HashMap<>();
+        for (int fileId = 0; fileId < fileCount; fileId++) {
+            sizes[fileId] = sizeOf(javaFiles.get(fileId));
+            if (sizes[fileId] >= 0) {
+                filesBySize.merge(sizes[fileId], 1, Integer::sum);
+            }
+        }
+
+        int[] distinctIds = new int[fileCount];
+        List<JavaFile> distinctFiles = new ArrayList<>();
+        Map<String, Integer> distinctByContent = new HashMap<>();
+        for (int fileId = 0; fileId < fileCount; fileId++) {
+            JavaFile javaFile = javaFiles.get(fileId);
+            String contentKey = sizes[fileId] >= 0 && filesBySize.get(sizes[fileId]) > 1
+                ? contentKeyOf(javaFile, sizes[fileId])
+                : null;
+            Integer distinctId = contentKey != null ? distinctByContent.get(contentKey) : null;
+            if (distinctId == null) {
+                distinctId = distinctFiles.size();
+                distinctFiles.add(javaFile);
+                if (contentKey != null) {
+                    distinctByContent.put(contentKey, distinctId);
+                }
+            }
+            distinctIds[fileId] = distinctId;
+        }
+        return new ContentDeduplicator(javaFiles, distinctIds, distinctFiles);
+    }
+
+    /**
+     * Gets the original of each distinct content, in file order. These are the
+     * only files that have to be analyzed.
+     *
+     * @return The distinct files.
+     */
+    public List<JavaFile> getDistinctFiles() {
+        return this.distinctFiles;
+    }
+
+    /**
+     * Gets the number of files that are copies of an earlier file.
+     *
+     * @return The number of duplicate files.
+     */
+    public int getDuplicateCount() {
+        return this.javaFiles.size() - this.distinctFiles.size();
+    }
+
+    /**
+     * Attributes the analysis of every distinct file to each of its copies. A copy
+     * of an invalid file with a different name is analyzed on its own.
+     *
+     * @param distinctCollector     The collector holding the analysis of every distinct file.
+     * @param analysisEngineFactory The factory of the engine used for the copies analyzed on their own.
+     * @param analysisCache         Cache of the analyses of previous runs, or {@code null}.
+     * @return A collector holding the analysis of every file.
+     */
+    public AnalysisCollector attribute(AnalysisCollector distinctCollector,
+            Supplier<AnalysisEngine> analysisEngineFactory, AnalysisCache analysisCache) {
+        AnalysisCollector collector = new AnalysisCollector(this.javaFiles.size());
+        AnalysisEngine analysisEngine = null;
+        for (int fileId = 0; fileId < this.javaFiles.size(); fileId++) {
+            JavaFile javaFile = this.javaFiles.get(fileId);
+            int distinctId = this.distinctIds[fileId];
+            FileAnalysis fileAnalysis = distinctCollector.get(distinctId);
+            if (!fileAnalysis.isValid() && !javaFile.getName().equals(this.distinctFiles.get(distinctId).getName())) {
+                if (analysisEngine == null) {
+                    analysisEngine = analysisEngineFactory.get();
+                }
+                fileAnalysis = ConcurrentFileAnalyzer.analyze(analysisEngine, analysisCache, javaFile);
+            }
+            collector.collect(fileId, fileAnalysis);
+        }
+        return collector;
+    }
+
+    /**
+     * Gets the size of a file.
+     *
+     * @param javaFile The file.
+     * @return The size of the file in bytes, or {@code -1} if it cannot be read.
+     */
+    private static long sizeOf(JavaFile javaFile) {
+        try {
+            return Files.size(Path.of(javaFile.getfilePath()));
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gets a key that identifies the content of a file.
+     *
+     * @param javaFile The file.
+     * @param size     The size of the file in bytes.
+     * @return The size and digest of the content, or {@code null} if the file cannot be read.
+     */
+    private static String contentKeyOf(JavaFile javaFile, long size) {
+        try {
+            return size + ":" + ContentHasher.toHex(ContentHasher.hash(Path.of(javaFile.getfilePath())));
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+}
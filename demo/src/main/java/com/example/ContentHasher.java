@@ -0,0 +1,92 @@
+package com.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The {@code ContentHasher} class computes the SHA-256 digest of the content of a file.
+ * Two files with the same digest are treated as having the same content.
+ *
+ * <p>The file is streamed through a small buffer, so hashing a file never holds
+ * its whole content in memory.</p>
+ */
+public final class ContentHasher {
+    /**
+     * Length of a digest, in bytes.
+     */
+    public static final int HASH_LENGTH = 32;
+
+    /**
+     * Size of the buffer used to stream the content of a file.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private ContentHasher() {
+    }
+
+    /**
+     * Computes the digest of the content of a file.
+     *
+     * @param filePath The path of the file.
+     * @return The SHA-256 digest, {@link #HASH_LENGTH} bytes long.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public static byte[] hash(Path filePath) throws IOException {
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Computes the digest of an array of bytes.
+     *
+     * @param content The bytes to hash.
+     * @return The SHA-256 digest, {@link #HASH_LENGTH} bytes long.
+     */
+    public static byte[] hash(byte[] content) {
+        return newDigest().digest(content);
+    }
+
+    /**
+     * Formats a digest as a lowercase hexadecimal string.
+     *
+     * @param hash The digest to format.
+     * @return The hexadecimal representation of the digest.
+     */
+    public static String toHex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte value : hash) {
+            hex.append(Character.forDigit((value >> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Creates a SHA-256 message digest.
+     *
+     * @return A new message digest.
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.example;
+
+import com.example.constants.JavaRegexConstants;
+
+/**
+ * The {@code DeclarationScanner} class recognizes the declarations matched by the
+ * most expensive patterns of {@link JavaRegexConstants} with hand-written scanners
+ * whose time is linear in the length of the line.
+ *
+ * <p>Those patterns combine optional groups, overlapping whitespace runs and
+ * unbounded {@code .*} or {@code [^)]*} parts, so the regular expression engine
+ * backtracks through every way of splitting a line before it gives up. On long
+ * generated lines, such as huge parameter lists or whitespace runs, a single line
+ * can take seconds. Each scanner gives exactly the same result as its pattern:
+ * the ways of splitting a line are deterministic once the tokens are read, so
+ * every candidate position is checked once, and the search for the closing
+ * {@code )} or {@code >} of a group is answered from a single pass over the line.</p>
+ *
+ * <p>As in the patterns, {@code \s} is {@code [ \t\n\x0B\f\r]} and {@code \w} is
+ * {@code [a-zA-Z_0-9]}. The few lines whose result depends on how the running Java
+ * version treats other characters are checked with the pattern itself.</p>
+ */
+public final class DeclarationScanner {
+    /**
+     * The access modifiers required by {@link JavaRegexConstants#METHOD_DECLARATION_REGEX}.
+     */
+    private static final String[] ACCESS_MODIFIERS = {"public", "private", "protected"};
+
+    /**
+     * The combinations of {@link JavaRegexConstants#FINAL_OR_STATIC_REGEX}.
+     */
+    private static final String[][] FINAL_OR_STATIC = {
+        {}, {"static"}, {"final"}, {"static", "final"}, {"final", "static"}
+    };
+
+    /**
+     * The keywords of {@link JavaRegexConstants#STRUCT_DECLARATION_REGEX}.
+     */
+    private static final String[] STRUCT_KEYWORDS = {"class", "enum", "interface"};
+
+    /**
+     * The keyword of {@link JavaRegexConstants#TRY_DECLARATION_REGEX}.
+     */
+    private static final String[] TRY_KEYWORD = {"try"};
+
+    /**
+     * The keywords of {@link JavaRegexConstants#FLOW_CONTROL_REGEX}.
+     */
+    private static final String[] FLOW_CONTROL_KEYWORDS = {"if", "for", "while", "switch"};
+
+    /**
+     * The keywords of the first alternative of {@link JavaRegexConstants#VALID_DECLARATION}.
+     */
+    private static final String[] DECLARATION_KEYWORDS = {
+        "public", "private", "protected", "class", "interface", "enum",
+        "if", "else", "for", "while", "switch", "do", "try"
+    };
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private DeclarationScanner() {
+    }
+
+    /**
+     * Checks whether a line contains a method declaration; the same as
+     * {@code find()} with {@link JavaRegexConstants#METHOD_DECLARATION_REGEX}.
+     * The throws clause is optional and at the end, so it never decides whether
+     * a declaration is found.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the line contains a method declaration.
+     */
+    public static boolean isMethodDeclaration(String line) {
+        int lastClose = line.lastIndexOf(')');
+        if (lastClose < 0) {
+            return false;
+        }
+        int length = line.length();
+        for (int start = 0; start < length; start++) {
+            for (String modifier : ACCESS_MODIFIERS) {
+                if (line.startsWith(modifier, start) && matchesMethodAfterModifier(line, start + modifier.length(),
+                        lastClose)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a line contains a class instantiation; the same as
+     * {@code find()} with {@link JavaRegexConstants#CLASS_INSTANTIATION_REGEX},
+     * whose leading and trailing {@code .*} never decide whether a match is found.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the line contains {@code new} followed by a type and arguments.
+     */
+    public static boolean isClassInstantiation(String line) {
+        int lastClose = line.lastIndexOf(')');
+        if (lastClose < 0) {
+            return false;
+        }
+        int length = line.length();
+        int nextGreater = -1;
+        for (int start = line.indexOf("new"); start >= 0; start = line.indexOf("new", start + 1)) {
+            int position = start + 3;
+            if (start > 0 && line.charAt(start - 1) >= 0x80) {
+                // Whether a non-ASCII character is part of a word depends on the Java version
+                return PatternRegistry.CLASS_INSTANTIATION.getPattern().matcher(line).find();
+            }
+            if (!isWordBoundary(line, start) || position >= length || !isWhitespace(line.charAt(position))) {
+                continue;
+            }
+            // Qualified name: words separated by dots
+            position = skipWhitespace(line, position);
+            while (true) {
+                int wordEnd = skipWord(line, position);
+                if (wordEnd == position) {
+                    position = -1;
+                    break;
+                }
+                position = wordEnd;
+                if (position < length && line.charAt(position) == '.') {
+                    position++;
+                } else {
+                    break;
+                }
+            }
+            if (position < 0) {
+                continue;
+            }
+            if (position < length && line.charAt(position) == '<') {
+                if (nextGreater <= position) {
+                    nextGreater = line.indexOf('>', position + 1);
+                    if (nextGreater < 0) {
+                        nextGreater = length;
+                    }
+                }
+                if (nextGreater == length || nextGreater == position + 1) {
+                    continue;
+                }
+                position = nextGreater + 1;
+            }
+            position = skipWhitespace(line, position);
+            if (position < length && line.charAt(position) == '(' && lastClose > position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a line contains a construct counted as a logical line: a type,
+     * method, flow control or try declaration. The same as {@code find()} with the
+     * alternation of {@link JavaRegexConstants#STRUCT_DECLARATION_REGEX},
+     * {@link JavaRegexConstants#METHOD_DECLARATION_REGEX},
+     * {@link JavaRegexConstants#FLOW_CONTROL_REGEX} and
+     * {@link JavaRegexConstants#TRY_DECLARATION_REGEX}.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the line is a logical line.
+     */
+    public static boolean isLogicalLine(String line) {
+        if (containsKeywordFollowedByWhitespace(line, STRUCT_KEYWORDS)
+                || containsKeywordFollowedByWhitespace(line, TRY_KEYWORD)) {
+            return true;
+        }
+        int lastClose = line.lastIndexOf(')');
+        if (lastClose < 0) {
+            return false;
+        }
+        int length = line.length();
+        for (int start = 0; start < length; start++) {
+            for (String keyword : FLOW_CONTROL_KEYWORDS) {
+                if (line.startsWith(keyword, start)) {
+                    int position = skipWhitespace(line, start + keyword.length());
+                    if (position < length && line.charAt(position) == '(' && lastClose > position) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return isMethodDeclaration(line);
+    }
+
+    /**
+     * Checks whether a whole line is a declaration that may open a block; the same
+     * as {@code matches()} with {@link JavaRegexConstants#VALID_DECLARATION}.
+     * A line with a line terminator, which {@code .} does not match, is rare enough
+     * to be checked with the pattern itself.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the whole line matches.
+     */
+    public static boolean isValidDeclaration(String line) {
+        if (containsLineTerminator(line)) {
+            return PatternRegistry.VALID_DECLARATION.getPattern().matcher(line).matches();
+        }
+        int lastBrace = line.lastIndexOf('{');
+        if (lastBrace < 0) {
+            return false;
+        }
+        // First alternative: a keyword, whitespace and later an opening brace
+        int length = line.length();
+        for (int start = 0; start < lastBrace; start++) {
+            for (String keyword : DECLARATION_KEYWORDS) {
+                int end = start + keyword.length();
+                if (end < lastBrace && line.startsWith(keyword, start) && isWhitespace(line.charAt(end))) {
+                    return true;
+                }
+            }
+        }
+        // Second alternative: a closing parenthesis followed by an opening brace
+        for (int close = line.indexOf(')'); close >= 0; close = line.indexOf(')', close + 1)) {
+            int position = skipWhitespace(line, close + 1);
+            if (position < length && line.charAt(position) == '{') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Matches the part of a method declaration that follows an access modifier.
+     *
+     * @param line      The line to check.
+     * @param position  The position right after the modifier.
+     * @param lastClose The position of the last {@code )} of the line.
+     * @return {@code true} if a method declaration follows.
+     */
+    private static boolean matchesMethodAfterModifier(String line, int position, int lastClose) {
+        if (position >= line.length() || !isWhitespace(line.charAt(position))) {
+            return false;
+        }
+        position = skipWhitespace(line, position);
+        for (String[] keywords : FINAL_OR_STATIC) {
+            int afterKeywords = skipKeywords(line, position, keywords);
+            if (afterKeywords >= 0 && matchesTypeNameAndParameters(line, afterKeywords, lastClose)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips a sequence of keywords, each followed by whitespace.
+     *
+     * @param line     The line.
+     * @param position The position of the first keyword.
+     * @param keywords The keywords, in order.
+     * @return The position after the whitespace of the last keyword, or {@code -1} if they are not there.
+     */
+    private static int skipKeywords(String line, int position, String[] keywords) {
+        for (String keyword : keywords) {
+            int end = position + keyword.length();
+            if (!line.startsWith(keyword, position) || end >= line.length() || !isWhitespace(line.charAt(end))) {
+                return -1;
+            }
+            position = skipWhitespace(line, end);
+        }
+        return position;
+    }
+
+    /**
+     * Matches a return type, a method name and a parameter list: the
+     * {@code DATATYPE}, {@code IDENTIFIER} and {@code PARAMETERS} parts of
+     * {@link JavaRegexConstants#METHOD_DECLARATION_REGEX}.
+     *
+     * @param line      The line to check.
+     * @param position  The position where the return type may start.
+     * @param lastClose The position of the last {@code )} of the line.
+     * @return {@code true} if they match.
+     */
+    private static boolean matchesTypeNameAndParameters(String line, int position, int lastClose) {
+        int length = line.length();
+        position = skipWhitespace(line, position);
+        int typeEnd = skipAlphanumeric(line, position);
+        if (typeEnd == position) {
+            return false;
+        }
+        position = typeEnd;
+        if (position < length && line.charAt(position) == '<') {
+            int argumentEnd = skipAlphanumeric(line, position + 1);
+            if (argumentEnd > position + 1 && argumentEnd < length && line.charAt(argumentEnd) == '>') {
+                position = argumentEnd + 1;
+            }
+        }
+        if (position >= length || !isWhitespace(line.charAt(position))) {
+            return false;
+        }
+        position = skipWhitespace(line, position);
+        int nameEnd = skipWord(line, position);
+        if (nameEnd == position) {
+            return false;
+        }
+        position = skipWhitespace(line, nameEnd);
+        return position < length && line.charAt(position) == '(' && lastClose > position;
+    }
+
+    /**
+     * Checks whether one of several keywords appears followed by whitespace.
+     *
+     * @param line     The line to check.
+     * @param keywords The keywords.
+     * @return {@code true} if a keyword is followed by a whitespace character.
+     */
+    private static boolean containsKeywordFollowedByWhitespace(String line, String[] keywords) {
+        for (String keyword : keywords) {
+            for (int start = line.indexOf(keyword); start >= 0; start = line.indexOf(keyword, start + 1)) {
+                int end = start + keyword.length();
+                if (end < line.length() && isWhitespace(line.charAt(end))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether there is a word boundary ({@code \b}) before a word character
+     * preceded by an ASCII character, or by nothing.
+     *
+     * @param line     The line.
+     * @param position The position of a word character.
+     * @return {@code true} if the position starts a word.
+     */
+    private static boolean isWordBoundary(String line, int position) {
+        if (position == 0) {
+            return true;
+        }
+        char previous = line.charAt(position - 1);
+        return previous != '_' && !isAlphanumeric(previous);
+    }
+
+    /**
+     * Checks whether a line contains a character that {@code .} does not match.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the line contains a line terminator.
+     */
+    private static boolean containsLineTerminator(String line) {
+        for (int index = 0; index < line.length(); index++) {
+            char current = line.charAt(index);
+            if (current == '\n' || current == '\r' || current == '\u0085' || current == '\u2028'
+                    || current == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Skips a run of whitespace.
+     *
+     * @param line     The line.
+     * @param position The start of the run.
+     * @return The position after the run.
+     */
+    private static int skipWhitespace(String line, int position) {
+        while (position < line.length() && isWhitespace(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Skips a run of word characters ({@code \w}).
+     *
+     * @param line     The line.
+     * @param position The start of the run.
+     * @return The position after the run.
+     */
+    private static int skipWord(String line, int position) {
+        while (position < line.length() && (isAlphanumeric(line.charAt(position)) || line.charAt(position) == '_')) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Skips a run of ASCII letters and digits ({@code [a-zA-Z0-9]}).
+     *
+     * @param line     The line.
+     * @param position The start of the run.
+     * @return The position after the run.
+     */
+    private static int skipAlphanumeric(String line, int position) {
+        while (position < line.length() && isAlphanumeric(line.charAt(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * Checks whether a character is matched by {@code \s}.
+     *
+     * @param current The character.
+     * @return {@code true} for a space, tab, line feed, vertical tab, form feed or carriage return.
+     */
+    private static boolean isWhitespace(char current) {
+        return current == ' ' || (current >= '\t' && current <= '\r');
+    }
+
+    /**
+     * Checks whether a character is an ASCII letter or digit.
+     *
+     * @param current The character.
+     * @return {@code true} if it is matched by {@code [a-zA-Z0-9]}.
+     */
+    private static boolean isAlphanumeric(char current) {
+        return (current >= 'a' && current <= 'z') || (current >= 'A' && current <= 'Z')
+            || (current >= '0' && current <= '9');
+    }
+}
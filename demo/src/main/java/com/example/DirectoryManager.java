@@ -1,18 +1,37 @@
 package com.example;
 
 import java.io.File;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import java.io.IOException;
 import com.example.exceptions.FileException;
-import com.example.validators.FileFormatValidator;
 
 /**
  * The DirectoryManager class is responsible for managing and processing files within a specified directory.
  * It provides functionality to validate the directory, recursively list all files, and process the files
- * to count physical and logical lines.
+ * to count physical and logical lines. A zip or jar source archive can be processed in place of a directory.
  */
 public class DirectoryManager {
+    /**
+     * Orders paths like the directory walk: name by name, each level sorted by name.
+     */
+    static final Comparator<Path> WALK_ORDER = (first, second) -> {
+        int common = Math.min(first.getNameCount(), second.getNameCount());
+        for (int i = 0; i < common; i++) {
+            int comparison = first.getName(i).toString().compareTo(second.getName(i).toString());
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(first.getNameCount(), second.getNameCount());
+    };
+
     /**
      * A list to store all java files found in the directory and its subdirectories.
      */
@@ -23,6 +42,96 @@ public class DirectoryManager {
      */
     private File directory;
 
+    /**
+     * Indicates whether the directory tree is walked in parallel using a
+     * {@link ParallelDirectoryWalker} instead of a single thread.
+     */
+    private boolean parallelTraversal;
+
+    /**
+     * Factory that creates the engines used to analyze the Java files.
+     */
+    private Supplier<AnalysisEngine> analysisEngineFactory;
+
+    /**
+     * Indicates whether each Java file is analyzed on its own thread
+     * by a {@link ConcurrentFileAnalyzer} instead of one after another.
+     */
+    private boolean concurrentAnalysis;
+
+    /**
+     * Maximum number of files loaded at the same time by the concurrent analysis.
+     */
+    private int maxOpenFiles;
+
+    /**
+     * Indicates whether the directory is processed by a {@link StagedPipeline},
+     * which overlaps discovery, loading and analysis.
+     */
+    private boolean pipelinedAnalysis;
+
+    /**
+     * Number of threads of the loading stage of the pipeline.
+     */
+    private int pipelineReaderThreads;
+
+    /**
+     * Number of threads of the analysis stage of the pipeline.
+     */
+    private int pipelineAnalyzerThreads;
+
+    /**
+     * Capacity of each queue between two stages of the pipeline.
+     */
+    private int pipelineQueueCapacity;
+
+    /**
+     * The file where the analyses are cached between runs, or {@code null} if caching is disabled.
+     */
+    private Path cacheFile;
+
+    /**
+     * The cache used by the last call to {@link #processDirectory()}, or {@code null}.
+     */
+    private AnalysisCache analysisCache;
+
+    /**
+     * The ignore patterns that apply to the whole tree.
+     */
+    private List<String> ignorePatterns;
+
+    /**
+     * Indicates whether the {@code .gitignore} file of each directory is applied during the walk.
+     */
+    private boolean ignoreFilesEnabled;
+
+    /**
+     * Indicates whether byte-identical files are analyzed only once.
+     */
+    private boolean deduplication;
+
+    /**
+     * The records of every method found by the last call to {@link #processDirectory()}.
+     * The file id of each record is the position of its file in the list of Java files.
+     */
+    private MethodIndex methodIndex;
+
+    /**
+     * The executor shared by the concurrent analysis of several directories,
+     * or {@code null} to create one per run.
+     */
+    private ExecutorService executor;
+
+    /**
+     * The row of each class found by the last call to {@link #processDirectory()}, or {@code null}.
+     */
+    private ClassResultStore classResults;
+
+    /**
+     * The total physical LOC found by the last call to {@link #processDirectory()}.
+     */
+    private int totalLOC;
+
     /**
      * Constructs a new DirectoryManager with the specified directory path.
      *
@@ -31,41 +140,377 @@ public class DirectoryManager {
     public DirectoryManager(String directoryPath) {
         this.directory = new File(directoryPath);
         this.javaFiles = new ArrayList<>();
+        this.parallelTraversal = false;
+        this.analysisEngineFactory = FusedAnalysisEngine::new;
+        this.concurrentAnalysis = false;
+        this.maxOpenFiles = ConcurrentFileAnalyzer.DEFAULT_MAX_OPEN_FILES;
+        this.pipelinedAnalysis = false;
+        this.pipelineReaderThreads = StagedPipeline.DEFAULT_READER_THREADS;
+        this.pipelineAnalyzerThreads = Runtime.getRuntime().availableProcessors();
+        this.pipelineQueueCapacity = StagedPipeline.DEFAULT_QUEUE_CAPACITY;
+        this.cacheFile = null;
+        this.analysisCache = null;
+        this.ignorePatterns = IgnoreRules.DEFAULT_PATTERNS;
+        this.ignoreFilesEnabled = true;
+        this.deduplication = false;
+        this.methodIndex = new MethodIndex();
+        this.executor = null;
+        this.classResults = null;
+        this.totalLOC = 0;
+    }
+
+    /**
+     * Sets the factory of the engines used to analyze the Java files. The default
+     * creates a {@link FusedAnalysisEngine}; {@code MultiPassAnalysisEngine::new}
+     * can be used as a reference to check its results. In the concurrent modes the
+     * engine is shared between threads, so it must be thread-safe.
+     *
+     * @param analysisEngineFactory The factory of the engines to use.
+     */
+    public void setAnalysisEngineFactory(Supplier<AnalysisEngine> analysisEngineFactory) {
+        this.analysisEngineFactory = analysisEngineFactory;
+    }
+
+    /**
+     * Enables or disables the concurrent analysis, which handles each Java file
+     * on its own virtual thread on Java 21 and later. Both modes report the same
+     * results, in the same order. Archives are always analyzed concurrently.
+     *
+     * @param concurrentAnalysis {@code true} to analyze the files concurrently.
+     */
+    public void setConcurrentAnalysis(boolean concurrentAnalysis) {
+        this.concurrentAnalysis = concurrentAnalysis;
+    }
+
+    /**
+     * Indicates whether the Java files are analyzed concurrently.
+     *
+     * @return {@code true} if the concurrent analysis is enabled.
+     */
+    public boolean isConcurrentAnalysis() {
+        return this.concurrentAnalysis;
+    }
+
+    /**
+     * Sets the maximum number of files loaded at the same time by the concurrent analysis.
+     *
+     * @param maxOpenFiles The maximum number of open files. Must be at least one.
+     * @throws IllegalArgumentException If {@code maxOpenFiles} is lower than one.
+     */
+    public void setMaxOpenFiles(int maxOpenFiles) {
+        if (maxOpenFiles < 1) {
+            throw new IllegalArgumentException("The maximum number of open files must be at least 1.");
+        }
+        this.maxOpenFiles = maxOpenFiles;
+    }
+
+    /**
+     * Gets the maximum number of files loaded at the same time by the concurrent analysis.
+     *
+     * @return The maximum number of open files.
+     */
+    public int getMaxOpenFiles() {
+        return this.maxOpenFiles;
+    }
+
+    /**
+     * Enables or disables the parallel directory walk.
+     * Both modes return the same Java files in the same order.
+     *
+     * @param parallelTraversal {@code true} to walk subdirectories in parallel.
+     */
+    public void setParallelTraversal(boolean parallelTraversal) {
+        this.parallelTraversal = parallelTraversal;
+    }
+
+    /**
+     * Indicates whether the directory tree is walked in parallel.
+     *
+     * @return {@code true} if the parallel walk is enabled.
+     */
+    public boolean isParallelTraversal() {
+        return this.parallelTraversal;
+    }
+
+    /**
+     * Enables or disables the staged pipeline, in which directory discovery, file
+     * loading, analysis and aggregation run as separate stages connected by bounded
+     * queues. It takes precedence over the concurrent analysis. All modes report
+     * the same results, in the same order. It does not apply to archives.
+     *
+     * @param pipelinedAnalysis {@code true} to process the directory with the pipeline.
+     */
+    public void setPipelinedAnalysis(boolean pipelinedAnalysis) {
+        this.pipelinedAnalysis = pipelinedAnalysis;
+    }
+
+    /**
+     * Indicates whether the directory is processed with the staged pipeline.
+     *
+     * @return {@code true} if the pipeline is enabled.
+     */
+    public boolean isPipelinedAnalysis() {
+        return this.pipelinedAnalysis;
+    }
+
+    /**
+     * Sets the parallelism and the queue capacity of the staged pipeline.
+     * Discovery and aggregation always run on one thread each.
+     *
+     * @param readerThreads   Number of threads that load file contents.
+     * @param analyzerThreads Number of threads that analyze loaded files.
+     * @param queueCapacity   Capacity of each queue between two stages.
+     * @throws IllegalArgumentException If any of the numbers is lower than one.
+     */
+    public void setPipelineParallelism(int readerThreads, int analyzerThreads, int queueCapacity) {
+        if (readerThreads < 1 || analyzerThreads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("The threads of each stage and the queue capacity must be at least 1.");
+        }
+        this.pipelineReaderThreads = readerThreads;
+        this.pipelineAnalyzerThreads = analyzerThreads;
+        this.pipelineQueueCapacity = queueCapacity;
+    }
+
+    /**
+     * Sets the file where the analysis of every file is cached between runs. With a
+     * cache, a run only reads the metadata of the files that did not change since the
+     * previous run and analyzes the others. The results are the same with or without it.
+     * The entries of an archive are not cached.
+     *
+     * @param cacheFile The cache file, or {@code null} to disable caching.
+     */
+    public void setCacheFile(Path cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Gets the cache used by the last call to {@link #processDirectory()},
+     * for example to know how many files were found in it. Processing an archive
+     * neither uses nor changes it.
+     *
+     * @return The cache, or {@code null} if caching is disabled.
+     */
+    public AnalysisCache getAnalysisCache() {
+        return this.analysisCache;
+    }
+
+    /**
+     * Sets the ignore patterns, with {@code .gitignore} syntax, that apply to the whole
+     * tree, or to every entry of an archive. They replace {@link IgnoreRules#DEFAULT_PATTERNS}, which skip version
+     * control metadata, dependency folders and the build output of the root; an empty
+     * list walks every directory.
+     *
+     * @param ignorePatterns The patterns to apply.
+     */
+    public void setIgnorePatterns(List<String> ignorePatterns) {
+        this.ignorePatterns = new ArrayList<>(ignorePatterns);
+    }
+
+    /**
+     * Enables or disables the {@code .gitignore} files found in the tree, or among the
+     * entries of an archive. When enabled, the patterns of each file apply to the
+     * directory that contains it.
+     *
+     * @param ignoreFilesEnabled {@code true} to apply the {@code .gitignore} files.
+     */
+    public void setIgnoreFilesEnabled(boolean ignoreFilesEnabled) {
+        this.ignoreFilesEnabled = ignoreFilesEnabled;
+    }
+
+    /**
+     * Enables or disables the deduplication of byte-identical files. When enabled,
+     * each distinct content is loaded and analyzed once and its analysis is
+     * attributed to every copy, so the table is unchanged; a summary with the
+     * number of copies and the physical LOC without them is printed after it.
+     * The staged pipeline analyzes files as they are found and does not deduplicate,
+     * and neither are the entries of an archive.
+     *
+     * @param deduplication {@code true} to analyze each distinct content once.
+     */
+    public void setDeduplication(boolean deduplication) {
+        this.deduplication = deduplication;
+    }
+
+    /**
+     * Indicates whether byte-identical files are analyzed only once.
+     *
+     * @return {@code true} if the deduplication is enabled.
+     */
+    public boolean isDeduplication() {
+        return this.deduplication;
+    }
+
+    /**
+     * Creates the ignore rules of the managed directory.
+     *
+     * @return The ignore rules of the root directory.
+     */
+    IgnoreRules createIgnoreRules() {
+        return IgnoreRules.forRoot(this.directory, this.ignorePatterns, this.ignoreFilesEnabled);
+    }
+
+    /**
+     * Sets the executor that runs the tasks of the concurrent analysis and of
+     * archives, so that several directories analyzed in a row share the same
+     * threads. The executor is not shut down by this manager.
+     *
+     * @param executor The shared executor, or {@code null} to create one per run.
+     */
+    public void setExecutor(ExecutorService executor) {
+        this.executor = executor;
     }
 
     /**
      * Processes the directory by validating it, retrieving all file paths, and counting the physical lines
      * in each file. It also analyzes the classes and methods within the Java files.
-     * The results are then printed.
+     * The content of each file is loaded right before it is analyzed and released
+     * right after, so only one file is held in memory at a time, or at most
+     * {@link #getMaxOpenFiles()} files when the concurrent analysis is enabled.
+     * The error messages and the results are then printed in file order.
      *
      * @throws FileException If the directory does not exist or is not valid.
      * @throws IOException If an I/O error occurs during file processing.
      */
     public void processDirectory() throws FileException, IOException {
+        if (this.isArchive()) {
+            this.processArchive();
+            return;
+        }
         if (!this.isValidDirectory()) {
             throw new FileException("Error: The directory does not exist.");
         }
 
-        this.getAllJavaFiles();
-        ClassAnalyzer classCounter = new ClassAnalyzer();
-        // MethodLineCounter methodLineCounter = new MethodLineCounter();
-        PhysicalLineCounter physicalLineCounter = new PhysicalLineCounter();
-        // LogicalLineCounter logicalLineCounter = new LogicalLineCounter();
-        List<ClassInfo> classInfoList = new ArrayList<>();
-        int totalLOC = 0;
-        for (JavaFile javaFile : this.javaFiles) {
-            try {
-                FileFormatValidator.isValidFileFormat(javaFile);
-                List<ClassInfo> fileClassInfo = classCounter.analyze(javaFile);
-                classInfoList.addAll(fileClassInfo);
-                totalLOC += physicalLineCounter.count(javaFile);
-            } catch (Exception e) {
-                System.out.println(e.getMessage());
+        this.analysisCache = this.cacheFile != null ? AnalysisCache.open(this.cacheFile) : null;
+        AnalysisCollector collector;
+        ContentDeduplicator deduplicator = null;
+        AnalysisCollector distinctCollector = null;
+        if (this.pipelinedAnalysis) {
+            StagedPipeline pipeline = new StagedPipeline(this.analysisEngineFactory, this.pipelineReaderThreads,
+                this.pipelineAnalyzerThreads, this.pipelineQueueCapacity, this.analysisCache);
+            collector = pipeline.run(this.directory, this.createIgnoreRules(), this.javaFiles);
+        } else if (this.deduplication) {
+            this.getAllJavaFiles();
+            deduplicator = ContentDeduplicator.of(this.javaFiles);
+            distinctCollector = this.analyzeFiles(deduplicator.getDistinctFiles());
+            collector = deduplicator.attribute(distinctCollector, this.analysisEngineFactory, this.analysisCache);
+        } else {
+            this.getAllJavaFiles();
+            collector = this.analyzeFiles(this.javaFiles);
+        }
+        if (this.analysisCache != null) {
+            this.analysisCache.save();
+        }
+
+        this.printResults(collector);
+        if (deduplicator != null) {
+            ResultPrinter.printDeduplicationSummary(
+                deduplicator.getDuplicateCount(), this.javaFiles.size(), distinctCollector.getTotalLOC());
+        }
+    }
+
+    /**
+     * Analyzes a list of files, concurrently or one after the other depending on
+     * {@link #isConcurrentAnalysis()}.
+     *
+     * @param filesToAnalyze The files to analyze.
+     * @return A collector holding the analysis of every file, by position in the list.
+     * @throws FileException If the concurrent analysis is interrupted.
+     */
+    private AnalysisCollector analyzeFiles(List<JavaFile> filesToAnalyze) throws FileException {
+        AnalysisCollector collector = new AnalysisCollector(filesToAnalyze.size());
+        if (this.concurrentAnalysis) {
+            new ConcurrentFileAnalyzer(this.analysisEngineFactory, this.maxOpenFiles, this.analysisCache,
+                this.executor).analyzeAll(filesToAnalyze, collector);
+        } else {
+            AnalysisEngine analysisEngine = this.analysisEngineFactory.get();
+            for (int fileId = 0; fileId < filesToAnalyze.size(); fileId++) {
+                collector.collect(fileId,
+                    ConcurrentFileAnalyzer.analyze(analysisEngine, this.analysisCache, filesToAnalyze.get(fileId)));
             }
         }
+        return collector;
+    }
+
+    /**
+     * Processes a zip or jar archive without extracting it. Its Java entries are
+     * filtered with the same ignore rules as a directory, streamed out of the archive
+     * and analyzed concurrently, at most {@link #getMaxOpenFiles()} at a time, then
+     * the results are printed like those of a directory.
+     *
+     * <p>The staged pipeline, the deduplication, the cache and the sequential analysis
+     * only apply to directories: an archive is always analyzed this way, with the
+     * same results, and {@link #getAnalysisCache()} is left unchanged.</p>
+     *
+     * @throws FileException If the archive cannot be opened or the analysis is interrupted.
+     * @throws IOException If an I/O error occurs while reading the archive.
+     */
+    private void processArchive() throws FileException, IOException {
+        try (SourceArchive sourceArchive = new SourceArchive(this.directory)) {
+            this.javaFiles.addAll(sourceArchive.getJavaFiles(
+                IgnoreRules.forArchive(this.ignorePatterns, this.ignoreFilesEnabled)));
+            AnalysisCollector collector = new AnalysisCollector(this.javaFiles.size());
+            new ConcurrentFileAnalyzer(this.analysisEngineFactory, this.maxOpenFiles, null, this.executor)
+                .analyzeAll(this.javaFiles, collector);
+            this.printResults(collector);
+        }
+    }
+
+    /**
+     * Prints the error messages and the results table of the collected analyses,
+     * and adds their method records to the method index.
+     *
+     * @param collector The collector holding the analysis of every file.
+     */
+    private void printResults(AnalysisCollector collector) {
+        PhaseTimings.Measurement measurement = PhaseTimings.start(PhaseTimings.Phase.REPORT);
+        for (String errorMessage : collector.getErrorMessages()) {
+            System.out.println(errorMessage);
+        }
+        collector.mergeMethodIndex(this.methodIndex);
+        this.classResults = collector.getClassResults();
+        this.totalLOC = collector.getTotalLOC();
 
         String directoryName = this.getDirectoryName();
-        ResultPrinter.printResults(directoryName, classInfoList, totalLOC);
+        ResultPrinter.printResults(directoryName, this.classResults, this.totalLOC);
+        PhaseTimings.stop(measurement, this.javaFiles.size(), 0, 0);
+    }
+
+    /**
+     * Returns the records of every method found by {@link #processDirectory()}:
+     * name, enclosing class, file, start line, end line and physical line count.
+     * The file id of a record is the position of its file in {@link #getAllJavaFiles()}.
+     *
+     * @return The method index of the directory.
+     */
+    public MethodIndex getMethodIndex() {
+        return this.methodIndex;
+    }
+
+    /**
+     * Returns the row of each class found by the last call to {@link #processDirectory()}.
+     *
+     * @return The class results, or {@code null} if the directory was not processed.
+     */
+    public ClassResultStore getClassResults() {
+        return this.classResults;
+    }
+
+    /**
+     * Returns the total physical LOC found by the last call to {@link #processDirectory()}.
+     *
+     * @return The total physical LOC, or 0 if the directory was not processed.
+     */
+    public int getTotalLOC() {
+        return this.totalLOC;
+    }
+
+    /**
+     * Returns the number of Java files found by the last call to {@link #processDirectory()}.
+     *
+     * @return The number of files.
+     */
+    public int getJavaFileCount() {
+        return this.javaFiles.size();
     }
 
     /**
@@ -77,6 +522,16 @@ public class DirectoryManager {
         return this.directory.getName();
     }
 
+    /**
+     * Checks if the managed path is a zip or jar source archive, which is
+     * analyzed in place instead of a directory.
+     *
+     * @return {@code true} if the path is an archive file.
+     */
+    public boolean isArchive() {
+        return SourceArchive.isArchive(this.directory);
+    }
+
     /**
      * Checks if the specified directory is valid.
      * A directory is considered valid if it exists and is indeed a directory.
@@ -95,40 +550,112 @@ public class DirectoryManager {
      * Retrieves all Java files within the specified directory and its subdirectories.
      * This method initiates a recursive search starting from the root directory 
      * and collects all files with a `.java` extension.
+     * Files are returned in a deterministic order: the entries of every directory
+     * are sorted by name and subdirectories are expanded in place.
      *
      * @return A list of {@link JavaFile} objects representing the Java files found.
      * @throws FileException If an error occurs related to file handling (e.g., invalid directory).
      * @throws IOException If an I/O error occurs during the file search process.
      */
     public List<JavaFile> getAllJavaFiles() throws FileException, IOException {
-        listFilesRecursively(this.directory);
+        PhaseTimings.Measurement measurement = PhaseTimings.start(PhaseTimings.Phase.WALK);
+        if (this.parallelTraversal) {
+            ParallelDirectoryWalker<JavaFile> walker = new ParallelDirectoryWalker<>(
+                this.directory, DirectoryManager::createJavaFile, this.createIgnoreRules());
+            this.javaFiles.addAll(ForkJoinPool.commonPool().invoke(walker));
+        } else {
+            listFilesRecursively(this.directory, this.createIgnoreRules());
+        }
+        PhaseTimings.stop(measurement, this.javaFiles.size(), 0, 0);
         return this.javaFiles;
     }
 
+    /**
+     * Lists the entries of a directory sorted by name, so every walk visits
+     * them in the same order regardless of the underlying file system.
+     *
+     * @param directory The directory to list.
+     * @return The sorted entries, or an empty array if the directory cannot be listed.
+     */
+    static File[] listSortedFiles(File directory) {
+        File[] allFiles = directory.listFiles();
+        if (allFiles == null) {
+            return new File[0];
+        }
+        Arrays.sort(allFiles, Comparator.comparing(File::getName));
+        return allFiles;
+    }
+
+    /**
+     * Lists the entries of a directory sorted by name, leaving out the entries
+     * matched by the ignore rules. Ignored subdirectories are never listed.
+     * Each listing is a batch of the walk, recorded as a {@link DirectoryWalkEvent}.
+     *
+     * @param directory   The directory to list.
+     * @param ignoreRules The ignore rules that apply to the entries of the directory.
+     * @return The sorted entries that are not ignored.
+     */
+    static File[] listSortedFiles(File directory, IgnoreRules ignoreRules) {
+        DirectoryWalkEvent event = new DirectoryWalkEvent();
+        event.begin();
+        File[] allFiles = listSortedFiles(directory);
+        int kept = 0;
+        for (File file : allFiles) {
+            if (!ignoreRules.isIgnored(file, file.isDirectory())) {
+                allFiles[kept++] = file;
+            }
+        }
+        if (event.shouldCommit()) {
+            event.directory = directory.getPath();
+            event.entries = allFiles.length;
+            event.ignoredEntries = allFiles.length - kept;
+            event.commit();
+        }
+        return kept == allFiles.length ? allFiles : Arrays.copyOf(allFiles, kept);
+    }
+
+    /**
+     * Creates a {@link JavaFile} for a discovered file, printing the error
+     * message and returning {@code null} if the file cannot be loaded.
+     *
+     * @param file The Java file found during the walk.
+     * @return The created JavaFile, or {@code null} if it could not be created.
+     */
+    static JavaFile createJavaFile(File file) {
+        try {
+            return new JavaFile(file.getAbsolutePath(), file.getName());
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Recursively lists all files in the specified directory and its subdirectories.
      * If a file has a `.java` extension, it is added to the list of Java files.
      *
+     * Ignored files are skipped and ignored subdirectories are pruned.
+     *
      * @param directory The directory to search for files. Must not be null.
+     * @param ignoreRules The ignore rules that apply to the directory.
      * @throws FileException If the directory is invalid or inaccessible.
      * @throws IOException If an I/O error occurs while accessing the directory or its files.
      */
-    private void listFilesRecursively(File directory) throws FileException, IOException {
-        File[] allFiles = directory.listFiles();
-        if (allFiles != null) {
-            for (File file : allFiles) {
-                if (file.isFile()) {
-                    try {
-                        if(JavaFile.isValidFileType(file.getName())){
-                            JavaFile javaFile = new JavaFile(file.getAbsolutePath(), file.getName());
-                            this.javaFiles.add(javaFile);
-                        }
-                    } catch (Exception e) {
-                        System.out.println(e.getMessage());
+    private void listFilesRecursively(File directory, IgnoreRules ignoreRules) throws FileException, IOException {
+        IgnoreRules directoryRules = ignoreRules.forDirectory(directory);
+        File[] allFiles = listSortedFiles(directory, directoryRules);
+        for (File file : allFiles) {
+            if (file.isFile()) {
+                try {
+                    if(JavaFile.isValidFileType(file.getName())){
+                        JavaFile javaFile = new JavaFile(file.getAbsolutePath(), file.getName());
+                        this.javaFiles.add(javaFile);
                     }
-                } else if (file.isDirectory()) {
-                    listFilesRecursively(file);
+                } catch (Exception e) {
+                    System.out.println(e.getMessage());
                 }
+            } else if (file.isDirectory()) {
+                listFilesRecursively(file, directoryRules);
             }
         }
     }
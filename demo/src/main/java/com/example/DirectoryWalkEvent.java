@@ -0,0 +1,39 @@
+package com.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a batch of the directory walk: the listing, sorting
+ * and filtering of the entries of one directory.
+ *
+ * <p>It is only recorded while a flight recording that enables it is running.</p>
+ */
+@Name("com.example.DirectoryWalk")
+@Label("Directory Walk")
+@Category({"Contador", "Walk"})
+@Description("Listing of the entries of a directory during the walk")
+@StackTrace(false)
+class DirectoryWalkEvent extends Event {
+    /**
+     * The path of the directory.
+     */
+    @Label("Directory")
+    String directory;
+
+    /**
+     * The number of entries of the directory.
+     */
+    @Label("Entries")
+    int entries;
+
+    /**
+     * The number of entries left out by the ignore rules.
+     */
+    @Label("Ignored Entries")
+    int ignoredEntries;
+}
@@ -0,0 +1,416 @@
+package com.example;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.example.exceptions.FileException;
+
+/**
+ * The {@code DirectoryWatcher} class keeps the results of a directory up to date
+ * while its files are edited, using a {@link WatchService}.
+ *
+ * <p>The tree is analyzed once and the analysis of every Java file is kept in memory.
+ * Afterwards, each created, modified or deleted file is the only one analyzed again,
+ * and the total physical LOC is updated by the difference. After every batch of
+ * changes the results table is printed again, preceded by a one-line summary of
+ * the change.</p>
+ *
+ * <p>Files are kept in the order of the directory walk, so the table lists the
+ * classes in the same order as {@link DirectoryManager#processDirectory()}.
+ * Ignored files and directories are neither analyzed nor watched; the
+ * {@code .gitignore} files are read when their directory is registered.</p>
+ */
+public class DirectoryWatcher implements Closeable {
+    /**
+     * Time to wait for more events after the first one of a batch, so the
+     * several events caused by a single save are handled together.
+     */
+    public static final long SETTLE_MILLIS = 50;
+
+    /**
+     * The root directory being watched.
+     */
+    private final Path root;
+
+    /**
+     * The engine used to analyze each Java file.
+     */
+    private final AnalysisEngine analysisEngine;
+
+    /**
+     * The ignore rules of the root directory.
+     */
+    private final IgnoreRules ignoreRules;
+
+    /**
+     * The service that reports the changes of every watched directory.
+     */
+    private final WatchService watchService;
+
+    /**
+     * The watched directory of each registration key.
+     */
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+
+    /**
+     * The ignore rules that apply to the entries of each watched directory.
+     */
+    private final Map<Path, IgnoreRules> directoryRules = new HashMap<>();
+
+    /**
+     * The analysis of every Java file, in walk order.
+     */
+    private final NavigableMap<Path, FileAnalysis> analyses = new TreeMap<>(DirectoryManager.WALK_ORDER);
+
+    /**
+     * The total physical LOC of the valid files.
+     */
+    private int totalLOC = 0;
+
+    /**
+     * Constructs a watcher for a directory. Nothing is analyzed until {@link #start()}.
+     *
+     * @param directory      The root directory to watch.
+     * @param analysisEngine The engine used to analyze each Java file.
+     * @throws FileException If the directory does not exist.
+     * @throws IOException If the watch service cannot be created.
+     */
+    public DirectoryWatcher(File directory, AnalysisEngine analysisEngine) throws FileException, IOException {
+        this(directory, analysisEngine, IgnoreRules.forRoot(directory, IgnoreRules.DEFAULT_PATTERNS, true));
+    }
+
+    /**
+     * Constructs a watcher for a directory that skips the files and directories
+     * matched by the specified rules. Nothing is analyzed until {@link #start()}.
+     *
+     * @param directory      The root directory to watch.
+     * @param analysisEngine The engine used to analyze each Java file.
+     * @param ignoreRules    The ignore rules of the root directory.
+     * @throws FileException If the directory does not exist.
+     * @throws IOException If the watch service cannot be created.
+     */
+    public DirectoryWatcher(File directory, AnalysisEngine analysisEngine, IgnoreRules ignoreRules)
+            throws FileException, IOException {
+        if (!directory.isDirectory()) {
+            throw new FileException("Error: The directory does not exist.");
+        }
+        this.root = directory.toPath().toAbsolutePath();
+        this.analysisEngine = analysisEngine;
+        this.ignoreRules = ignoreRules;
+        this.watchService = this.root.getFileSystem().newWatchService();
+    }
+
+    /**
+     * Registers the whole tree, analyzes every Java file and prints the first table.
+     *
+     * @throws IOException If a directory cannot be registered.
+     */
+    public void start() throws IOException {
+        addTree(this.root, this.ignoreRules);
+        printResults();
+    }
+
+    /**
+     * Watches the directory until the thread is interrupted or the watcher is closed,
+     * printing the results after every batch of changes.
+     *
+     * @throws IOException If a new directory cannot be registered.
+     */
+    public void run() throws IOException {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                pollChanges(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for a batch of changes and applies it. If any Java file changed,
+     * the summary and the results table are printed.
+     *
+     * @param timeout The maximum time to wait for the first change.
+     * @param unit    The unit of the timeout.
+     * @return {@code true} if the results changed.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     * @throws IOException If a new directory cannot be registered.
+     */
+    public boolean pollChanges(long timeout, TimeUnit unit) throws InterruptedException, IOException {
+        WatchKey key = this.watchService.poll(timeout, unit);
+        if (key == null) {
+            return false;
+        }
+        int previousLOC = this.totalLOC;
+        Set<Path> changedPaths = new LinkedHashSet<>();
+        boolean overflow = false;
+        while (key != null) {
+            overflow |= collectChanges(key, changedPaths);
+            key = this.watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        int changedFiles = 0;
+        if (overflow) {
+            changedFiles = rescan();
+        } else {
+            for (Path path : changedPaths) {
+                changedFiles += apply(path);
+            }
+        }
+        if (changedFiles == 0) {
+            return false;
+        }
+        ResultPrinter.printWatchUpdate(changedFiles, this.totalLOC, this.totalLOC - previousLOC);
+        printResults();
+        return true;
+    }
+
+    /**
+     * Stores the classes of every valid file in a columnar store, in walk order.
+     * The file id of each row is the position of its file among the analyzed files.
+     *
+     * @return The class rows of the directory.
+     */
+    public ClassResultStore getClassResults() {
+        ClassResultStore classResults = new ClassResultStore();
+        int fileId = 0;
+        for (FileAnalysis fileAnalysis : this.analyses.values()) {
+            if (fileAnalysis.isValid()) {
+                classResults.addAll(fileAnalysis.getClassesInfo(), fileId);
+            }
+            fileId++;
+        }
+        return classResults;
+    }
+
+    /**
+     * Gets the total physical LOC of the valid files.
+     *
+     * @return The running total.
+     */
+    public int getTotalLOC() {
+        return this.totalLOC;
+    }
+
+    /**
+     * Stops watching the directory.
+     *
+     * @throws IOException If the watch service cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+    }
+
+    /**
+     * Collects the paths changed according to the events of a registration key.
+     * A save usually produces several events for the same file; each path is
+     * collected once.
+     *
+     * @param key          The key that was signalled.
+     * @param changedPaths The set that receives the changed paths.
+     * @return {@code true} if events were lost and the whole tree must be scanned again.
+     */
+    private boolean collectChanges(WatchKey key, Set<Path> changedPaths) {
+        Path directory = this.watchedDirectories.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else if (directory != null) {
+                changedPaths.add(directory.resolve((Path) event.context()));
+            }
+        }
+        if (!key.reset()) {
+            this.directoryRules.remove(this.watchedDirectories.remove(key));
+        }
+        return overflow;
+    }
+
+    /**
+     * Brings the results of a changed path up to date with the file system.
+     *
+     * @param path The changed path.
+     * @return The number of Java files analyzed again or removed.
+     * @throws IOException If a new directory cannot be registered.
+     */
+    private int apply(Path path) throws IOException {
+        Path parent = path.getParent();
+        if (path.getFileName().toString().equals(IgnoreRules.IGNORE_FILE_NAME)
+                && this.directoryRules.containsKey(parent) && Files.isDirectory(parent)) {
+            return reloadTree(parent);
+        }
+        IgnoreRules parentRules = this.directoryRules.getOrDefault(parent, this.ignoreRules);
+        boolean isDirectory = Files.isDirectory(path);
+        if (Files.exists(path) && parentRules.isIgnored(path.toFile(), isDirectory)) {
+            return 0;
+        } else if (isDirectory) {
+            return this.directoryRules.containsKey(path) ? 0 : addTree(path, parentRules);
+        } else if (isJavaFile(path)) {
+            analyzeFile(path);
+            return 1;
+        }
+        return removeTree(path);
+    }
+
+    /**
+     * Registers a directory and its subdirectories and analyzes the Java files found.
+     * Ignored entries are skipped.
+     *
+     * @param directory   The directory to add.
+     * @param parentRules The ignore rules of the parent directory.
+     * @return The number of Java files analyzed.
+     * @throws IOException If a directory cannot be registered.
+     */
+    private int addTree(Path directory, IgnoreRules parentRules) throws IOException {
+        WatchKey key = directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.watchedDirectories.put(key, directory);
+        IgnoreRules rules = parentRules.forDirectory(directory.toFile());
+        this.directoryRules.put(directory, rules);
+        int analyzedFiles = 0;
+        for (File file : DirectoryManager.listSortedFiles(directory.toFile(), rules)) {
+            if (file.isDirectory()) {
+                analyzedFiles += addTree(file.toPath(), rules);
+            } else if (isJavaFile(file.toPath())) {
+                analyzeFile(file.toPath());
+                analyzedFiles++;
+            }
+        }
+        return analyzedFiles;
+    }
+
+    /**
+     * Walks a directory again after its {@code .gitignore} file changed, so files
+     * that are now ignored are removed and files that no longer are get analyzed.
+     * The directories below it are registered again with the new rules.
+     *
+     * @param directory The directory whose ignore file changed.
+     * @return The number of Java files analyzed again or removed.
+     * @throws IOException If a directory cannot be registered.
+     */
+    private int reloadTree(Path directory) throws IOException {
+        Iterator<Map.Entry<WatchKey, Path>> watched = this.watchedDirectories.entrySet().iterator();
+        while (watched.hasNext()) {
+            Map.Entry<WatchKey, Path> entry = watched.next();
+            if (entry.getValue().startsWith(directory)) {
+                entry.getKey().cancel();
+                this.directoryRules.remove(entry.getValue());
+                watched.remove();
+            }
+        }
+        int removedFiles = removeTree(directory);
+        IgnoreRules parentRules = this.directoryRules.getOrDefault(directory.getParent(), this.ignoreRules);
+        int analyzedFiles = addTree(directory, parentRules);
+        // Files kept by the new rules are both removed and analyzed again
+        return Math.max(removedFiles, analyzedFiles);
+    }
+
+    /**
+     * Forgets a deleted file, or every file under a deleted directory.
+     *
+     * @param path The deleted path.
+     * @return The number of Java files removed.
+     */
+    private int removeTree(Path path) {
+        int removedFiles = 0;
+        Iterator<Map.Entry<Path, FileAnalysis>> entries = this.analyses.tailMap(path, true).entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Path, FileAnalysis> entry = entries.next();
+            if (!entry.getKey().startsWith(path)) {
+                break;
+            }
+            subtract(entry.getValue());
+            entries.remove();
+            removedFiles++;
+        }
+        return removedFiles;
+    }
+
+    /**
+     * Analyzes the whole tree again, after the watch service lost events.
+     *
+     * @return The number of Java files analyzed.
+     * @throws IOException If a directory cannot be registered.
+     */
+    private int rescan() throws IOException {
+        for (WatchKey key : this.watchedDirectories.keySet()) {
+            key.cancel();
+        }
+        this.watchedDirectories.clear();
+        this.directoryRules.clear();
+        this.analyses.clear();
+        this.totalLOC = 0;
+        return addTree(this.root, this.ignoreRules);
+    }
+
+    /**
+     * Analyzes a Java file and replaces its previous analysis.
+     * The error message of an invalid file is printed.
+     *
+     * @param path The path of the file.
+     */
+    private void analyzeFile(Path path) {
+        FileAnalysis fileAnalysis;
+        try {
+            JavaFile javaFile = new JavaFile(path.toString(), path.getFileName().toString());
+            fileAnalysis = ConcurrentFileAnalyzer.analyze(this.analysisEngine, javaFile);
+        } catch (Exception e) {
+            fileAnalysis = FileAnalysis.invalid(e.getMessage());
+        }
+        if (!fileAnalysis.isValid()) {
+            System.out.println(fileAnalysis.getErrorMessage());
+        }
+        FileAnalysis previous = this.analyses.put(path, fileAnalysis);
+        if (previous != null) {
+            subtract(previous);
+        }
+        if (fileAnalysis.isValid()) {
+            this.totalLOC += fileAnalysis.getPhysicalLines();
+        }
+    }
+
+    /**
+     * Removes the lines of a file from the running total.
+     *
+     * @param fileAnalysis The analysis of the file.
+     */
+    private void subtract(FileAnalysis fileAnalysis) {
+        if (fileAnalysis.isValid()) {
+            this.totalLOC -= fileAnalysis.getPhysicalLines();
+        }
+    }
+
+    /**
+     * Indicates whether a path is an existing Java source file.
+     *
+     * @param path The path to check.
+     * @return {@code true} if the path is a regular file with a Java extension.
+     */
+    private static boolean isJavaFile(Path path) {
+        return JavaFile.isValidFileType(path.getFileName().toString()) && Files.isRegularFile(path);
+    }
+
+    /**
+     * Prints the results table of the directory.
+     */
+    private void printResults() {
+        ResultPrinter.printResults(this.root.getFileName().toString(), getClassResults(), this.totalLOC);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code FileAnalysis} class stores the results of analyzing a single Java file:
+ * the classes it declares, its line counts and whether it passed the format validation.
+ */
+public class FileAnalysis {
+    /**
+     * The classes declared in the file.
+     */
+    private List<ClassInfo> classesInfo;
+
+    /**
+     * The number of physical lines in the file.
+     */
+    private int physicalLines;
+
+    /**
+     * The number of logical lines in the file.
+     */
+    private int logicalLines;
+
+    /**
+     * The number of method declarations in the file.
+     */
+    private int methodCount;
+
+    /**
+     * The method records of the file.
+     */
+    private MethodIndex methodIndex;
+
+    /**
+     * The message of the format error found in the file, or {@code null} if the file is valid.
+     */
+    private String errorMessage;
+
+    /**
+     * Constructs a {@code FileAnalysis} for a file that passed the format validation.
+     *
+     * @param classesInfo   The classes declared in the file.
+     * @param physicalLines The number of physical lines in the file.
+     * @param logicalLines  The number of logical lines in the file.
+     * @param methodCount   The number of method declarations in the file.
+     * @param methodIndex   The method records of the file.
+     */
+    public FileAnalysis(List<ClassInfo> classesInfo, int physicalLines, int logicalLines, int methodCount,
+            MethodIndex methodIndex) {
+        this.classesInfo = classesInfo;
+        this.physicalLines = physicalLines;
+        this.logicalLines = logicalLines;
+        this.methodCount = methodCount;
+        this.methodIndex = methodIndex;
+        this.errorMessage = null;
+    }
+
+    /**
+     * Creates a {@code FileAnalysis} for a file that failed the format validation.
+     * Such a file does not contribute classes or lines to the results.
+     *
+     * @param errorMessage The message describing the format error.
+     * @return The analysis of the invalid file.
+     */
+    public static FileAnalysis invalid(String errorMessage) {
+        FileAnalysis fileAnalysis = new FileAnalysis(new ArrayList<>(), 0, 0, 0, new MethodIndex());
+        fileAnalysis.errorMessage = errorMessage;
+        return fileAnalysis;
+    }
+
+    /**
+     * Indicates whether the file passed the format validation.
+     *
+     * @return {@code true} if the file is valid, {@code false} otherwise.
+     */
+    public boolean isValid() {
+        return this.errorMessage == null;
+    }
+
+    /**
+     * Gets the message of the format error found in the file.
+     *
+     * @return The error message, or {@code null} if the file is valid.
+     */
+    public String getErrorMessage() {
+        return this.errorMessage;
+    }
+
+    /**
+     * Gets the classes declared in the file.
+     *
+     * @return The list of ClassInfo objects.
+     */
+    public List<ClassInfo> getClassesInfo() {
+        return this.classesInfo;
+    }
+
+    /**
+     * Gets the number of physical lines in the file.
+     *
+     * @return The physical line count.
+     */
+    public int getPhysicalLines() {
+        return this.physicalLines;
+    }
+
+    /**
+     * Gets the number of logical lines in the file.
+     *
+     * @return The logical line count.
+     */
+    public int getLogicalLines() {
+        return this.logicalLines;
+    }
+
+    /**
+     * Gets the method records of the file: name, enclosing class, start line,
+     * end line and physical line count of each method.
+     *
+     * @return The method index of the file.
+     */
+    public MethodIndex getMethodIndex() {
+        return this.methodIndex;
+    }
+
+    /**
+     * Gets the number of method declarations in the file.
+     *
+     * @return The method count.
+     */
+    public int getMethodCount() {
+        return this.methodCount;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the analysis of a single file: its loading, its
+ * analysis by the engine and its release. With the pipelined analysis the file
+ * is loaded by an earlier stage, so the event only covers its analysis.
+ *
+ * <p>Like every {@link Event}, it is only recorded while a flight recording that
+ * enables it is running. Otherwise {@link #shouldCommit()} returns {@code false},
+ * its fields are never filled and the JIT removes the allocation of the event.</p>
+ */
+@Name("com.example.FileAnalysis")
+@Label("File Analysis")
+@Category({"Contador", "Analysis"})
+@Description("Loading and analysis of a Java file")
+@StackTrace(false)
+class FileAnalysisEvent extends Event {
+    /**
+     * The path of the file.
+     */
+    @Label("Path")
+    String path;
+
+    /**
+     * The number of bytes read from the file.
+     */
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    /**
+     * The number of lines of the file.
+     */
+    @Label("Lines")
+    int lines;
+
+    /**
+     * The number of classes found in the file.
+     */
+    @Label("Classes")
+    int classes;
+
+    /**
+     * Indicates whether the file passed the format validation.
+     */
+    @Label("Valid")
+    boolean valid;
+
+    /**
+     * The error message of an invalid file, or {@code null}.
+     */
+    @Label("Validation Message")
+    String validationMessage;
+}
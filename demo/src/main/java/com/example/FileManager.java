@@ -4,6 +4,11 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,6 +19,17 @@ import com.example.exceptions.FileException;
  * to list file names in a directory.
  */
 class FileManager {
+    /**
+     * Files at least this large are memory-mapped by {@link #readBuffer(String)};
+     * smaller files are cheaper to copy into a heap buffer than to map.
+     */
+    public static final long MAP_THRESHOLD = 64 * 1024;
+
+    /**
+     * Largest file that fits in a single buffer. Larger files cannot be
+     * addressed with {@code int} line offsets.
+     */
+    public static final long MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
 
     /**
      * Reads all lines from a specified file.
@@ -40,6 +56,84 @@ class FileManager {
         return lines;
     }
 
+    /**
+     * Reads the whole content of a file into a single string, decoded with the
+     * default charset like {@link #readLines(String)} does.
+     *
+     * @param filePath The full path of the file to read.
+     * @return The content of the file, with its line terminators.
+     * @throws IOException If an error occurs while reading the file.
+     * @throws FileException If the file does not exist or is not valid.
+     */
+    public static String readContent(String filePath) throws IOException, FileException {
+        return new String(readBytes(filePath), Charset.defaultCharset());
+    }
+
+    /**
+     * Reads the whole content of a file as raw bytes.
+     *
+     * @param filePath The full path of the file to read.
+     * @return The bytes of the file.
+     * @throws IOException If an error occurs while reading the file.
+     * @throws FileException If the file does not exist or is not valid.
+     */
+    public static byte[] readBytes(String filePath) throws IOException, FileException {
+        File file = new File(filePath);
+        if (!isValidFile(file)) {
+            throw new FileException("The file does not exist: " + file.getName());
+        }
+        return Files.readAllBytes(file.toPath());
+    }
+
+    /**
+     * Reads a file into a {@link SourceBuffer} that exposes its raw bytes and line offsets.
+     * Large files are memory-mapped; small files, or files the platform refuses to map,
+     * are read into a heap buffer instead.
+     *
+     * @param filePath The full path of the file to read.
+     * @return A buffer over the content of the file.
+     * @throws IOException If an error occurs while reading the file.
+     * @throws FileException If the file does not exist, is not valid or is too large.
+     */
+    public static SourceBuffer readBuffer(String filePath) throws IOException, FileException {
+        File file = new File(filePath);
+        if (!isValidFile(file)) {
+            throw new FileException("The file does not exist: " + file.getName());
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_BUFFER_SIZE) {
+                throw new FileException("The file is too large to be read: " + file.getName());
+            }
+            if (size >= MAP_THRESHOLD) {
+                try {
+                    return new SourceBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+                } catch (IOException | UnsupportedOperationException e) {
+                    channel.position(0);
+                }
+            }
+            return new SourceBuffer(readFully(channel, (int) size));
+        }
+    }
+
+    /**
+     * Reads the whole content of a channel into a heap buffer.
+     *
+     * @param channel The channel to read, positioned at its start.
+     * @param size The expected size of the content.
+     * @return A buffer holding the content, positioned at zero.
+     * @throws IOException If an error occurs while reading the channel.
+     */
+    private static ByteBuffer readFully(FileChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // Keep reading until the buffer is full or the end of the file is reached.
+        }
+        buffer.flip();
+        return buffer;
+    }
+
     /**
      * Checks if the specified file is valid.
      * A file is considered valid if it exists and is indeed a file.
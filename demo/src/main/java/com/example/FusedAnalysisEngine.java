@@ -0,0 +1,101 @@
+package com.example;
+
+import java.util.List;
+
+import com.example.exceptions.FileFormatException;
+import com.example.validators.FileFormatValidator;
+import com.example.validators.FileValidationEvent;
+import com.example.validators.JavaLexer;
+
+/**
+ * The {@code FusedAnalysisEngine} class analyzes a Java file in a single pass.
+ * Each line is visited exactly once and updates the format validation, the class
+ * declarations, the method records and the physical, logical and method counts together. Comments
+ * are recognized by a {@link JavaLexer} and classes are attributed their lines
+ * and methods by a {@link ScopeTracker}, as in {@link ClassAnalyzer}.
+ *
+ * <p>The results are identical to those of {@link MultiPassAnalysisEngine}. It records
+ * the same flight recorder events for the validation and the class analysis, both
+ * spanning the single pass.</p>
+ */
+public class FusedAnalysisEngine implements AnalysisEngine {
+    /**
+     * Analyzer whose class declaration rules are applied to each line.
+     */
+    private final ClassAnalyzer classAnalyzer = new ClassAnalyzer();
+
+    /**
+     * Counter whose logical line rules are applied to each line.
+     */
+    private final LogicalLineCounter logicalLineCounter = new LogicalLineCounter();
+
+    /**
+     * Counter whose method declaration rules are applied to each line.
+     */
+    private final MethodLineCounter methodLineCounter = new MethodLineCounter();
+
+    /**
+     * Analyzes the provided Java file visiting each line once.
+     * The analysis stops at the first format error, like the validator does.
+     *
+     * @param javaFile The Java file to analyze.
+     * @return The results of the analysis.
+     */
+    @Override
+    public FileAnalysis analyze(JavaFile javaFile) {
+        FileValidationEvent validationEvent = new FileValidationEvent();
+        validationEvent.begin();
+        ClassAnalysisEvent classAnalysisEvent = new ClassAnalysisEvent();
+        classAnalysisEvent.begin();
+        JavaLexer lexer = new JavaLexer();
+        ScopeTracker scopeTracker = new ScopeTracker();
+        int physicalLines = 0;
+        int logicalLines = 0;
+        int methodCount = 0;
+        String previousLine = "";
+
+        for (int i = 0; i < javaFile.getLineCount(); i++) {
+            lexer.scanLine(javaFile.getLine(i));
+            boolean isCode = !lexer.isCommentLine();
+            // Comment and blank lines declare nothing, so only code lines are copied into a String
+            String line = isCode && !javaFile.isBlankLine(i) ? javaFile.getLine(i).toString() : null;
+            String trimmedLine = line != null ? line.trim() : null;
+
+            String declaredClassName = line != null && this.classAnalyzer.isClassDeclaration(line)
+                ? this.classAnalyzer.extractClassName(line)
+                : null;
+            scopeTracker.beginLine(declaredClassName);
+
+            if (line != null) {
+                if (previousLine == null) {
+                    previousLine = javaFile.getLine(i - 1).toString().trim();
+                }
+                try {
+                    FileFormatValidator.validateLine(trimmedLine, i, previousLine, javaFile.getName());
+                } catch (FileFormatException e) {
+                    validationEvent.commitResult(javaFile, e.getMessage());
+                    return FileAnalysis.invalid(e.getMessage());
+                }
+
+                physicalLines++;
+                scopeTracker.addPhysicalLine();
+                if (this.logicalLineCounter.isLogicalLine(line)) {
+                    logicalLines++;
+                }
+                if (this.methodLineCounter.isMethod(line)) {
+                    methodCount++;
+                    scopeTracker.addMethod(this.methodLineCounter.extractMethodName(line));
+                }
+            }
+            scopeTracker.endLine(lexer.getCode());
+            // The previous line is only needed by the next code line, so a skipped line is copied on demand
+            previousLine = trimmedLine;
+        }
+
+        scopeTracker.finish();
+        List<ClassInfo> classesInfo = scopeTracker.getClassesInfo();
+        validationEvent.commitResult(javaFile, null);
+        classAnalysisEvent.commitResult(javaFile, classesInfo.size());
+        return new FileAnalysis(classesInfo, physicalLines, logicalLines, methodCount, scopeTracker.getMethodIndex());
+    }
+}
@@ -0,0 +1,414 @@
+package com.example;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code IgnoreRules} class decides which files and directories a walk must skip,
+ * using patterns with the semantics of {@code .gitignore} files.
+ *
+ * <p>Rules are applied while the tree is walked: an ignored directory is never listed,
+ * so whole subtrees such as build output or version control metadata are pruned at
+ * once. The patterns of the root apply to the whole tree, and the {@code .gitignore}
+ * file of each directory adds rules that apply below it and take precedence over the
+ * rules of its parents. Within a level, the last matching pattern wins.</p>
+ *
+ * <p>Supported syntax: blank lines and lines starting with {@code #} are skipped;
+ * {@code !} negates a pattern; a trailing {@code /} matches directories only; a pattern
+ * with a {@code /} at the start or in the middle is relative to the directory of the
+ * rules, otherwise it matches a name at any depth; {@code *}, {@code ?}, {@code [...]}
+ * and {@code **} are glob wildcards and {@code \} escapes the next character.</p>
+ *
+ * <p>The same rules can be applied to the entries of an archive, whose paths are
+ * relative to its root.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ */
+public class IgnoreRules {
+    /**
+     * Name of the files that hold the ignore patterns of a directory.
+     */
+    public static final String IGNORE_FILE_NAME = ".gitignore";
+
+    /**
+     * Patterns applied to every tree unless replaced: version control metadata and
+     * dependency folders at any depth, and the build output of the root. The build
+     * output directories are anchored to the root, since packages such as
+     * {@code com.example.build} share their names; the output of nested modules is
+     * left to the {@code .gitignore} files of the tree.
+     */
+    public static final List<String> DEFAULT_PATTERNS =
+        List.of(".git/", ".hg/", ".svn/", "node_modules/", "/target/", "/build/");
+
+    /**
+     * Rules that ignore nothing.
+     */
+    private static final IgnoreRules NONE = new IgnoreRules(null, "", new ArrayList<>(), false);
+
+    /**
+     * The rules of the enclosing directories, or {@code null} at the root.
+     */
+    private final IgnoreRules parent;
+
+    /**
+     * The absolute path of the directory the patterns are relative to, ending with a separator.
+     */
+    private final String basePath;
+
+    /**
+     * The patterns of this level, in file order.
+     */
+    private final List<Rule> rules;
+
+    /**
+     * Indicates whether the {@code .gitignore} file of each directory is read.
+     */
+    private final boolean readIgnoreFiles;
+
+    /**
+     * A single compiled pattern.
+     */
+    private static final class Rule {
+        /**
+         * The regular expression equivalent to the glob, or {@code null} for a literal name.
+         */
+        private final Pattern pattern;
+
+        /**
+         * The literal name matched when the glob has no wildcards.
+         */
+        private final String literal;
+
+        /**
+         * Indicates whether the pattern is matched against the relative path instead of the name.
+         */
+        private final boolean anchored;
+
+        /**
+         * Indicates whether the pattern only matches directories.
+         */
+        private final boolean directoryOnly;
+
+        /**
+         * Indicates whether a match re-includes the path instead of ignoring it.
+         */
+        private final boolean negated;
+
+        /**
+         * Constructs a rule.
+         *
+         * @param glob          The glob, without negation, leading or trailing slash.
+         * @param anchored      Whether the glob is matched against the relative path.
+         * @param directoryOnly Whether the rule only matches directories.
+         * @param negated       Whether a match re-includes the path.
+         */
+        private Rule(String glob, boolean anchored, boolean directoryOnly, boolean negated) {
+            this.literal = hasWildcards(glob) ? null : unescape(glob);
+            this.pattern = this.literal == null ? Pattern.compile(toRegex(glob)) : null;
+            this.anchored = anchored;
+            this.directoryOnly = directoryOnly;
+            this.negated = negated;
+        }
+
+        /**
+         * Checks whether the rule matches a path.
+         *
+         * @param relativePath The path relative to the directory of the rules, separated by {@code /}.
+         * @param name         The last segment of the path.
+         * @param isDirectory  Whether the path is a directory.
+         * @return {@code true} if the rule matches.
+         */
+        private boolean matches(String relativePath, String name, boolean isDirectory) {
+            if (this.directoryOnly && !isDirectory) {
+                return false;
+            }
+            String subject = this.anchored ? relativePath : name;
+            return this.literal != null ? this.literal.equals(subject) : this.pattern.matcher(subject).matches();
+        }
+    }
+
+    /**
+     * Constructs a level of rules.
+     *
+     * @param parent          The rules of the enclosing directories, or {@code null}.
+     * @param basePath        The absolute path of the directory of the rules, ending with a separator.
+     * @param rules           The patterns of this level.
+     * @param readIgnoreFiles Whether the {@code .gitignore} file of each directory is read.
+     */
+    private IgnoreRules(IgnoreRules parent, String basePath, List<Rule> rules, boolean readIgnoreFiles) {
+        this.parent = parent;
+        this.basePath = basePath;
+        this.rules = rules;
+        this.readIgnoreFiles = readIgnoreFiles;
+    }
+
+    /**
+     * Gets rules that ignore nothing.
+     *
+     * @return The empty rules.
+     */
+    public static IgnoreRules none() {
+        return NONE;
+    }
+
+    /**
+     * Creates the rules of a tree. The {@code .gitignore} file of the root itself is
+     * added, like that of any other directory, by {@link #forDirectory(File)}.
+     *
+     * @param root            The root directory of the tree.
+     * @param patterns        The patterns that apply to the whole tree, such as {@link #DEFAULT_PATTERNS}.
+     * @param readIgnoreFiles Whether the {@code .gitignore} file of each directory is read.
+     * @return The rules of the root directory.
+     */
+    public static IgnoreRules forRoot(File root, List<String> patterns, boolean readIgnoreFiles) {
+        return new IgnoreRules(null, basePathOf(root), compile(patterns), readIgnoreFiles);
+    }
+
+    /**
+     * Creates the rules of the entries of an archive. The paths of the entries are
+     * relative to the root of the archive and separated by {@code /}; the
+     * {@code .gitignore} entries are added by {@link #forArchiveDirectory(String, List)}.
+     *
+     * @param patterns        The patterns that apply to every entry, such as {@link #DEFAULT_PATTERNS}.
+     * @param readIgnoreFiles Whether the {@code .gitignore} entry of each directory is applied.
+     * @return The rules of the root of the archive.
+     */
+    public static IgnoreRules forArchive(List<String> patterns, boolean readIgnoreFiles) {
+        return new IgnoreRules(null, "", compile(patterns), readIgnoreFiles);
+    }
+
+    /**
+     * Gets the rules that apply to the entries of a directory of an archive, adding
+     * the patterns of its {@code .gitignore} entry to these rules.
+     *
+     * @param directoryName The name of the directory entry, ending with {@code /}, or
+     *                      the empty string for the root of the archive.
+     * @param ignoreLines   The lines of the {@code .gitignore} entry of the directory.
+     * @return The rules of the directory.
+     */
+    public IgnoreRules forArchiveDirectory(String directoryName, List<String> ignoreLines) {
+        if (!this.readIgnoreFiles) {
+            return this;
+        }
+        List<Rule> directoryRules = compile(ignoreLines);
+        return directoryRules.isEmpty() ? this : new IgnoreRules(this, directoryName, directoryRules, true);
+    }
+
+    /**
+     * Gets the rules that apply to the entries of a directory, adding the patterns
+     * of its {@code .gitignore} file, if any, to these rules.
+     *
+     * @param directory A directory at or below the directory of these rules.
+     * @return The rules of the directory.
+     */
+    public IgnoreRules forDirectory(File directory) {
+        if (!this.readIgnoreFiles) {
+            return this;
+        }
+        File ignoreFile = new File(directory, IGNORE_FILE_NAME);
+        if (!ignoreFile.isFile()) {
+            return this;
+        }
+        List<String> lines;
+        try {
+            lines = FileManager.readLines(ignoreFile.getPath());
+        } catch (Exception e) {
+            return this;
+        }
+        List<Rule> directoryRules = compile(lines);
+        return directoryRules.isEmpty() ? this : new IgnoreRules(this, basePathOf(directory), directoryRules, true);
+    }
+
+    /**
+     * Checks whether a file or directory must be skipped.
+     *
+     * @param file        The file or directory, below the directory of these rules.
+     * @param isDirectory Whether it is a directory.
+     * @return {@code true} if it is ignored.
+     */
+    public boolean isIgnored(File file, boolean isDirectory) {
+        return isIgnored(file.getAbsolutePath(), file.getName(), isDirectory);
+    }
+
+    /**
+     * Checks whether an entry of an archive must be skipped.
+     *
+     * @param entryName   The name of the entry, without the trailing {@code /} of a directory.
+     * @param isDirectory Whether it is a directory.
+     * @return {@code true} if it is ignored.
+     */
+    public boolean isIgnored(String entryName, boolean isDirectory) {
+        return isIgnored(entryName, entryName.substring(entryName.lastIndexOf('/') + 1), isDirectory);
+    }
+
+    /**
+     * Checks whether a path must be skipped.
+     *
+     * @param absolutePath The path, below the directory of these rules.
+     * @param name         The last segment of the path.
+     * @param isDirectory  Whether it is a directory.
+     * @return {@code true} if it is ignored.
+     */
+    private boolean isIgnored(String absolutePath, String name, boolean isDirectory) {
+        for (IgnoreRules level = this; level != null; level = level.parent) {
+            if (level.rules.isEmpty() || !absolutePath.startsWith(level.basePath)) {
+                continue;
+            }
+            String relativePath = absolutePath.substring(level.basePath.length()).replace(File.separatorChar, '/');
+            for (int i = level.rules.size() - 1; i >= 0; i--) {
+                Rule rule = level.rules.get(i);
+                if (rule.matches(relativePath, name, isDirectory)) {
+                    return !rule.negated;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compiles the lines of an ignore file.
+     *
+     * @param lines The lines to compile.
+     * @return The rules, in file order.
+     */
+    static List<Rule> compile(List<String> lines) {
+        List<Rule> compiled = new ArrayList<>();
+        for (String line : lines) {
+            String glob = trimTrailingSpaces(line);
+            if (glob.isEmpty() || glob.startsWith("#")) {
+                continue;
+            }
+            boolean negated = glob.startsWith("!");
+            if (negated) {
+                glob = glob.substring(1);
+            }
+            boolean directoryOnly = glob.endsWith("/") && !glob.endsWith("\\/");
+            if (directoryOnly) {
+                glob = glob.substring(0, glob.length() - 1);
+            }
+            boolean anchored = glob.indexOf('/') >= 0;
+            if (glob.startsWith("/")) {
+                glob = glob.substring(1);
+            }
+            if (glob.startsWith("**/")) {
+                // A leading "**/" matches at any depth, like a pattern without a slash
+                String rest = glob.substring(3);
+                if (rest.indexOf('/') < 0) {
+                    glob = rest;
+                    anchored = false;
+                }
+            }
+            if (!glob.isEmpty()) {
+                compiled.add(new Rule(glob, anchored, directoryOnly, negated));
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Converts a glob into an equivalent regular expression over {@code /}-separated paths.
+     *
+     * @param glob The glob to convert.
+     * @return The regular expression.
+     */
+    static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int length = glob.length();
+        for (int i = 0; i < length; i++) {
+            char current = glob.charAt(i);
+            boolean atSegmentStart = i == 0 || glob.charAt(i - 1) == '/';
+            if (current == '*' && i + 1 < length && glob.charAt(i + 1) == '*' && atSegmentStart
+                    && (i + 2 == length || glob.charAt(i + 2) == '/')) {
+                if (i + 2 == length) {
+                    regex.append(".*");
+                } else {
+                    regex.append("(?:.*/)?");
+                }
+                i += 2;
+            } else if (current == '*') {
+                regex.append("[^/]*");
+            } else if (current == '?') {
+                regex.append("[^/]");
+            } else if (current == '[') {
+                int end = glob.indexOf(']', i + 2);
+                if (end < 0) {
+                    regex.append("\\[");
+                } else {
+                    String set = glob.substring(i + 1, end);
+                    if (set.startsWith("!")) {
+                        set = "^" + set.substring(1);
+                    }
+                    regex.append('[').append(set.replace("\\", "\\\\").replace("[", "\\[")).append(']');
+                    i = end;
+                }
+            } else if (current == '\\' && i + 1 < length) {
+                regex.append(Pattern.quote(String.valueOf(glob.charAt(i + 1))));
+                i++;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(current)));
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Indicates whether a glob contains wildcards or escapes.
+     *
+     * @param glob The glob to check.
+     * @return {@code true} if the glob is not a plain name or path.
+     */
+    private static boolean hasWildcards(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            char current = glob.charAt(i);
+            if (current == '*' || current == '?' || current == '[') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the escaping backslashes of a glob without wildcards.
+     *
+     * @param glob The glob.
+     * @return The literal it matches.
+     */
+    private static String unescape(String glob) {
+        StringBuilder literal = new StringBuilder(glob.length());
+        for (int i = 0; i < glob.length(); i++) {
+            char current = glob.charAt(i);
+            if (current == '\\' && i + 1 < glob.length()) {
+                current = glob.charAt(++i);
+            }
+            literal.append(current);
+        }
+        return literal.toString();
+    }
+
+    /**
+     * Removes the trailing spaces of a line, unless they are escaped with a backslash.
+     *
+     * @param line The line.
+     * @return The line without unescaped trailing spaces.
+     */
+    private static String trimTrailingSpaces(String line) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ' ' && !(end > 1 && line.charAt(end - 2) == '\\')) {
+            end--;
+        }
+        return line.substring(0, end);
+    }
+
+    /**
+     * Gets the absolute path of a directory, ending with a separator.
+     *
+     * @param directory The directory.
+     * @return The base path of the directory.
+     */
+    private static String basePathOf(File directory) {
+        String path = directory.getAbsolutePath();
+        return path.endsWith(File.separator) ? path : path + File.separator;
+    }
+}
@@ -1,8 +1,13 @@
 package com.example;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
 import com.example.constants.FileFormatConstants;
 import com.example.exceptions.FileException;
@@ -10,6 +15,18 @@ import com.example.exceptions.FileException;
 /**
  * Represents a Java file with information about its directory path, name,
  * content, and metrics for physical and logical lines.
+ *
+ * <p>The content is loaded lazily the first time it is needed and can be
+ * released once every counter and validator has seen it, so only the files
+ * currently being analyzed keep their lines in memory.</p>
+ *
+ * <p>The content is held in a single {@code String} and an {@code int[]} with the
+ * offset where each line starts, instead of one {@code String} per line. Java
+ * sources are almost always Latin-1, which compact strings store as one byte per
+ * character, so a loaded file takes about its size on disk plus four bytes per
+ * line. The counters read the lines through {@link #getLine(int)}, a
+ * {@link CharSequence} view over the content; {@link #getLines()} copies them
+ * into strings for the callers that need a list.</p>
  */
 public class JavaFile {
 
@@ -24,9 +41,20 @@ public class JavaFile {
     private String name;
 
     /**
-     * The lines of code contained in the file.
+     * The content of the file, or {@code null} while it is not loaded.
      */
-    private List<String> lines;
+    private String content;
+
+    /**
+     * The offset in {@link #content} where each line starts, followed by the
+     * length of the content, or {@code null} while the content is not loaded.
+     */
+    private int[] lineStarts;
+
+    /**
+     * The number of bytes read by the last load, or 0 if the content was never read.
+     */
+    private int byteCount;
 
     /**
      * The number of physical lines in the file.
@@ -50,6 +78,7 @@ public class JavaFile {
 
     /**
      * Constructor to create an instance of JavaFile.
+     * The file content is not read until {@link #load()} or {@link #getLines()} is called.
      *
      * @param filePath The file path where the file is located.
      * @param name The name of the file.
@@ -62,7 +91,8 @@ public class JavaFile {
     public JavaFile(String filePath, String name) throws FileException, IOException {        
         this.filePath = filePath;
         this.name = name;
-        this.lines = FileManager.readLines(this.filePath);
+        this.content = null;
+        this.lineStarts = null;
         this.physicalLines = 0;
         this.classCount = 0;
         this.numberOfMethods = 0;
@@ -105,21 +135,237 @@ public class JavaFile {
     }
 
     /**
-     * Gets the lines of code contained in the file.
+     * Gets the lines of code contained in the file, loading them from disk
+     * if they are not loaded yet. The list creates a {@code String} for a line
+     * each time the line is read; {@link #getLine(int)} avoids the copy.
      *
      * @return The lines of code.
+     * @throws UncheckedIOException If the content has to be loaded and cannot be read.
      */
     public List<String> getLines() {
-        return lines;
+        ensureLoaded();
+        return new LineList();
+    }
+
+    /**
+     * Gets the number of lines of the file, loading its content from disk
+     * if it is not loaded yet.
+     *
+     * @return The number of lines.
+     * @throws UncheckedIOException If the content has to be loaded and cannot be read.
+     */
+    public int getLineCount() {
+        ensureLoaded();
+        return this.lineStarts.length - 1;
+    }
+
+    /**
+     * Gets a line of the file without its line terminator, as a view over the
+     * content that does not copy it. The view stays valid after the content is released.
+     *
+     * @param index The zero-based index of the line.
+     * @return The characters of the line.
+     * @throws IndexOutOfBoundsException If the index is not a line of the file.
+     * @throws UncheckedIOException If the content has to be loaded and cannot be read.
+     */
+    public CharSequence getLine(int index) {
+        ensureLoaded();
+        if (index < 0 || index >= this.lineStarts.length - 1) {
+            throw new IndexOutOfBoundsException("line " + index + ", line count " + (this.lineStarts.length - 1));
+        }
+        return new LineView(this.content, this.lineStarts[index], lineEnd(index));
+    }
+
+    /**
+     * Indicates whether a line contains only whitespace, without copying it.
+     * It gives the same result as {@code getLine(index).toString().trim().isEmpty()}.
+     *
+     * @param index The zero-based index of the line.
+     * @return {@code true} if the line is empty or contains only whitespace.
+     */
+    boolean isBlankLine(int index) {
+        CharSequence line = getLine(index);
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the content of the file from disk if it is not loaded yet.
+     *
+     * @throws FileException If the file does not exist or is not valid.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public void load() throws FileException, IOException {
+        if (!isLoaded()) {
+            loadBytes();
+        }
+    }
+
+    /**
+     * Loads the content of the file if it is not loaded yet and computes the
+     * SHA-256 digest of the bytes read, so the file does not have to be read
+     * again to hash it.
+     *
+     * @return The digest of the content, or {@code null} if it was already loaded.
+     * @throws FileException If the file does not exist or is not valid.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    byte[] loadAndHash() throws FileException, IOException {
+        return isLoaded() ? null : ContentHasher.hash(loadBytes());
+    }
+
+    /**
+     * Reads and decodes the content of the file with the default charset.
+     *
+     * @return The bytes read.
+     * @throws FileException If the file does not exist or is not valid.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private byte[] loadBytes() throws FileException, IOException {
+        PhaseTimings.Measurement measurement = PhaseTimings.start(PhaseTimings.Phase.READ);
+        byte[] bytes = readContent();
+        setContent(new String(bytes, Charset.defaultCharset()), bytes.length);
+        PhaseTimings.stop(measurement, 1, getLineCount(), bytes.length);
+        return bytes;
     }
 
     /**
-     * Sets the lines of code contained in the file.
+     * Reads the raw content of the file from disk.
      *
-     * @param lines The lines of code.
+     * @return The bytes of the file.
+     * @throws FileException If the file does not exist or is not valid.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    byte[] readContent() throws FileException, IOException {
+        return FileManager.readBytes(this.filePath);
+    }
+
+    /**
+     * Gets the number of bytes read by the last load of the file. It is kept
+     * after the content is released.
+     *
+     * @return The number of bytes, or 0 if the content was never read.
+     */
+    public int getByteCount() {
+        return this.byteCount;
+    }
+
+    /**
+     * Indicates whether the content of the file is currently in memory.
+     *
+     * @return {@code true} if the lines are loaded, {@code false} otherwise.
+     */
+    public boolean isLoaded() {
+        return this.content != null;
+    }
+
+    /**
+     * Releases the content of the file so it can be garbage collected.
+     * The lines are read again from disk if they are requested later.
+     */
+    public void release() {
+        this.content = null;
+        this.lineStarts = null;
+    }
+
+    /**
+     * Sets the lines of code contained in the file. They are joined into a
+     * single content, so the strings of the list are not kept.
+     *
+     * @param lines The lines of code, without line terminators.
      */
     public void setLines(List<String> lines) {
-        this.lines = lines;
+        StringBuilder joined = new StringBuilder();
+        for (String line : lines) {
+            joined.append(line).append('\n');
+        }
+        setContent(joined.toString());
+    }
+
+    /**
+     * Sets the content read from the file, along with the number of bytes it was decoded from.
+     *
+     * @param content   The content of the file.
+     * @param byteCount The number of bytes read.
+     */
+    void setContent(String content, int byteCount) {
+        setContent(content);
+        this.byteCount = byteCount;
+    }
+
+    /**
+     * Sets the content of the file and finds where its lines start. Lines end at
+     * {@code \n}, {@code \r} or {@code \r\n}, and a last line without terminator
+     * counts as a line, as with {@link java.io.BufferedReader#readLine()}.
+     *
+     * @param content The content of the file.
+     */
+    void setContent(String content) {
+        int[] starts = new int[16];
+        int lineCount = 0;
+        int length = content.length();
+        int position = 0;
+        while (position < length) {
+            if (lineCount + 1 >= starts.length) {
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            }
+            starts[lineCount++] = position;
+            while (position < length && content.charAt(position) != '\n' && content.charAt(position) != '\r') {
+                position++;
+            }
+            if (position < length && content.charAt(position) == '\r') {
+                position++;
+                if (position < length && content.charAt(position) == '\n') {
+                    position++;
+                }
+            } else if (position < length) {
+                position++;
+            }
+        }
+        starts[lineCount] = length;
+        this.lineStarts = Arrays.copyOf(starts, lineCount + 1);
+        this.content = content;
+    }
+
+    /**
+     * Loads the content of the file, reporting a failure as an unchecked exception.
+     *
+     * @throws UncheckedIOException If the content cannot be read.
+     */
+    private void ensureLoaded() {
+        if (!isLoaded()) {
+            try {
+                load();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (FileException e) {
+                throw new UncheckedIOException(new IOException(e.getMessage(), e));
+            }
+        }
+    }
+
+    /**
+     * Gets the offset right after the last character of a line, before its terminator.
+     *
+     * @param index The zero-based index of the line.
+     * @return The end offset of the line in the content.
+     */
+    private int lineEnd(int index) {
+        int start = this.lineStarts[index];
+        int end = this.lineStarts[index + 1];
+        if (end > start && this.content.charAt(end - 1) == '\n') {
+            end--;
+            if (end > start && this.content.charAt(end - 1) == '\r') {
+                end--;
+            }
+        } else if (end > start && this.content.charAt(end - 1) == '\r') {
+            end--;
+        }
+        return end;
     }
 
     /**
@@ -192,4 +438,78 @@ public class JavaFile {
     public List<ClassInfo> getClassesInfo() {
         return this.classesInfo;
     }
-}
\ No newline at end of file
+
+    /**
+     * Read-only list of the lines of the file, created on access from the content.
+     */
+    private class LineList extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int index) {
+            return getLine(index).toString();
+        }
+
+        @Override
+        public int size() {
+            return getLineCount();
+        }
+    }
+
+    /**
+     * Read-only character view over a range of the content.
+     */
+    private static final class LineView implements CharSequence {
+        /**
+         * The content the view belongs to.
+         */
+        private final String content;
+
+        /**
+         * Offset of the first character of the view.
+         */
+        private final int start;
+
+        /**
+         * Offset right after the last character of the view.
+         */
+        private final int end;
+
+        /**
+         * Constructs a view over the characters in {@code [start, end)}.
+         *
+         * @param content The content the view belongs to.
+         * @param start The start offset, inclusive.
+         * @param end The end offset, exclusive.
+         */
+        LineView(String content, int start, int end) {
+            this.content = content;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return this.end - this.start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+            }
+            return this.content.charAt(this.start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length() || from > to) {
+                throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + length());
+            }
+            return new LineView(this.content, this.start + from, this.start + to);
+        }
+
+        @Override
+        public String toString() {
+            return this.content.substring(this.start, this.end);
+        }
+    }
+}
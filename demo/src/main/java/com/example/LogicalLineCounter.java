@@ -1,10 +1,5 @@
 package com.example;
 
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import com.example.constants.JavaRegexConstants;
 import com.example.validators.CommentValidator;
 
 /**
@@ -12,16 +7,10 @@ import com.example.validators.CommentValidator;
  * to count logical lines of code in a given Java source file.
  * A logical line is determined based on specific Java constructs such as class declarations,
  * method declarations, flow control structures, and try blocks.
+ * The patterns come from {@link PatternRegistry}.
+ * Instances are stateless and can be shared between threads.
  */
 public class LogicalLineCounter implements LineCounter {
-    /**
-     * Regular expression pattern used to match logical line constructs.
-     */
-    private Pattern pattern;
-    /**
-     * Matcher for evaluating patterns against each line.
-     */
-    private Matcher matcher;
 
     /**
      * Counts the number of logical lines of code in the provided Java file.
@@ -32,13 +21,13 @@ public class LogicalLineCounter implements LineCounter {
      */
     @Override
     public int count(JavaFile javaFile) {
-        List<String> lines = javaFile.getLines();
         int logicalLOC = 0;
         CommentValidator validator = new CommentValidator();
-        for (String line : lines) {
+        for (int i = 0; i < javaFile.getLineCount(); i++) {
+            CharSequence line = javaFile.getLine(i);
             if (validator.isComment(line)) {
                 continue;
-            } else if (isLogicalLine(line)) {
+            } else if (isLogicalLine(line.toString())) {
                 logicalLOC++;
             }
         }
@@ -54,37 +43,17 @@ public class LogicalLineCounter implements LineCounter {
      * @param line The line of code to analyze.
      * @return {@code true} if the line is a logical line, otherwise {@code false}.
      */
-    private boolean isLogicalLine(String line) {
+    boolean isLogicalLine(String line) {
         line = line.trim();
 
-        this.pattern = Pattern.compile(
-            JavaRegexConstants.CLASS_INSTANTIATION_REGEX);
-            
-        if (this.pattern.matcher(line).find()) {
+        if (PatternRegistry.CLASS_INSTANTIATION.find(line)) {
             return false;
         }
 
-        this.pattern = Pattern.compile(JavaRegexConstants.ELSE_IF_REGEX);
-        if (this.pattern.matcher(line).find()) {
+        if (PatternRegistry.ELSE_IF.find(line)) {
             return false;
         }
 
-        this.pattern = Pattern.compile(
-            JavaRegexConstants.STRUCT_DECLARATION_REGEX + 
-            "|" +
-            JavaRegexConstants.METHOD_DECLARATION_REGEX +
-            "|" +
-            JavaRegexConstants.FLOW_CONTROL_REGEX +
-            "|" +
-            JavaRegexConstants.TRY_DECLARATION_REGEX
-        );
-
-        this.matcher = this.pattern.matcher(line);
-
-        while (this.matcher.find()) {
-            return true;
-        }
-        
-        return false;
+        return PatternRegistry.LOGICAL_LINE.find(line);
     }
 }
\ No newline at end of file
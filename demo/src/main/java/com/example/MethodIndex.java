@@ -0,0 +1,230 @@
+package com.example;
+
+import java.util.Arrays;
+
+/**
+ * The {@code MethodIndex} class stores one record per method declaration: its name,
+ * enclosing class, file, start line, end line and physical line count.
+ *
+ * <p>Records are kept in parallel primitive arrays and names are interned in a
+ * {@link NameTable}, so each method costs a few {@code int}s instead of an object,
+ * and millions of methods fit in memory. Line numbers are one-based.</p>
+ */
+public class MethodIndex {
+    /**
+     * Value used as class id for methods declared outside every class,
+     * and as file id for methods whose file is not known.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Initial capacity of the record arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The table holding the method and class names.
+     */
+    private final NameTable names = new NameTable();
+
+    /**
+     * The name id of each method.
+     */
+    private int[] methodNames = new int[INITIAL_CAPACITY];
+
+    /**
+     * The name id of the class enclosing each method, or {@link #NONE}.
+     */
+    private int[] classNames = new int[INITIAL_CAPACITY];
+
+    /**
+     * The id of the file declaring each method, or {@link #NONE}.
+     */
+    private int[] fileIds = new int[INITIAL_CAPACITY];
+
+    /**
+     * The line of each method declaration.
+     */
+    private int[] startLines = new int[INITIAL_CAPACITY];
+
+    /**
+     * The line where each method body ends.
+     */
+    private int[] endLines = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of physical lines of each method, from its declaration to the end of its body.
+     */
+    private int[] physicalLines = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of records in the index.
+     */
+    private int size = 0;
+
+    /**
+     * Adds a method record.
+     *
+     * @param methodName    The name of the method.
+     * @param className     The name of the enclosing class, or {@code null} if there is none.
+     * @param fileId        The id of the file declaring the method, or {@link #NONE}.
+     * @param startLine     The line of the declaration.
+     * @param endLine       The line where the body ends.
+     * @param physicalLines The number of physical lines of the method.
+     * @return The index of the new record.
+     */
+    public int add(String methodName, String className, int fileId, int startLine, int endLine, int physicalLines) {
+        if (this.size == this.methodNames.length) {
+            grow();
+        }
+        int index = this.size;
+        this.methodNames[index] = this.names.intern(methodName);
+        this.classNames[index] = className == null ? NONE : this.names.intern(className);
+        this.fileIds[index] = fileId;
+        this.startLines[index] = startLine;
+        this.endLines[index] = endLine;
+        this.physicalLines[index] = physicalLines;
+        this.size++;
+        return index;
+    }
+
+    /**
+     * Sets where the body of a method ends and how many physical lines it has.
+     *
+     * @param index         The index of the record.
+     * @param endLine       The line where the body ends.
+     * @param physicalLines The number of physical lines of the method.
+     */
+    public void setEnd(int index, int endLine, int physicalLines) {
+        this.endLines[index] = endLine;
+        this.physicalLines[index] = physicalLines;
+    }
+
+    /**
+     * Adds every record of another index, assigning them the specified file id.
+     *
+     * @param other  The index whose records are added.
+     * @param fileId The id of the file the records belong to.
+     */
+    public void addAll(MethodIndex other, int fileId) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.getMethodName(i), other.getClassName(i), fileId,
+                other.startLines[i], other.endLines[i], other.physicalLines[i]);
+        }
+    }
+
+    /**
+     * Gets the number of records in the index.
+     *
+     * @return The number of methods.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets the name of a method.
+     *
+     * @param index The index of the record.
+     * @return The method name.
+     */
+    public String getMethodName(int index) {
+        return this.names.get(this.methodNames[index]);
+    }
+
+    /**
+     * Gets the name of the class enclosing a method.
+     *
+     * @param index The index of the record.
+     * @return The class name, or {@code null} if the method is outside every class.
+     */
+    public String getClassName(int index) {
+        return this.classNames[index] == NONE ? null : this.names.get(this.classNames[index]);
+    }
+
+    /**
+     * Gets the id of the file declaring a method.
+     *
+     * @param index The index of the record.
+     * @return The file id, or {@link #NONE}.
+     */
+    public int getFileId(int index) {
+        return this.fileIds[index];
+    }
+
+    /**
+     * Gets the line of a method declaration.
+     *
+     * @param index The index of the record.
+     * @return The start line.
+     */
+    public int getStartLine(int index) {
+        return this.startLines[index];
+    }
+
+    /**
+     * Gets the line where the body of a method ends.
+     *
+     * @param index The index of the record.
+     * @return The end line.
+     */
+    public int getEndLine(int index) {
+        return this.endLines[index];
+    }
+
+    /**
+     * Gets the number of physical lines of a method.
+     *
+     * @param index The index of the record.
+     * @return The physical line count.
+     */
+    public int getPhysicalLines(int index) {
+        return this.physicalLines[index];
+    }
+
+    /**
+     * Counts how many methods fall in each size bucket. Bucket {@code i} holds the
+     * methods with more physical lines than bucket {@code i - 1} allows and at most
+     * {@code upperBounds[i]}; the last bucket holds every larger method.
+     *
+     * @param upperBounds The inclusive upper bound of each bucket, in increasing order.
+     * @return The number of methods per bucket; one more entry than {@code upperBounds}.
+     */
+    public int[] getSizeDistribution(int... upperBounds) {
+        int[] counts = new int[upperBounds.length + 1];
+        for (int i = 0; i < this.size; i++) {
+            int bucket = Arrays.binarySearch(upperBounds, this.physicalLines[i]);
+            counts[bucket >= 0 ? bucket : -bucket - 1]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Gets the method size at a percentile, using the nearest-rank method.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The physical line count at that percentile, or 0 if the index is empty.
+     */
+    public int getPhysicalLinesPercentile(double percentile) {
+        if (this.size == 0) {
+            return 0;
+        }
+        int[] sorted = Arrays.copyOf(this.physicalLines, this.size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * this.size);
+        return sorted[Math.max(0, Math.min(this.size - 1, rank - 1))];
+    }
+
+    /**
+     * Doubles the capacity of the record arrays.
+     */
+    private void grow() {
+        int capacity = this.methodNames.length * 2;
+        this.methodNames = Arrays.copyOf(this.methodNames, capacity);
+        this.classNames = Arrays.copyOf(this.classNames, capacity);
+        this.fileIds = Arrays.copyOf(this.fileIds, capacity);
+        this.startLines = Arrays.copyOf(this.startLines, capacity);
+        this.endLines = Arrays.copyOf(this.endLines, capacity);
+        this.physicalLines = Arrays.copyOf(this.physicalLines, capacity);
+    }
+}
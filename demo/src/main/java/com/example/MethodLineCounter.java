@@ -1,25 +1,14 @@
 package com.example;
 
-import java.util.List;
-import java.util.regex.Pattern;
-
-import com.example.constants.JavaRegexConstants;
 import com.example.validators.CommentValidator;
 
-import java.util.regex.Matcher;
 /**
  * The {@code ClassCounter} class implements the {@code LineCounter} interface
  * to count the number of Java methods declarations in a given source file.
+ * The patterns come from {@link PatternRegistry}.
+ * Instances are stateless and can be shared between threads.
  */
 public class MethodLineCounter implements LineCounter {
-    /**
-     * Regular expression pattern used to match method declaration.
-     */
-    private Pattern pattern;
-    /**
-     * Matcher for evaluating patterns against each line.
-     */
-    private Matcher matcher;
 
     /**
      * Counts the number of methods declarations in the provided Java file.
@@ -29,28 +18,35 @@ public class MethodLineCounter implements LineCounter {
      */
     @Override
     public int count(JavaFile javaFile) {
-        List<String> lines = javaFile.getLines();
         CommentValidator commentValidator = new CommentValidator();
-        int numberOfMethods = (int) lines.stream()
-                .filter(line -> !commentValidator.isComment(line))
-                .filter(line -> isMethod(line))
-                .count();
+        int numberOfMethods = 0;
+        for (int i = 0; i < javaFile.getLineCount(); i++) {
+            CharSequence line = javaFile.getLine(i);
+            if (!commentValidator.isComment(line) && isMethod(line.toString())) {
+                numberOfMethods++;
+            }
+        }
         return numberOfMethods;
     }
 
+    /**
+     * Extracts the method name from a method declaration line.
+     *
+     * @param line The line containing the method declaration.
+     * @return The name of the method, or "UnknownMethod" if not found.
+     */
+    String extractMethodName(String line) {
+        String methodName = PatternRegistry.METHOD_NAME.findGroup(line, 1);
+        return methodName != null ? methodName : "UnknownMethod";
+    }
+
     /**
      * Determines whether a given line of code is a method declaration.
      * 
      * @param line The line of code to analyze.
      * @return {@code true} if the line is a logical line, otherwise {@code false}.
      */
-    private boolean isMethod(String line) {
-        line = line.trim();
-        this.pattern = Pattern.compile(JavaRegexConstants.METHOD_DECLARATION_REGEX);
-        this.matcher = this.pattern.matcher(line);
-        while (this.matcher.find()) {
-            return true;
-        }
-        return false;
+    boolean isMethod(String line) {
+        return PatternRegistry.METHOD_DECLARATION.find(line.trim());
     }
 }
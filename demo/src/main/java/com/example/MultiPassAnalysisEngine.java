@@ -0,0 +1,67 @@
+package com.example;
+
+import java.util.List;
+
+import com.example.exceptions.FileFormatException;
+import com.example.validators.FileFormatValidator;
+
+/**
+ * The {@code MultiPassAnalysisEngine} class analyzes a Java file by running the
+ * validator, the class analyzer and each line counter one after another, each of
+ * them scanning the whole file.
+ *
+ * <p>It is the reference implementation used to check {@link FusedAnalysisEngine}.
+ * Since each step has its own scan, {@link PhaseTimings} measures them as separate phases.</p>
+ */
+public class MultiPassAnalysisEngine implements AnalysisEngine {
+    /**
+     * Analyzer used to find the classes declared in the file.
+     */
+    private final ClassAnalyzer classAnalyzer = new ClassAnalyzer();
+
+    /**
+     * Counter used to count the physical lines of the file.
+     */
+    private final PhysicalLineCounter physicalLineCounter = new PhysicalLineCounter();
+
+    /**
+     * Counter used to count the logical lines of the file.
+     */
+    private final LogicalLineCounter logicalLineCounter = new LogicalLineCounter();
+
+    /**
+     * Counter used to count the method declarations of the file.
+     */
+    private final MethodLineCounter methodLineCounter = new MethodLineCounter();
+
+    /**
+     * Analyzes the provided Java file with one scan per validator, analyzer and counter.
+     *
+     * @param javaFile The Java file to analyze.
+     * @return The results of the analysis.
+     */
+    @Override
+    public FileAnalysis analyze(JavaFile javaFile) {
+        int lineCount = javaFile.getLineCount();
+        PhaseTimings.Measurement measurement = PhaseTimings.start(PhaseTimings.Phase.VALIDATE);
+        try {
+            FileFormatValidator.isValidFileFormat(javaFile);
+        } catch (FileFormatException e) {
+            return FileAnalysis.invalid(e.getMessage());
+        } finally {
+            PhaseTimings.stop(measurement, 1, lineCount, 0);
+        }
+
+        measurement = PhaseTimings.start(PhaseTimings.Phase.CLASS_ANALYSIS);
+        MethodIndex methodIndex = new MethodIndex();
+        List<ClassInfo> classesInfo = this.classAnalyzer.analyze(javaFile, methodIndex);
+        PhaseTimings.stop(measurement, 1, lineCount, 0);
+
+        measurement = PhaseTimings.start(PhaseTimings.Phase.COUNT);
+        int physicalLines = this.physicalLineCounter.count(javaFile);
+        int logicalLines = this.logicalLineCounter.count(javaFile);
+        int methodCount = this.methodLineCounter.count(javaFile);
+        PhaseTimings.stop(measurement, 1, lineCount, 0);
+        return new FileAnalysis(classesInfo, physicalLines, logicalLines, methodCount, methodIndex);
+    }
+}
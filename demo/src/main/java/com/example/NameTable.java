@@ -0,0 +1,58 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code NameTable} class interns names, such as class and method names,
+ * and identifies each distinct name with a compact {@code int} id. Repeated names
+ * are stored once, and records can keep the id instead of a reference.
+ */
+public class NameTable {
+    /**
+     * The names, indexed by id.
+     */
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * The id of each name.
+     */
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * Gets the id of a name, adding it to the table if it is not there yet.
+     *
+     * @param name The name to intern.
+     * @return The id of the name.
+     */
+    public int intern(String name) {
+        Integer id = this.ids.get(name);
+        if (id == null) {
+            id = this.names.size();
+            this.names.add(name);
+            this.ids.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Gets the name with the specified id.
+     *
+     * @param id The id of the name.
+     * @return The name.
+     */
+    public String get(int id) {
+        return this.names.get(id);
+    }
+
+    /**
+     * Gets the number of distinct names in the table.
+     *
+     * @return The number of names.
+     */
+    public int size() {
+        return this.names.size();
+    }
+}
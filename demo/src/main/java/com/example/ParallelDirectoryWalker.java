@@ -0,0 +1,103 @@
+package com.example;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+/**
+ * The {@code ParallelDirectoryWalker} class walks a directory tree using the
+ * fork/join framework. Every subdirectory is forked as its own task, so idle
+ * workers steal pending subtrees and the walk scales with the available cores.
+ *
+ * <p>Each Java file is handed to a mapper as soon as it is discovered, on the
+ * worker thread that found it. The mapped values are returned in the same
+ * deterministic order used by the sequential walk of {@link DirectoryManager}:
+ * entries sorted by name, directories expanded in place.</p>
+ *
+ * @param <T> The type produced by the mapper for each discovered Java file.
+ */
+public class ParallelDirectoryWalker<T> extends RecursiveTask<List<T>> {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The directory walked by this task.
+     */
+    private final File directory;
+
+    /**
+     * Function applied to each discovered Java file. A {@code null} result
+     * means the file must be skipped.
+     */
+    private final transient Function<File, T> mapper;
+
+    /**
+     * The ignore rules that apply to the entries of the parent directory.
+     */
+    private final transient IgnoreRules ignoreRules;
+
+    /**
+     * Constructs a new walker for the specified directory that skips nothing.
+     *
+     * @param directory The directory to walk. Must not be null.
+     * @param mapper The function applied to each Java file found.
+     */
+    public ParallelDirectoryWalker(File directory, Function<File, T> mapper) {
+        this(directory, mapper, IgnoreRules.none());
+    }
+
+    /**
+     * Constructs a new walker for the specified directory. Ignored files are skipped
+     * and ignored subdirectories are pruned without being listed.
+     *
+     * @param directory The directory to walk. Must not be null.
+     * @param mapper The function applied to each Java file found.
+     * @param ignoreRules The ignore rules that apply to the directory.
+     */
+    public ParallelDirectoryWalker(File directory, Function<File, T> mapper, IgnoreRules ignoreRules) {
+        this.directory = directory;
+        this.mapper = mapper;
+        this.ignoreRules = ignoreRules;
+    }
+
+    /**
+     * Lists the directory, forks one subtask per subdirectory and maps the
+     * Java files found directly inside it while the subtasks run.
+     *
+     * @return The mapped values of every Java file under the directory,
+     *         in deterministic walk order.
+     */
+    @Override
+    protected List<T> compute() {
+        IgnoreRules directoryRules = this.ignoreRules.forDirectory(this.directory);
+        File[] allFiles = DirectoryManager.listSortedFiles(this.directory, directoryRules);
+        List<ParallelDirectoryWalker<T>> subtasks = new ArrayList<>(allFiles.length);
+        for (File file : allFiles) {
+            ParallelDirectoryWalker<T> subtask = null;
+            if (file.isDirectory()) {
+                subtask = new ParallelDirectoryWalker<>(file, this.mapper, directoryRules);
+                subtask.fork();
+            }
+            subtasks.add(subtask);
+        }
+
+        List<T> mappedFiles = new ArrayList<>(allFiles.length);
+        for (int i = 0; i < allFiles.length; i++) {
+            boolean isJavaFile = subtasks.get(i) == null
+                && allFiles[i].isFile()
+                && JavaFile.isValidFileType(allFiles[i].getName());
+            mappedFiles.add(isJavaFile ? this.mapper.apply(allFiles[i]) : null);
+        }
+
+        List<T> results = new ArrayList<>();
+        for (int i = 0; i < allFiles.length; i++) {
+            if (subtasks.get(i) != null) {
+                results.addAll(subtasks.get(i).join());
+            } else if (mappedFiles.get(i) != null) {
+                results.add(mappedFiles.get(i));
+            }
+        }
+        return results;
+    }
+}
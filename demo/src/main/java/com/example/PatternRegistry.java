@@ -0,0 +1,252 @@
+package com.example;
+
+import java.util.List;
+
+import com.example.constants.JavaRegexConstants;
+
+/**
+ * The {@code PatternRegistry} class holds every regular expression used to detect
+ * Java constructs, compiled once from the definitions in {@link JavaRegexConstants}.
+ *
+ * <p>Each pattern has a prefilter with the literals its expression cannot match
+ * without, such as {@code class} and <code>{</code> for a class declaration or an
+ * access modifier and {@code (} for a method declaration. Most lines of a file
+ * declare nothing, so most lines are answered by an {@link String#indexOf(String)}
+ * instead of the regular expression engine.</p>
+ *
+ * <p>The patterns whose backtracking grows faster than the length of the line
+ * (method, logical line, class instantiation and block declaration) are matched
+ * by the linear-time scanners of {@link DeclarationScanner}, which give the same
+ * results. {@link #setLinearMatching(boolean)} switches back to the regular
+ * expressions to compare them.</p>
+ *
+ * <p>The statistics of every pattern can be printed with {@link #printStatistics()}.
+ * Measuring the time of each regular expression call has a cost of its own, so
+ * it is only done after {@link #setTimingEnabled(boolean)}; the analyzer enables it
+ * when the {@value #STATISTICS_PROPERTY} system property is {@code true}.</p>
+ */
+public final class PatternRegistry {
+    /**
+     * System property that enables the pattern statistics in the application.
+     */
+    public static final String STATISTICS_PROPERTY = "contador.patternStats";
+
+    /**
+     * Any class declaration: standard, generic, with inheritance or with interfaces.
+     */
+    public static final PrefilteredPattern CLASS_DECLARATION = new PrefilteredPattern("classDeclaration",
+        JavaRegexConstants.CLASS_DECLARATION_REGEX,
+        line -> line.indexOf('{') >= 0 && line.contains("class"));
+
+    /**
+     * The name of a declared class, in group 1.
+     */
+    public static final PrefilteredPattern CLASS_NAME = new PrefilteredPattern("className",
+        "\\bclass\\s+(\\w+)",
+        line -> line.contains("class"));
+
+    /**
+     * A method declaration with an access modifier.
+     */
+    public static final PrefilteredPattern METHOD_DECLARATION = new PrefilteredPattern("methodDeclaration",
+        JavaRegexConstants.METHOD_DECLARATION_REGEX,
+        line -> line.indexOf('(') >= 0 && containsAccessModifier(line),
+        DeclarationScanner::isMethodDeclaration, null);
+
+    /**
+     * The name of a declared method, in group 1.
+     */
+    public static final PrefilteredPattern METHOD_NAME = new PrefilteredPattern("methodName",
+        JavaRegexConstants.METHOD_NAME_REGEX,
+        line -> line.indexOf('(') >= 0);
+
+    /**
+     * A class instantiation with the {@code new} keyword.
+     */
+    public static final PrefilteredPattern CLASS_INSTANTIATION = new PrefilteredPattern("classInstantiation",
+        JavaRegexConstants.CLASS_INSTANTIATION_REGEX,
+        line -> line.indexOf('(') >= 0 && line.contains("new"),
+        DeclarationScanner::isClassInstantiation, null);
+
+    /**
+     * An {@code else if} branch.
+     */
+    public static final PrefilteredPattern ELSE_IF = new PrefilteredPattern("elseIf",
+        JavaRegexConstants.ELSE_IF_REGEX,
+        line -> line.contains("else"));
+
+    /**
+     * Any construct counted as a logical line: a type, method, flow control or try declaration.
+     */
+    public static final PrefilteredPattern LOGICAL_LINE = new PrefilteredPattern("logicalLine",
+        JavaRegexConstants.STRUCT_DECLARATION_REGEX +
+        "|" +
+        JavaRegexConstants.METHOD_DECLARATION_REGEX +
+        "|" +
+        JavaRegexConstants.FLOW_CONTROL_REGEX +
+        "|" +
+        JavaRegexConstants.TRY_DECLARATION_REGEX,
+        line -> line.indexOf('(') >= 0 || line.contains("class") || line.contains("enum")
+            || line.contains("interface") || line.contains("try"),
+        DeclarationScanner::isLogicalLine, null);
+
+    /**
+     * A string or character literal.
+     */
+    public static final PrefilteredPattern QUOTED_STRING = new PrefilteredPattern("quotedString",
+        JavaRegexConstants.QUOTED_STRING_REGEX,
+        line -> line.indexOf('"') >= 0 || line.indexOf('\'') >= 0);
+
+    /**
+     * A flow control statement followed by a semicolon, such as {@code while (running);}.
+     */
+    public static final PrefilteredPattern CONTROL_STRUCTURE_WITH_SEMICOLON = new PrefilteredPattern(
+        "controlStructureWithSemicolon",
+        JavaRegexConstants.FLOW_CONTROL_REGEX + ";",
+        line -> line.indexOf(';') >= 0 && line.indexOf('(') >= 0);
+
+    /**
+     * A declaration that may open a block.
+     */
+    public static final PrefilteredPattern VALID_DECLARATION = new PrefilteredPattern("validDeclaration",
+        JavaRegexConstants.VALID_DECLARATION,
+        line -> line.indexOf('{') >= 0,
+        null, DeclarationScanner::isValidDeclaration);
+
+    /**
+     * A wildcard import statement.
+     */
+    public static final PrefilteredPattern WILDCARD_IMPORT = new PrefilteredPattern("wildcardImport",
+        JavaRegexConstants.WILDCARD_IMPORT_REGEX,
+        line -> line.contains(".*") && line.contains("import"));
+
+    /**
+     * An annotation alone on its line.
+     */
+    public static final PrefilteredPattern ANNOTATION = new PrefilteredPattern("annotation",
+        JavaRegexConstants.ANNOTATION_REGEX,
+        line -> line.indexOf('@') >= 0);
+
+    /**
+     * Every pattern of the registry, in report order.
+     */
+    private static final List<PrefilteredPattern> PATTERNS = List.of(
+        CLASS_DECLARATION, CLASS_NAME, METHOD_DECLARATION, METHOD_NAME, CLASS_INSTANTIATION, ELSE_IF,
+        LOGICAL_LINE, QUOTED_STRING, CONTROL_STRUCTURE_WITH_SEMICOLON, VALID_DECLARATION, WILDCARD_IMPORT,
+        ANNOTATION);
+
+    /**
+     * Format of a line of the statistics report.
+     */
+    private static final String STATISTICS_FORMAT = "%-30s %12d %12d %7.1f%% %12d %10.0f %12.3f";
+
+    /**
+     * Indicates whether the regular expression calls are timed.
+     */
+    private static volatile boolean timingEnabled = false;
+
+    /**
+     * Indicates whether the patterns that have a linear-time scanner use it.
+     */
+    private static volatile boolean linearMatching = true;
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private PatternRegistry() {
+    }
+
+    /**
+     * Gets every pattern of the registry.
+     *
+     * @return The patterns, in report order.
+     */
+    public static List<PrefilteredPattern> getPatterns() {
+        return PATTERNS;
+    }
+
+    /**
+     * Enables or disables the timing of the regular expression calls.
+     *
+     * @param enabled {@code true} to measure the time of every call.
+     */
+    public static void setTimingEnabled(boolean enabled) {
+        timingEnabled = enabled;
+    }
+
+    /**
+     * Indicates whether the regular expression calls are timed.
+     *
+     * @return {@code true} if timing is enabled.
+     */
+    public static boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+
+    /**
+     * Enables or disables the linear-time scanners. They are enabled by default;
+     * disabling them runs the regular expressions instead, with the same results.
+     *
+     * @param enabled {@code true} to use the scanners.
+     */
+    public static void setLinearMatching(boolean enabled) {
+        linearMatching = enabled;
+    }
+
+    /**
+     * Indicates whether the patterns that have a linear-time scanner use it.
+     *
+     * @return {@code true} if the scanners are used.
+     */
+    public static boolean isLinearMatching() {
+        return linearMatching;
+    }
+
+    /**
+     * Clears the statistics of every pattern.
+     */
+    public static void resetStatistics() {
+        for (PrefilteredPattern pattern : PATTERNS) {
+            pattern.resetStatistics();
+        }
+    }
+
+    /**
+     * Builds the statistics report: for each pattern, the lines checked, the lines
+     * rejected by the prefilter, the lines matched with the regular expression, the
+     * average time of a call and the estimated time saved by the prefilter.
+     *
+     * @return The report, one line per pattern after a header line.
+     */
+    public static String buildStatistics() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-30s %12s %12s %8s %12s %10s %12s%n",
+            "pattern", "lines", "rejected", "rejected", "regex", "avg ns", "saved ms"));
+        for (PrefilteredPattern pattern : PATTERNS) {
+            long lines = pattern.getLineCount();
+            long rejected = pattern.getRejectedCount();
+            report.append(String.format(STATISTICS_FORMAT, pattern.getName(), lines, rejected,
+                lines == 0 ? 0.0 : 100.0 * rejected / lines, pattern.getRegexCount(),
+                pattern.getAverageRegexNanos(), pattern.getEstimatedSavedNanos() / 1_000_000));
+            report.append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    /**
+     * Prints the statistics report.
+     */
+    public static void printStatistics() {
+        System.out.print(buildStatistics());
+    }
+
+    /**
+     * Checks whether a line contains one of the access modifiers a method declaration requires.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the line contains {@code public}, {@code private} or {@code protected}.
+     */
+    private static boolean containsAccessModifier(String line) {
+        return line.contains("public") || line.contains("private") || line.contains("protected");
+    }
+}
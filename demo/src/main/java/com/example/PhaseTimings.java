@@ -0,0 +1,607 @@
+package com.example;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code PhaseTimings} class measures where the time of a run goes: the walk
+ * of the directory, the reading of the files, their analysis and the report.
+ *
+ * <p>Each phase accumulates its wall time, from its first start to its last end
+ * on any thread, the time spent in it added over every thread, the CPU time of
+ * those threads, and the files, lines and bytes it processed. The slowest files
+ * are kept too. When {@link MultiPassAnalysisEngine} is used, the analysis is
+ * also split into validation, class analysis and line counting;
+ * {@link FusedAnalysisEngine} does all three in the same pass over each line.</p>
+ *
+ * <p>Like the statistics of {@link PatternRegistry}, the timings are global and
+ * disabled by default. While they are disabled, {@link #start(Phase)} returns
+ * {@code null} after reading a single volatile flag and {@link #stop} returns at
+ * once, so the instrumented code costs next to nothing. The analyzer enables
+ * them when the {@value #SUMMARY_PROPERTY} system property is {@code true}, and
+ * prints the summary after each run, or when the {@value #RECORD_PROPERTY} system
+ * property names a file, to which it appends one record per run.</p>
+ */
+public final class PhaseTimings {
+    /**
+     * The phases of a run, in report order.
+     */
+    public enum Phase {
+        /** The walk of the directory tree. */
+        WALK,
+        /** The reading of the content of each file. */
+        READ,
+        /** The analysis of each file by the engine. */
+        ANALYZE,
+        /** The format validation, with the multi-pass engine. */
+        VALIDATE,
+        /** The class analysis, with the multi-pass engine. */
+        CLASS_ANALYSIS,
+        /** The line counters, with the multi-pass engine. */
+        COUNT,
+        /** The printing of the results. */
+        REPORT
+    }
+
+    /**
+     * System property that prints the summary of the timings after each run.
+     */
+    public static final String SUMMARY_PROPERTY = "contador.timings";
+
+    /**
+     * System property naming the file that receives the record of each run.
+     */
+    public static final String RECORD_PROPERTY = "contador.timings.record";
+
+    /**
+     * Default number of slowest files kept.
+     */
+    public static final int DEFAULT_SLOWEST_FILE_COUNT = 10;
+
+    /**
+     * Format of a line of the summary.
+     */
+    private static final String SUMMARY_FORMAT = "%-15s %10d %10.1f %10.1f %10.1f %12.0f %14.0f %10.2f";
+
+    /**
+     * Source of the CPU time of the current thread.
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Indicates whether the CPU time of the current thread can be measured.
+     */
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+
+    /**
+     * The statistics of each phase, indexed by ordinal.
+     */
+    private static final PhaseStatistics[] STATISTICS = createStatistics();
+
+    /**
+     * The slowest files, the fastest of them first.
+     */
+    private static final PriorityQueue<FileTiming> SLOWEST_FILES =
+        new PriorityQueue<>(Comparator.comparingLong(FileTiming::getNanos));
+
+    /**
+     * Indicates whether the timings are recorded.
+     */
+    private static volatile boolean enabled = false;
+
+    /**
+     * Number of slowest files kept.
+     */
+    private static volatile int slowestFileCount = DEFAULT_SLOWEST_FILE_COUNT;
+
+    /**
+     * The value of {@link System#nanoTime()} when the timings were last reset.
+     */
+    private static volatile long runStart = System.nanoTime();
+
+    /**
+     * Prevents instantiation of this utility class.
+     */
+    private PhaseTimings() {
+    }
+
+    /**
+     * Enables or disables the timings.
+     *
+     * @param enable {@code true} to record the timings.
+     */
+    public static void setEnabled(boolean enable) {
+        enabled = enable;
+    }
+
+    /**
+     * Indicates whether the timings are recorded.
+     *
+     * @return {@code true} if the timings are enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets how many of the slowest files are kept.
+     *
+     * @param count The number of files.
+     */
+    public static void setSlowestFileCount(int count) {
+        slowestFileCount = count;
+    }
+
+    /**
+     * Clears every timing and starts measuring the wall time of a new run.
+     */
+    public static void reset() {
+        for (PhaseStatistics statistics : STATISTICS) {
+            statistics.reset();
+        }
+        synchronized (SLOWEST_FILES) {
+            SLOWEST_FILES.clear();
+        }
+        runStart = System.nanoTime();
+    }
+
+    /**
+     * Starts measuring a phase on the current thread.
+     *
+     * @param phase The phase.
+     * @return The measurement to pass to {@link #stop}, or {@code null} if the timings are disabled.
+     */
+    public static Measurement start(Phase phase) {
+        if (!enabled) {
+            return null;
+        }
+        return new Measurement(phase, System.nanoTime(), currentThreadCpuTime());
+    }
+
+    /**
+     * Ends a measurement and adds it to its phase.
+     *
+     * @param measurement The measurement returned by {@link #start(Phase)}, or {@code null}.
+     * @param files       The number of files processed.
+     * @param lines       The number of lines processed.
+     * @param bytes       The number of bytes read.
+     */
+    public static void stop(Measurement measurement, long files, long lines, long bytes) {
+        if (measurement == null) {
+            return;
+        }
+        long end = System.nanoTime();
+        long cpuNanos = currentThreadCpuTime() - measurement.startCpuNanos;
+        STATISTICS[measurement.phase.ordinal()].add(measurement.startNanos, end, cpuNanos, files, lines, bytes);
+    }
+
+    /**
+     * Records the time spent on a single file, keeping it if it is one of the slowest.
+     *
+     * @param path  The path of the file.
+     * @param nanos The time spent on the file, in nanoseconds.
+     * @param lines The number of lines of the file.
+     */
+    public static void recordFile(String path, long nanos, int lines) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (SLOWEST_FILES) {
+            if (SLOWEST_FILES.size() < slowestFileCount) {
+                SLOWEST_FILES.add(new FileTiming(path, nanos, lines));
+            } else if (!SLOWEST_FILES.isEmpty() && SLOWEST_FILES.peek().getNanos() < nanos) {
+                SLOWEST_FILES.poll();
+                SLOWEST_FILES.add(new FileTiming(path, nanos, lines));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of files processed by a phase.
+     *
+     * @param phase The phase.
+     * @return The number of files.
+     */
+    public static long getFileCount(Phase phase) {
+        return STATISTICS[phase.ordinal()].files.sum();
+    }
+
+    /**
+     * Gets the number of lines processed by a phase.
+     *
+     * @param phase The phase.
+     * @return The number of lines.
+     */
+    public static long getLineCount(Phase phase) {
+        return STATISTICS[phase.ordinal()].lines.sum();
+    }
+
+    /**
+     * Gets the number of bytes read by a phase.
+     *
+     * @param phase The phase.
+     * @return The number of bytes.
+     */
+    public static long getByteCount(Phase phase) {
+        return STATISTICS[phase.ordinal()].bytes.sum();
+    }
+
+    /**
+     * Gets the wall time of a phase, from its first start to its last end.
+     *
+     * @param phase The phase.
+     * @return The wall time in nanoseconds, or 0 if the phase was not measured.
+     */
+    public static long getWallNanos(Phase phase) {
+        return STATISTICS[phase.ordinal()].getWallNanos();
+    }
+
+    /**
+     * Gets the time spent in a phase, added over every thread.
+     *
+     * @param phase The phase.
+     * @return The busy time in nanoseconds.
+     */
+    public static long getBusyNanos(Phase phase) {
+        return STATISTICS[phase.ordinal()].nanos.sum();
+    }
+
+    /**
+     * Gets the slowest files, the slowest first.
+     *
+     * @return The timings of the slowest files.
+     */
+    public static List<FileTiming> getSlowestFiles() {
+        List<FileTiming> slowest;
+        synchronized (SLOWEST_FILES) {
+            slowest = new ArrayList<>(SLOWEST_FILES);
+        }
+        slowest.sort(Comparator.comparingLong(FileTiming::getNanos).reversed());
+        return slowest;
+    }
+
+    /**
+     * Builds the summary: for each measured phase, the files, the wall, busy and
+     * CPU time, the files and lines per second of wall time and the megabytes read,
+     * followed by the slowest files.
+     *
+     * @return The summary, one line per phase and per slow file.
+     */
+    public static String buildSummary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "Run wall time: %.1f ms%n",
+            (System.nanoTime() - runStart) / 1e6));
+        summary.append(String.format(Locale.ROOT, "%-15s %10s %10s %10s %10s %12s %14s %10s%n",
+            "phase", "files", "wall ms", "busy ms", "cpu ms", "files/s", "lines/s", "MB read"));
+        for (Phase phase : Phase.values()) {
+            PhaseStatistics statistics = STATISTICS[phase.ordinal()];
+            if (statistics.count.sum() == 0) {
+                continue;
+            }
+            summary.append(String.format(Locale.ROOT, SUMMARY_FORMAT, phase.name(), statistics.files.sum(),
+                statistics.getWallNanos() / 1e6, statistics.nanos.sum() / 1e6, statistics.cpuNanos.sum() / 1e6,
+                statistics.perSecond(statistics.files.sum()), statistics.perSecond(statistics.lines.sum()),
+                statistics.bytes.sum() / (1024.0 * 1024.0)));
+            summary.append(System.lineSeparator());
+        }
+        List<FileTiming> slowest = getSlowestFiles();
+        if (!slowest.isEmpty()) {
+            summary.append("Slowest files:").append(System.lineSeparator());
+            for (FileTiming fileTiming : slowest) {
+                summary.append(String.format(Locale.ROOT, "%10.2f ms %8d lines  %s%n",
+                    fileTiming.getNanos() / 1e6, fileTiming.getLines(), fileTiming.getPath()));
+            }
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Builds a machine-readable record of the timings: a single line of JSON with
+     * the wall time of the run, the counters of every measured phase and the slowest files.
+     *
+     * @return The record, without line terminator.
+     */
+    public static String buildRecord() {
+        StringBuilder record = new StringBuilder();
+        record.append("{\"wallNanos\":").append(System.nanoTime() - runStart).append(",\"phases\":{");
+        boolean first = true;
+        for (Phase phase : Phase.values()) {
+            PhaseStatistics statistics = STATISTICS[phase.ordinal()];
+            if (statistics.count.sum() == 0) {
+                continue;
+            }
+            if (!first) {
+                record.append(',');
+            }
+            first = false;
+            record.append('"').append(phase.name()).append("\":{")
+                .append("\"files\":").append(statistics.files.sum())
+                .append(",\"lines\":").append(statistics.lines.sum())
+                .append(",\"bytes\":").append(statistics.bytes.sum())
+                .append(",\"wallNanos\":").append(statistics.getWallNanos())
+                .append(",\"busyNanos\":").append(statistics.nanos.sum())
+                .append(",\"cpuNanos\":").append(statistics.cpuNanos.sum())
+                .append('}');
+        }
+        record.append("},\"slowestFiles\":[");
+        first = true;
+        for (FileTiming fileTiming : getSlowestFiles()) {
+            if (!first) {
+                record.append(',');
+            }
+            first = false;
+            record.append("{\"path\":");
+            appendJsonString(record, fileTiming.getPath());
+            record.append(",\"nanos\":").append(fileTiming.getNanos())
+                .append(",\"lines\":").append(fileTiming.getLines()).append('}');
+        }
+        return record.append("]}").toString();
+    }
+
+    /**
+     * Prints the summary.
+     */
+    public static void printSummary() {
+        System.out.print(buildSummary());
+    }
+
+    /**
+     * Appends the record of the timings to a file, followed by a line terminator.
+     * The file is created if it does not exist.
+     *
+     * @param recordFile The file that receives the record.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void appendRecord(Path recordFile) throws IOException {
+        Files.write(recordFile, List.of(buildRecord()), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Gets the CPU time of the current thread.
+     *
+     * @return The CPU time in nanoseconds, or 0 if it cannot be measured.
+     */
+    private static long currentThreadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    /**
+     * Appends a string to a JSON document, quoted and escaped.
+     *
+     * @param json  The document.
+     * @param value The string.
+     */
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '"' || character == '\\') {
+                json.append('\\').append(character);
+            } else if (character < ' ') {
+                json.append(String.format("\\u%04x", (int) character));
+            } else {
+                json.append(character);
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Creates the statistics of every phase.
+     *
+     * @return The statistics, indexed by ordinal.
+     */
+    private static PhaseStatistics[] createStatistics() {
+        PhaseStatistics[] statistics = new PhaseStatistics[Phase.values().length];
+        for (int i = 0; i < statistics.length; i++) {
+            statistics[i] = new PhaseStatistics();
+        }
+        return statistics;
+    }
+
+    /**
+     * A phase being measured on a thread.
+     */
+    public static final class Measurement {
+        /**
+         * The phase.
+         */
+        private final Phase phase;
+
+        /**
+         * The value of {@link System#nanoTime()} at the start.
+         */
+        private final long startNanos;
+
+        /**
+         * The CPU time of the thread at the start.
+         */
+        private final long startCpuNanos;
+
+        /**
+         * Constructs a measurement.
+         *
+         * @param phase         The phase.
+         * @param startNanos    The value of {@link System#nanoTime()} at the start.
+         * @param startCpuNanos The CPU time of the thread at the start.
+         */
+        private Measurement(Phase phase, long startNanos, long startCpuNanos) {
+            this.phase = phase;
+            this.startNanos = startNanos;
+            this.startCpuNanos = startCpuNanos;
+        }
+    }
+
+    /**
+     * The time spent on a single file.
+     */
+    public static final class FileTiming {
+        /**
+         * The path of the file.
+         */
+        private final String path;
+
+        /**
+         * The time spent on the file, in nanoseconds.
+         */
+        private final long nanos;
+
+        /**
+         * The number of lines of the file.
+         */
+        private final int lines;
+
+        /**
+         * Constructs a file timing.
+         *
+         * @param path  The path of the file.
+         * @param nanos The time spent on the file, in nanoseconds.
+         * @param lines The number of lines of the file.
+         */
+        private FileTiming(String path, long nanos, int lines) {
+            this.path = path;
+            this.nanos = nanos;
+            this.lines = lines;
+        }
+
+        /**
+         * Gets the path of the file.
+         *
+         * @return The path.
+         */
+        public String getPath() {
+            return this.path;
+        }
+
+        /**
+         * Gets the time spent on the file.
+         *
+         * @return The time in nanoseconds.
+         */
+        public long getNanos() {
+            return this.nanos;
+        }
+
+        /**
+         * Gets the number of lines of the file.
+         *
+         * @return The number of lines.
+         */
+        public int getLines() {
+            return this.lines;
+        }
+    }
+
+    /**
+     * The counters of a phase. They can be updated from several threads.
+     */
+    private static final class PhaseStatistics {
+        /**
+         * The number of measurements.
+         */
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * The time measured, added over every thread, in nanoseconds.
+         */
+        private final LongAdder nanos = new LongAdder();
+
+        /**
+         * The CPU time measured, added over every thread, in nanoseconds.
+         */
+        private final LongAdder cpuNanos = new LongAdder();
+
+        /**
+         * The number of files processed.
+         */
+        private final LongAdder files = new LongAdder();
+
+        /**
+         * The number of lines processed.
+         */
+        private final LongAdder lines = new LongAdder();
+
+        /**
+         * The number of bytes read.
+         */
+        private final LongAdder bytes = new LongAdder();
+
+        /**
+         * The earliest start of a measurement.
+         */
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+
+        /**
+         * The latest end of a measurement.
+         */
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+        /**
+         * Adds a measurement.
+         *
+         * @param start    The value of {@link System#nanoTime()} at the start.
+         * @param end      The value of {@link System#nanoTime()} at the end.
+         * @param cpuTime  The CPU time of the measurement.
+         * @param fileCount The number of files processed.
+         * @param lineCount The number of lines processed.
+         * @param byteCount The number of bytes read.
+         */
+        private void add(long start, long end, long cpuTime, long fileCount, long lineCount, long byteCount) {
+            this.count.increment();
+            this.nanos.add(end - start);
+            this.cpuNanos.add(cpuTime);
+            this.files.add(fileCount);
+            this.lines.add(lineCount);
+            this.bytes.add(byteCount);
+            this.firstStart.accumulateAndGet(start, Math::min);
+            this.lastEnd.accumulateAndGet(end, Math::max);
+        }
+
+        /**
+         * Gets the time from the earliest start to the latest end.
+         *
+         * @return The wall time in nanoseconds, or 0 if nothing was measured.
+         */
+        private long getWallNanos() {
+            return this.count.sum() == 0 ? 0 : this.lastEnd.get() - this.firstStart.get();
+        }
+
+        /**
+         * Divides a counter by the wall time of the phase.
+         *
+         * @param value The counter.
+         * @return The counter per second of wall time, or 0 if the wall time is 0.
+         */
+        private double perSecond(long value) {
+            long wallNanos = getWallNanos();
+            return wallNanos == 0 ? 0 : value / (wallNanos / 1e9);
+        }
+
+        /**
+         * Clears the counters.
+         */
+        private void reset() {
+            this.count.reset();
+            this.nanos.reset();
+            this.cpuNanos.reset();
+            this.files.reset();
+            this.lines.reset();
+            this.bytes.reset();
+            this.firstStart.set(Long.MAX_VALUE);
+            this.lastEnd.set(Long.MIN_VALUE);
+        }
+    }
+}
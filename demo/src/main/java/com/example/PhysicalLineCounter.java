@@ -1,7 +1,5 @@
 package com.example;
 
-import java.util.List;
-
 import com.example.validators.CommentValidator;
 
 /**
@@ -20,17 +18,37 @@ public class PhysicalLineCounter implements LineCounter {
      */
     @Override
     public int count(JavaFile javaFile) {
-        List<String> lines = javaFile.getLines();
         int count = 0;
         CommentValidator validator = new CommentValidator();
-        for (String line : lines) {
-            if (validator.isComment(line)) {
+        for (int line = 0; line < javaFile.getLineCount(); line++) {
+            if (validator.isComment(javaFile.getLine(line))) {
                 continue;
-            } else if(!line.trim().isEmpty()) {
+            } else if (!javaFile.isBlankLine(line)) {
                 count++;
             }
         }
         
         return count;
     }
+
+    /**
+     * Counts the physical lines of a file read as raw bytes.
+     * It applies the same rules as {@link #count(JavaFile)} without
+     * creating a {@code String} for each line.
+     *
+     * @param sourceBuffer The content of the file and its line offsets.
+     * @return The total number of physical lines.
+     */
+    public int count(SourceBuffer sourceBuffer) {
+        int count = 0;
+        CommentValidator validator = new CommentValidator();
+        for (int line = 0; line < sourceBuffer.getLineCount(); line++) {
+            if (validator.isComment(sourceBuffer.getLine(line))) {
+                continue;
+            } else if (!sourceBuffer.isBlankLine(line)) {
+                count++;
+            }
+        }
+        return count;
+    }
 }
\ No newline at end of file
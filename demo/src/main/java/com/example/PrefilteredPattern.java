@@ -0,0 +1,314 @@
+package com.example;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@code PrefilteredPattern} class pairs a precompiled regular expression with a
+ * cheap literal check that every matching line must pass, such as containing the
+ * keyword the expression requires. Lines rejected by the check never reach the
+ * regular expression engine, and the result is the same as matching them.
+ *
+ * <p>A pattern may also have a linear-time scanner, such as those of
+ * {@link DeclarationScanner}, that gives the same result as {@link #find(String)}
+ * or {@link #matches(String)}. It replaces the regular expression while
+ * {@link PatternRegistry#isLinearMatching()} is enabled.</p>
+ *
+ * <p>Each pattern counts the lines it is asked about, the lines its prefilter
+ * rejects and the lines that reach the regular expression. When timing is enabled
+ * in {@link PatternRegistry}, the time spent in the regular expression is measured
+ * too. Counters are {@link LongAdder}s, so instances can be shared between threads.</p>
+ */
+public final class PrefilteredPattern {
+    /**
+     * The name of the pattern in the statistics report.
+     */
+    private final String name;
+
+    /**
+     * The compiled regular expression.
+     */
+    private final Pattern pattern;
+
+    /**
+     * The check that every line matched by the regular expression passes.
+     */
+    private final Predicate<String> prefilter;
+
+    /**
+     * The linear-time equivalent of {@link #find(String)}, or {@code null}.
+     */
+    private final Predicate<String> linearFind;
+
+    /**
+     * The linear-time equivalent of {@link #matches(String)}, or {@code null}.
+     */
+    private final Predicate<String> linearMatches;
+
+    /**
+     * The number of lines checked.
+     */
+    private final LongAdder lineCount = new LongAdder();
+
+    /**
+     * The number of lines rejected by the prefilter.
+     */
+    private final LongAdder rejectedCount = new LongAdder();
+
+    /**
+     * The number of lines matched with the regular expression or the scanner.
+     */
+    private final LongAdder regexCount = new LongAdder();
+
+    /**
+     * The time spent in the regular expression while timing was enabled, in nanoseconds.
+     */
+    private final LongAdder regexNanos = new LongAdder();
+
+    /**
+     * The number of regular expression calls included in {@link #regexNanos}.
+     */
+    private final LongAdder timedCount = new LongAdder();
+
+    /**
+     * Constructs a prefiltered pattern.
+     *
+     * @param name      The name of the pattern in the statistics report.
+     * @param regex     The regular expression to compile.
+     * @param prefilter A check that every line matched by the expression passes.
+     */
+    PrefilteredPattern(String name, String regex, Predicate<String> prefilter) {
+        this(name, regex, prefilter, null, null);
+    }
+
+    /**
+     * Constructs a prefiltered pattern with linear-time scanners.
+     *
+     * @param name          The name of the pattern in the statistics report.
+     * @param regex         The regular expression to compile.
+     * @param prefilter     A check that every line matched by the expression passes.
+     * @param linearFind    A scanner equivalent to {@link #find(String)}, or {@code null}.
+     * @param linearMatches A scanner equivalent to {@link #matches(String)}, or {@code null}.
+     */
+    PrefilteredPattern(String name, String regex, Predicate<String> prefilter, Predicate<String> linearFind,
+            Predicate<String> linearMatches) {
+        this.name = name;
+        this.pattern = Pattern.compile(regex);
+        this.prefilter = prefilter;
+        this.linearFind = linearFind;
+        this.linearMatches = linearMatches;
+    }
+
+    /**
+     * Checks whether the regular expression is found anywhere in a line.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the line contains a match.
+     */
+    public boolean find(String line) {
+        if (this.linearFind != null && PatternRegistry.isLinearMatching()) {
+            return scan(this.linearFind, line);
+        }
+        Matcher matcher = matcher(line);
+        return matcher != null && timedFind(matcher);
+    }
+
+    /**
+     * Checks whether a whole line matches the regular expression.
+     *
+     * @param line The line to check.
+     * @return {@code true} if the whole line matches.
+     */
+    public boolean matches(String line) {
+        if (this.linearMatches != null && PatternRegistry.isLinearMatching()) {
+            return scan(this.linearMatches, line);
+        }
+        Matcher matcher = matcher(line);
+        if (matcher == null) {
+            return false;
+        }
+        if (!PatternRegistry.isTimingEnabled()) {
+            return matcher.matches();
+        }
+        long start = System.nanoTime();
+        boolean matches = matcher.matches();
+        recordTime(start);
+        return matches;
+    }
+
+    /**
+     * Finds the first match in a line and returns a capturing group of it.
+     *
+     * @param line  The line to search.
+     * @param group The number of the capturing group.
+     * @return The text of the group, or {@code null} if there is no match.
+     */
+    public String findGroup(String line, int group) {
+        Matcher matcher = matcher(line);
+        return matcher != null && timedFind(matcher) ? matcher.group(group) : null;
+    }
+
+    /**
+     * Removes every match from a line.
+     *
+     * @param line The line to process.
+     * @return The line without the matches, or the same line if there are none.
+     */
+    public String removeAll(String line) {
+        Matcher matcher = matcher(line);
+        if (matcher == null) {
+            return line;
+        }
+        if (!PatternRegistry.isTimingEnabled()) {
+            return matcher.replaceAll("");
+        }
+        long start = System.nanoTime();
+        String result = matcher.replaceAll("");
+        recordTime(start);
+        return result;
+    }
+
+    /**
+     * Gets the name of the pattern.
+     *
+     * @return The name used in the statistics report.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the compiled regular expression, without prefilter or statistics.
+     *
+     * @return The compiled pattern.
+     */
+    public Pattern getPattern() {
+        return this.pattern;
+    }
+
+    /**
+     * Gets the number of lines checked.
+     *
+     * @return The number of lines.
+     */
+    public long getLineCount() {
+        return this.lineCount.sum();
+    }
+
+    /**
+     * Gets the number of lines rejected by the prefilter.
+     *
+     * @return The number of rejected lines.
+     */
+    public long getRejectedCount() {
+        return this.rejectedCount.sum();
+    }
+
+    /**
+     * Gets the number of lines matched with the regular expression.
+     *
+     * @return The number of lines that passed the prefilter.
+     */
+    public long getRegexCount() {
+        return this.regexCount.sum();
+    }
+
+    /**
+     * Gets the average time of a regular expression call, measured while timing was enabled.
+     *
+     * @return The average time in nanoseconds, or {@code 0} if nothing was timed.
+     */
+    public double getAverageRegexNanos() {
+        long timed = this.timedCount.sum();
+        return timed == 0 ? 0 : (double) this.regexNanos.sum() / timed;
+    }
+
+    /**
+     * Estimates the time the prefilter saved: the rejected lines multiplied by the
+     * average time of a regular expression call. Rejected lines usually fail the
+     * expression faster than the average line, so this is an upper bound.
+     *
+     * @return The estimated time saved, in nanoseconds.
+     */
+    public double getEstimatedSavedNanos() {
+        return getRejectedCount() * getAverageRegexNanos();
+    }
+
+    /**
+     * Clears the statistics.
+     */
+    void resetStatistics() {
+        this.lineCount.reset();
+        this.rejectedCount.reset();
+        this.regexCount.reset();
+        this.regexNanos.reset();
+        this.timedCount.reset();
+    }
+
+    /**
+     * Applies the prefilter and then a linear-time scanner to a line.
+     *
+     * @param scanner The scanner to run on the lines that pass the prefilter.
+     * @param line    The line to check.
+     * @return The result of the scanner, or {@code false} if the prefilter rejected the line.
+     */
+    private boolean scan(Predicate<String> scanner, String line) {
+        this.lineCount.increment();
+        if (!this.prefilter.test(line)) {
+            this.rejectedCount.increment();
+            return false;
+        }
+        this.regexCount.increment();
+        if (!PatternRegistry.isTimingEnabled()) {
+            return scanner.test(line);
+        }
+        long start = System.nanoTime();
+        boolean result = scanner.test(line);
+        recordTime(start);
+        return result;
+    }
+
+    /**
+     * Applies the prefilter to a line and counts the outcome.
+     *
+     * @param line The line to check.
+     * @return A matcher over the line, or {@code null} if the prefilter rejected it.
+     */
+    private Matcher matcher(String line) {
+        this.lineCount.increment();
+        if (!this.prefilter.test(line)) {
+            this.rejectedCount.increment();
+            return null;
+        }
+        this.regexCount.increment();
+        return this.pattern.matcher(line);
+    }
+
+    /**
+     * Runs {@link Matcher#find()}, timing it when timing is enabled.
+     *
+     * @param matcher The matcher to run.
+     * @return {@code true} if a match was found.
+     */
+    private boolean timedFind(Matcher matcher) {
+        if (!PatternRegistry.isTimingEnabled()) {
+            return matcher.find();
+        }
+        long start = System.nanoTime();
+        boolean found = matcher.find();
+        recordTime(start);
+        return found;
+    }
+
+    /**
+     * Adds the time elapsed since a start time to the regular expression time.
+     *
+     * @param start The value of {@link System#nanoTime()} before the call.
+     */
+    private void recordTime(long start) {
+        this.regexNanos.add(System.nanoTime() - start);
+        this.timedCount.increment();
+    }
+}
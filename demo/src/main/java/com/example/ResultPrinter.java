@@ -1,9 +1,12 @@
 package com.example;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.List;
 
-import com.example.constants.SymbolsConstants;
-
 /**
  * The ResultPrinter class is responsible for formatting and printing a table 
  * with the results of a program's line count.
@@ -45,6 +48,38 @@ public class ResultPrinter {
     */
     public static final String TITLE_TOTAL_LOC = "Total de LOC físicas del programa";
 
+    /**
+     * Defines the format of the summary printed when duplicate files are analyzed once.
+     */
+    public static final String DEDUPLICATION_SUMMARY_FORMAT =
+        "Archivos duplicados: %d de %d. Total de LOC físicas sin duplicados: %d";
+
+    /**
+     * Defines the format of the title of the combined report of several directories.
+     */
+    public static final String BATCH_SUMMARY_TITLE_FORMAT = "Resumen de %d directorios:";
+
+    /**
+     * Defines the format of the line of an analyzed directory in the combined report.
+     */
+    public static final String BATCH_ROOT_FORMAT = "  %s: %d archivos, %d clases, %d LOC físicas";
+
+    /**
+     * Defines the format of the line of a directory that could not be analyzed in the combined report.
+     */
+    public static final String BATCH_ERROR_FORMAT = "  %s: %s";
+
+    /**
+     * Defines the format of the totals of the combined report.
+     */
+    public static final String BATCH_TOTAL_FORMAT =
+        "Total: %d archivos, %d clases, %d LOC físicas. Directorios con errores: %d";
+
+    /**
+     * Defines the format of the line printed when the watch mode analyzes changed files.
+     */
+    public static final String WATCH_UPDATE_FORMAT = "Archivos actualizados: %d. Total de LOC físicas: %d (%+d)";
+
     /**
      * Defines the format template for a table column.
      * This format ensures that each column has a fixed width, aligning text properly.
@@ -58,6 +93,11 @@ public class ResultPrinter {
      * of the content within a cell to improve readability.
      */
     public static final int HORIZONTAL_PADDING = 2;
+
+    /**
+     * Size of the buffer between the table writer and the console, in characters.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
     
     /**
      * Prints a table in the console with the results of the line count.
@@ -67,114 +107,121 @@ public class ResultPrinter {
      * @param totalLOC Total number of physical LOC in the program.
      */
     public static void printResults(String programName, List<ClassInfo> classInfoList, int totalLOC) {
-        String tableText = buildTable(programName, classInfoList, totalLOC);
-        System.out.println(tableText);
-    }   
+        printResults(programName, ClassResultStore.of(classInfoList), totalLOC);
+    }
 
     /**
-     * Builds a formatted table with the results of the line count.
-     * 
+     * Prints a table in the console with the results of the line count.
+     * The rows are streamed to the console as they are written, so the
+     * table is never held in memory as a whole.
+     *
      * @param programName Name of the analyzed program.
-     * @param classInfoList List of ClassInfo objects for each class.
+     * @param classResults The row of each class.
      * @param totalLOC Total number of physical LOC in the program.
-     * @return A formatted string representing the table with the data.
      */
-    private static String buildTable(String programName, List<ClassInfo> classInfoList, int totalLOC) {
-
-        int maxProgramLength = getMaxColumnWidth(TITLE_PROGRAM, programName);
-        int maxClassNameLength = getMaxColumnWidthMultiple(TITLE_CLASS, classInfoList.stream().map(ClassInfo::getClassName).toList());
-        int maxMethodsLength = getMaxColumnWidthMultiple(TITLE_METHODS_CLASS, classInfoList.stream().map(ClassInfo::getMethodCount).map(Object::toString).toList());
-        int maxLOCClassLength =getMaxColumnWidthMultiple(TITLE_TOTAL_LOC_CLASS, classInfoList.stream().map(ClassInfo::getPhysicalLines).map(Object::toString).toList());
-        int maxLOCLenght = getMaxColumnWidth(TITLE_TOTAL_LOC, String.valueOf(totalLOC));
-
-        String headerFormat = createHeaderFormat(maxProgramLength, maxClassNameLength, maxMethodsLength, maxLOCClassLength, maxLOCLenght);
-        String separator = createSeparator(maxProgramLength, maxClassNameLength, maxMethodsLength, maxLOCClassLength, maxLOCLenght);
-
-        StringBuilder table = new StringBuilder();
-        table.append(separator);
-        table.append(String.format(headerFormat, TITLE_PROGRAM, TITLE_CLASS, TITLE_METHODS_CLASS, TITLE_TOTAL_LOC_CLASS, TITLE_TOTAL_LOC));
-        table.append(separator);
-        
-
-        for (ClassInfo classInfo : classInfoList) {
-            table.append(String.format(headerFormat, programName, classInfo.getClassName(), classInfo.getMethodCount(), classInfo.getPhysicalLines(), totalLOC));
+    public static void printResults(String programName, ClassResultStore classResults, int totalLOC) {
+        try {
+            Writer writer = new BufferedWriter(TableWriter.toPrintStream(System.out), OUTPUT_BUFFER_SIZE);
+            new TableWriter(writer).write(programName, classResults, totalLOC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        System.out.println();
+    }
 
-        table.append(separator);
-        return table.toString();
+    /**
+     * Prints the summary of the deduplication of identical files.
+     *
+     * @param duplicateCount Number of files that are copies of another file.
+     * @param fileCount Total number of files.
+     * @param distinctLOC Total number of physical LOC counting each distinct content once.
+     */
+    public static void printDeduplicationSummary(int duplicateCount, int fileCount, int distinctLOC) {
+        System.out.println(String.format(DEDUPLICATION_SUMMARY_FORMAT, duplicateCount, fileCount, distinctLOC));
     }
 
     /**
-     * Calculates the maximum column width based on the length of the title and the corresponding value.
+     * Prints the title of the combined report of several directories.
      *
-     * @param title The title of the column.
-     * @param value The value to be displayed in the column.
-     * @return The maximum width required for the column.
+     * @param rootCount Number of directories of the report.
      */
-    private static int getMaxColumnWidth(String title, String value) {
-        return Math.max(title.length(), value.length());
+    public static void printBatchSummaryTitle(int rootCount) {
+        System.out.println(String.format(BATCH_SUMMARY_TITLE_FORMAT, rootCount));
     }
+
     /**
-     * Calculates the maximum column width based on the length of the title and a list of values.
+     * Prints the line of an analyzed directory in the combined report.
      *
-     * @param title The title of the column.
-     * @param values The list of values to be displayed in the column.
-     * @return The maximum width required for the column.
-     */
-    private static int getMaxColumnWidthMultiple(String title, List<String> values) {
-        int maxLength = title.length();
-        for (String value : values) {
-            maxLength = Math.max(maxLength, value.length());
-        }
-        return maxLength;
+     * @param root Path of the directory.
+     * @param fileCount Number of Java files of the directory.
+     * @param classCount Number of classes of the directory.
+     * @param totalLOC Total number of physical LOC of the directory.
+     */
+    public static void printBatchRoot(String root, int fileCount, int classCount, long totalLOC) {
+        System.out.println(String.format(BATCH_ROOT_FORMAT, root, fileCount, classCount, totalLOC));
+    }
+
+    /**
+     * Prints the line of a directory that could not be analyzed in the combined report.
+     *
+     * @param root Path of the directory.
+     * @param errorMessage Message of the error that stopped its analysis.
+     */
+    public static void printBatchError(String root, String errorMessage) {
+        System.out.println(String.format(BATCH_ERROR_FORMAT, root, errorMessage));
     }
+
     /**
-     * Creates the header row of the table, formatting the column titles
-     * with the appropriate column widths.
+     * Prints the totals of the combined report.
      *
-     * @param maxProgramLength   The maximum width of the column for the program name.
-     * @param maxClassNameLength  The maximum width of the column for the class ame.
-     * @param maxMethodsLength   The maximum width of the column for the number of methods.
-     * @param maxLOCClassLength   The maximum width of the column for the lines of code of the class.
-     * @param maxLOCLength   The maximum width of the column for the lines of code of the program.
-     * @return A string representing the formatted header row of the table.
-     */
-    private static String createHeaderFormat(int maxProgramLength, int maxClassNameLength, int maxMethodsLength, int maxLOCClassLength, int maxLOCLenght) {
-        String header = String.format(
-            COLUMN_FORMAT_TEMPLATE,
-            maxProgramLength,
-            maxClassNameLength,
-            maxMethodsLength,
-            maxLOCClassLength,
-            maxLOCLenght
-        );
-        return header;
+     * @param fileCount Number of Java files of every analyzed directory.
+     * @param classCount Number of classes of every analyzed directory.
+     * @param totalLOC Total number of physical LOC of every analyzed directory.
+     * @param failedRootCount Number of directories that could not be analyzed.
+     */
+    public static void printBatchTotal(long fileCount, long classCount, long totalLOC, int failedRootCount) {
+        System.out.println(String.format(BATCH_TOTAL_FORMAT, fileCount, classCount, totalLOC, failedRootCount));
     }
 
     /**
-     * Creates the separator line for the table, adjusting the length of each
-     * section based on the column widths.
+     * Prints the line of an update of the watch mode.
      *
-     * @param maxProgramLength   The maximum width of the column for the program name.
-     * @param maxClassNameLength  The maximum width of the column for the class ame.
-     * @param maxMethodsLength   The maximum width of the column for the number of methods.
-     * @param maxLOCClassLength   The maximum width of the column for the lines of code of the class.
-     * @param maxLOCLength   The maximum width of the column for the lines of code of the program.
-     * @return A string representing the separator line of the table.
-     */
-    private static String createSeparator(int maxProgramLength, int maxClassNameLength, int maxMethodsLength, int maxLOCClassLength, int maxLOCLenght) {
-        return SymbolsConstants.PLUS_SIGN + 
-        SymbolsConstants.MINUS_SIGN.repeat(maxProgramLength + HORIZONTAL_PADDING) + 
-        SymbolsConstants.PLUS_SIGN + 
-        SymbolsConstants.MINUS_SIGN.repeat(maxClassNameLength + HORIZONTAL_PADDING) +
-        SymbolsConstants.PLUS_SIGN + 
-        SymbolsConstants.MINUS_SIGN.repeat(maxMethodsLength + HORIZONTAL_PADDING) + 
-        SymbolsConstants.PLUS_SIGN +
-        SymbolsConstants.MINUS_SIGN.repeat(maxLOCClassLength + HORIZONTAL_PADDING) +
-        SymbolsConstants.PLUS_SIGN +
-        SymbolsConstants.MINUS_SIGN.repeat(maxLOCLenght + HORIZONTAL_PADDING) +
-        SymbolsConstants.PLUS_SIGN +
-        "\n";
+     * @param changedFileCount Number of files analyzed again, added or removed.
+     * @param totalLOC Total number of physical LOC after the update.
+     * @param difference Change of the total number of physical LOC.
+     */
+    public static void printWatchUpdate(int changedFileCount, int totalLOC, int difference) {
+        System.out.println(String.format(WATCH_UPDATE_FORMAT, changedFileCount, totalLOC, difference));
     }
 
+    /**
+     * Builds a formatted table with the results of the line count.
+     * 
+     * @param programName Name of the analyzed program.
+     * @param classInfoList List of ClassInfo objects for each class.
+     * @param totalLOC Total number of physical LOC in the program.
+     * @return A formatted string representing the table with the data.
+     */
+    private static String buildTable(String programName, List<ClassInfo> classInfoList, int totalLOC) {
+        return buildTable(programName, ClassResultStore.of(classInfoList), totalLOC);
+    }
+
+    /**
+     * Builds a formatted table with the results of the line count. It is written
+     * by a {@link TableWriter} into a string.
+     *
+     * @param programName Name of the analyzed program.
+     * @param classResults The row of each class.
+     * @param totalLOC Total number of physical LOC in the program.
+     * @return A formatted string representing the table with the data.
+     */
+    private static String buildTable(String programName, ClassResultStore classResults, int totalLOC) {
+        StringWriter table = new StringWriter();
+        try {
+            new TableWriter(table).write(programName, classResults, totalLOC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return table.toString();
+    }
 }
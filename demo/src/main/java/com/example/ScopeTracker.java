@@ -0,0 +1,331 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code ScopeTracker} class follows the brace depth of a Java file while it is
+ * scanned line by line, and attributes each line and method to the class that
+ * actually encloses it.
+ *
+ * <p>Classes are kept on a stack together with the depth at which their body was
+ * opened, so nested, inner, static nested and local classes each get their own
+ * numbers. A line belongs to the innermost class open when the line starts, or to
+ * the class it declares. Lines outside every class, such as package and import
+ * statements, are not attributed to any class.</p>
+ *
+ * <p>Method bodies are followed the same way: each method declaration is recorded
+ * in a {@link MethodIndex} with its enclosing class and start line, and its end line
+ * and physical line count are filled in when its closing brace is reached.</p>
+ *
+ * <p>For each line, callers must call {@link #beginLine(String)}, then the
+ * {@code add} methods that apply, then {@link #endLine(CharSequence)} with the
+ * code of the line, without comments and literal contents. After the last line,
+ * callers must call {@link #finish()}.</p>
+ */
+public class ScopeTracker {
+    /**
+     * Index used when a line is not enclosed by any class.
+     */
+    public static final int NO_CLASS = -1;
+
+    /**
+     * Initial capacity of the per-class arrays and of the scope stack.
+     */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * The names of the classes found, in declaration order.
+     */
+    private final List<String> classNames = new ArrayList<>();
+
+    /**
+     * The number of methods attributed to each class.
+     */
+    private int[] methodCounts = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of physical lines attributed to each class.
+     */
+    private int[] physicalLines = new int[INITIAL_CAPACITY];
+
+    /**
+     * The indices of the classes currently open, innermost last.
+     */
+    private int[] openClasses = new int[INITIAL_CAPACITY];
+
+    /**
+     * The brace depth of the body of each open class.
+     */
+    private int[] openDepths = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of classes currently open.
+     */
+    private int openCount = 0;
+
+    /**
+     * The current brace depth.
+     */
+    private int depth = 0;
+
+    /**
+     * The class the current line is attributed to.
+     */
+    private int currentClass = NO_CLASS;
+
+    /**
+     * The one-based number of the current line.
+     */
+    private int lineNumber = 0;
+
+    /**
+     * The brace depth when the current line started.
+     */
+    private int lineStartDepth = 0;
+
+    /**
+     * Indicates whether the current line was counted as a physical line.
+     */
+    private boolean lineCounted = false;
+
+    /**
+     * The index that receives the method records.
+     */
+    private final MethodIndex methodIndex;
+
+    /**
+     * The id of the file being scanned, stored in every method record.
+     */
+    private final int fileId;
+
+    /**
+     * The record of the method declared on the current line, or {@link MethodIndex#NONE}.
+     */
+    private int declaredMethod = MethodIndex.NONE;
+
+    /**
+     * The records of the methods whose body is currently open, innermost last.
+     */
+    private int[] openMethods = new int[INITIAL_CAPACITY];
+
+    /**
+     * The brace depth of the body of each open method.
+     */
+    private int[] openMethodDepths = new int[INITIAL_CAPACITY];
+
+    /**
+     * The physical lines counted so far for each open method.
+     */
+    private int[] openMethodLines = new int[INITIAL_CAPACITY];
+
+    /**
+     * The number of methods whose body is currently open.
+     */
+    private int openMethodCount = 0;
+
+    /**
+     * Constructs a {@code ScopeTracker} that records methods in its own index.
+     */
+    public ScopeTracker() {
+        this(new MethodIndex(), MethodIndex.NONE);
+    }
+
+    /**
+     * Constructs a {@code ScopeTracker} that records methods in the specified index.
+     *
+     * @param methodIndex The index that receives the method records.
+     * @param fileId      The id of the scanned file, or {@link MethodIndex#NONE}.
+     */
+    public ScopeTracker(MethodIndex methodIndex, int fileId) {
+        this.methodIndex = methodIndex;
+        this.fileId = fileId;
+    }
+
+    /**
+     * Starts a new line. If the line declares a class, the class is opened and
+     * the line is attributed to it; its body starts at the first opening brace
+     * of the line.
+     *
+     * @param declaredClassName The name of the class declared by the line,
+     *                          or {@code null} if it does not declare one.
+     * @return The index of the class the line is attributed to, or {@link #NO_CLASS}.
+     */
+    public int beginLine(String declaredClassName) {
+        this.lineNumber++;
+        this.lineStartDepth = this.depth;
+        this.lineCounted = false;
+        this.declaredMethod = MethodIndex.NONE;
+        if (declaredClassName != null) {
+            int classIndex = this.classNames.size();
+            this.classNames.add(declaredClassName);
+            if (classIndex == this.methodCounts.length) {
+                this.methodCounts = Arrays.copyOf(this.methodCounts, classIndex * 2);
+                this.physicalLines = Arrays.copyOf(this.physicalLines, classIndex * 2);
+            }
+            if (this.openCount == this.openClasses.length) {
+                this.openClasses = Arrays.copyOf(this.openClasses, this.openCount * 2);
+                this.openDepths = Arrays.copyOf(this.openDepths, this.openCount * 2);
+            }
+            this.openClasses[this.openCount] = classIndex;
+            this.openDepths[this.openCount] = this.depth + 1;
+            this.openCount++;
+        }
+        this.currentClass = this.openCount > 0 ? this.openClasses[this.openCount - 1] : NO_CLASS;
+        return this.currentClass;
+    }
+
+    /**
+     * Attributes one physical line to the class of the current line
+     * and to every method whose body is open.
+     */
+    public void addPhysicalLine() {
+        this.lineCounted = true;
+        if (this.currentClass != NO_CLASS) {
+            this.physicalLines[this.currentClass]++;
+        }
+        for (int i = 0; i < this.openMethodCount; i++) {
+            this.openMethodLines[i]++;
+        }
+    }
+
+    /**
+     * Attributes one method declaration to the class of the current line and
+     * records it in the method index. Its body starts at the first opening brace
+     * of the line; a declaration without a brace, such as an abstract method,
+     * ends on the same line.
+     *
+     * @param methodName The name of the declared method.
+     */
+    public void addMethod(String methodName) {
+        String className = null;
+        if (this.currentClass != NO_CLASS) {
+            this.methodCounts[this.currentClass]++;
+            className = this.classNames.get(this.currentClass);
+        }
+        int declarationLines = this.lineCounted ? 1 : 0;
+        this.declaredMethod = this.methodIndex.add(
+            methodName, className, this.fileId, this.lineNumber, this.lineNumber, declarationLines);
+    }
+
+    /**
+     * Ends the current line, updating the brace depth with the braces of its code
+     * and closing every class and method whose body ends on this line.
+     *
+     * @param code The code of the line, without comments and literal contents.
+     */
+    public void endLine(CharSequence code) {
+        if (this.declaredMethod != MethodIndex.NONE && indexOf(code, '{') >= 0) {
+            openMethod(this.declaredMethod, this.methodIndex.getPhysicalLines(this.declaredMethod));
+        }
+        for (int i = 0; i < code.length(); i++) {
+            char current = code.charAt(i);
+            if (current == '{') {
+                this.depth++;
+            } else if (current == '}') {
+                this.depth--;
+                while (this.openCount > 0 && this.openDepths[this.openCount - 1] > this.depth) {
+                    this.openCount--;
+                }
+                while (this.openMethodCount > 0 && this.openMethodDepths[this.openMethodCount - 1] > this.depth) {
+                    closeMethod();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends the file. Methods whose body is still open, because the file ended
+     * before their closing brace, are closed at the last line.
+     */
+    public void finish() {
+        while (this.openMethodCount > 0) {
+            closeMethod();
+        }
+    }
+
+    /**
+     * Gets the index holding the method records. The records of methods still
+     * open lack their end until {@link #finish()} is called.
+     *
+     * @return The method index.
+     */
+    public MethodIndex getMethodIndex() {
+        return this.methodIndex;
+    }
+
+    /**
+     * Opens the body of a method at the depth following the start of the current line.
+     *
+     * @param method        The record of the method.
+     * @param physicalLines The physical lines already counted for the method.
+     */
+    private void openMethod(int method, int physicalLines) {
+        if (this.openMethodCount == this.openMethods.length) {
+            this.openMethods = Arrays.copyOf(this.openMethods, this.openMethodCount * 2);
+            this.openMethodDepths = Arrays.copyOf(this.openMethodDepths, this.openMethodCount * 2);
+            this.openMethodLines = Arrays.copyOf(this.openMethodLines, this.openMethodCount * 2);
+        }
+        this.openMethods[this.openMethodCount] = method;
+        this.openMethodDepths[this.openMethodCount] = this.lineStartDepth + 1;
+        this.openMethodLines[this.openMethodCount] = physicalLines;
+        this.openMethodCount++;
+    }
+
+    /**
+     * Closes the innermost open method at the current line.
+     */
+    private void closeMethod() {
+        this.openMethodCount--;
+        this.methodIndex.setEnd(
+            this.openMethods[this.openMethodCount], this.lineNumber, this.openMethodLines[this.openMethodCount]);
+    }
+
+    /**
+     * Finds the first occurrence of a character in a character sequence.
+     *
+     * @param text    The text to search.
+     * @param target  The character to find.
+     * @return The position of the character, or -1 if it is not found.
+     */
+    private static int indexOf(CharSequence text, char target) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the index of the class the current line is attributed to.
+     *
+     * @return The class index, or {@link #NO_CLASS} if the line is outside every class.
+     */
+    public int getCurrentClass() {
+        return this.currentClass;
+    }
+
+    /**
+     * Gets the current brace depth.
+     *
+     * @return The depth after the last ended line.
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Builds the results of every class found, in declaration order.
+     *
+     * @return A list of ClassInfo objects with the numbers attributed to each class.
+     */
+    public List<ClassInfo> getClassesInfo() {
+        List<ClassInfo> classesInfo = new ArrayList<>(this.classNames.size());
+        for (int i = 0; i < this.classNames.size(); i++) {
+            classesInfo.add(new ClassInfo(this.classNames.get(i), this.methodCounts[i], this.physicalLines[i]));
+        }
+        return classesInfo;
+    }
+}
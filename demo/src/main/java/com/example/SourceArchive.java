@@ -0,0 +1,200 @@
+package com.example;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.example.constants.FileFormatConstants;
+import com.example.exceptions.FileException;
+
+/**
+ * The {@code SourceArchive} class opens a zip or jar archive, such as a
+ * {@code -sources.jar}, and exposes its Java entries as {@link JavaFile} objects,
+ * so the archive is analyzed like a directory without being extracted.
+ *
+ * <p>Entries are returned in the same order as the files of an extracted copy
+ * would be walked: each level sorted by name, directories expanded in place. The
+ * same ignore rules as the walk of a directory can be applied to them.</p>
+ */
+public class SourceArchive implements Closeable {
+    /**
+     * The open archive.
+     */
+    private final ZipFile zipFile;
+
+    /**
+     * Opens an archive.
+     *
+     * @param archive The archive file.
+     * @throws FileException If the file is not a valid archive.
+     */
+    public SourceArchive(File archive) throws FileException {
+        try {
+            this.zipFile = new ZipFile(archive);
+        } catch (IOException e) {
+            throw new FileException("Error: The archive cannot be opened: " + archive.getName());
+        }
+    }
+
+    /**
+     * Indicates whether a file is a source archive that can be analyzed.
+     *
+     * @param file The file to check.
+     * @return {@code true} if the file exists and has a zip or jar extension.
+     */
+    public static boolean isArchive(File file) {
+        if (!file.isFile()) {
+            return false;
+        }
+        String name = file.getName().toLowerCase();
+        for (String extension : FileFormatConstants.ARCHIVE_FILE_TYPES) {
+            if (name.endsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists the Java entries of the archive in walk order.
+     *
+     * @return The Java files of the archive. They can be loaded while the archive is open.
+     * @throws FileException If an entry cannot be represented.
+     * @throws IOException If an I/O error occurs.
+     */
+    public List<JavaFile> getJavaFiles() throws FileException, IOException {
+        return getJavaFiles(IgnoreRules.none());
+    }
+
+    /**
+     * Lists the Java entries of the archive in walk order, skipping those that the
+     * rules ignore, like the walk of an extracted copy would: an entry is skipped if
+     * it or one of its directories is ignored, and the {@code .gitignore} entry of
+     * each directory applies below it.
+     *
+     * @param ignoreRules The rules of the root of the archive, from {@link IgnoreRules#forArchive}.
+     * @return The Java files of the archive. They can be loaded while the archive is open.
+     * @throws FileException If an entry cannot be represented.
+     * @throws IOException If an I/O error occurs.
+     */
+    public List<JavaFile> getJavaFiles(IgnoreRules ignoreRules) throws FileException, IOException {
+        List<ZipEntry> entries = new ArrayList<>();
+        Map<String, ZipEntry> ignoreFiles = new HashMap<>();
+        Enumeration<? extends ZipEntry> allEntries = this.zipFile.entries();
+        while (allEntries.hasMoreElements()) {
+            ZipEntry entry = allEntries.nextElement();
+            String name = entry.getName();
+            if (entry.isDirectory()) {
+                continue;
+            }
+            String directoryName = name.substring(0, name.lastIndexOf('/') + 1);
+            if (name.substring(directoryName.length()).equals(IgnoreRules.IGNORE_FILE_NAME)) {
+                ignoreFiles.put(directoryName, entry);
+            } else if (JavaFile.isValidFileType(name)) {
+                entries.add(entry);
+            }
+        }
+        Collections.sort(entries, (first, second) -> compareEntryNames(first.getName(), second.getName()));
+
+        List<JavaFile> javaFiles = new ArrayList<>(entries.size());
+        Map<String, IgnoreRules> directoryRules = new HashMap<>();
+        for (ZipEntry entry : entries) {
+            String name = entry.getName();
+            IgnoreRules rules = getDirectoryRules(
+                name.substring(0, name.lastIndexOf('/') + 1), ignoreRules, ignoreFiles, directoryRules);
+            if (rules != null && !rules.isIgnored(name, false)) {
+                javaFiles.add(new ArchiveJavaFile(this.zipFile, entry));
+            }
+        }
+        return javaFiles;
+    }
+
+    /**
+     * Gets the rules that apply to the entries of a directory of the archive.
+     *
+     * @param directoryName  The name of the directory, ending with {@code /}, or the empty string for the root.
+     * @param rootRules      The rules of the root of the archive.
+     * @param ignoreFiles    The {@code .gitignore} entries, by the name of their directory.
+     * @param directoryRules The rules of the directories already visited, {@code null} for ignored ones.
+     * @return The rules of the directory, or {@code null} if it or one of its parents is ignored.
+     * @throws IOException If a {@code .gitignore} entry cannot be read.
+     */
+    private IgnoreRules getDirectoryRules(String directoryName, IgnoreRules rootRules,
+            Map<String, ZipEntry> ignoreFiles, Map<String, IgnoreRules> directoryRules) throws IOException {
+        if (directoryRules.containsKey(directoryName)) {
+            return directoryRules.get(directoryName);
+        }
+        IgnoreRules parentRules = rootRules;
+        if (!directoryName.isEmpty()) {
+            String path = directoryName.substring(0, directoryName.length() - 1);
+            parentRules = getDirectoryRules(
+                path.substring(0, path.lastIndexOf('/') + 1), rootRules, ignoreFiles, directoryRules);
+            if (parentRules != null && parentRules.isIgnored(path, true)) {
+                parentRules = null;
+            }
+        }
+        IgnoreRules rules = null;
+        if (parentRules != null) {
+            ZipEntry ignoreFile = ignoreFiles.get(directoryName);
+            rules = ignoreFile == null ? parentRules
+                : parentRules.forArchiveDirectory(directoryName, readLines(ignoreFile));
+        }
+        directoryRules.put(directoryName, rules);
+        return rules;
+    }
+
+    /**
+     * Reads the lines of an entry, decoded with the default charset like files on disk.
+     *
+     * @param entry The entry to read.
+     * @return The lines of the entry.
+     * @throws IOException If an I/O error occurs.
+     */
+    private List<String> readLines(ZipEntry entry) throws IOException {
+        try (InputStream input = this.zipFile.getInputStream(entry)) {
+            return new String(input.readAllBytes(), Charset.defaultCharset()).lines().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Compares two entry names like {@link DirectoryManager#WALK_ORDER} compares paths:
+     * segment by segment, a directory before the entries that follow it.
+     *
+     * @param first  The first entry name.
+     * @param second The second entry name.
+     * @return A negative, zero or positive number, as in {@link Comparable#compareTo(Object)}.
+     */
+    static int compareEntryNames(String first, String second) {
+        String[] firstSegments = first.split("/");
+        String[] secondSegments = second.split("/");
+        int common = Math.min(firstSegments.length, secondSegments.length);
+        for (int i = 0; i < common; i++) {
+            int comparison = firstSegments[i].compareTo(secondSegments[i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(firstSegments.length, secondSegments.length);
+    }
+
+    /**
+     * Closes the archive. The files it returned cannot be loaded afterwards.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        this.zipFile.close();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The {@code SourceBuffer} class exposes the raw bytes of a source file together
+ * with the offsets of its lines, so counters can inspect line boundaries and
+ * individual characters without decoding the file into one {@code String} per line.
+ *
+ * <p>Lines are split exactly like {@link java.io.BufferedReader#readLine()}: a line
+ * ends with {@code \n}, {@code \r} or {@code \r\n}, and the terminator is not part
+ * of the line. Since every Java syntax character is ASCII, each byte is exposed
+ * as one character; bytes of multi-byte characters never match any of them.</p>
+ */
+public class SourceBuffer {
+    /**
+     * Initial capacity of the line offset arrays.
+     */
+    private static final int INITIAL_LINE_CAPACITY = 64;
+
+    /**
+     * The raw content of the file, positioned at zero.
+     */
+    private final ByteBuffer content;
+
+    /**
+     * The offset of the first byte of each line.
+     */
+    private final int[] lineStarts;
+
+    /**
+     * The offset right after the last byte of each line, excluding the terminator.
+     */
+    private final int[] lineEnds;
+
+    /**
+     * The number of lines in the file.
+     */
+    private final int lineCount;
+
+    /**
+     * Constructs a {@code SourceBuffer} over the specified content and
+     * computes the offsets of its lines.
+     *
+     * @param content The raw content of the file. Its position must be zero.
+     */
+    public SourceBuffer(ByteBuffer content) {
+        this.content = content;
+        int[] starts = new int[INITIAL_LINE_CAPACITY];
+        int[] ends = new int[INITIAL_LINE_CAPACITY];
+        int count = 0;
+        int limit = content.limit();
+        int lineStart = 0;
+        int offset = 0;
+        while (offset < limit) {
+            byte current = content.get(offset);
+            if (current == '\n' || current == '\r') {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+                starts[count] = lineStart;
+                ends[count] = offset;
+                count++;
+                if (current == '\r' && offset + 1 < limit && content.get(offset + 1) == '\n') {
+                    offset++;
+                }
+                lineStart = offset + 1;
+            }
+            offset++;
+        }
+        if (lineStart < limit) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count + 1);
+                ends = Arrays.copyOf(ends, count + 1);
+            }
+            starts[count] = lineStart;
+            ends[count] = limit;
+            count++;
+        }
+        this.lineStarts = starts;
+        this.lineEnds = ends;
+        this.lineCount = count;
+    }
+
+    /**
+     * Gets the number of lines in the file.
+     *
+     * @return The line count.
+     */
+    public int getLineCount() {
+        return this.lineCount;
+    }
+
+    /**
+     * Gets the number of bytes in the file.
+     *
+     * @return The size of the content in bytes.
+     */
+    public int getSize() {
+        return this.content.limit();
+    }
+
+    /**
+     * Gets the offset of the first byte of a line.
+     *
+     * @param line The zero-based line index.
+     * @return The start offset of the line.
+     */
+    public int getLineStart(int line) {
+        return this.lineStarts[line];
+    }
+
+    /**
+     * Gets the offset right after the last byte of a line, excluding the terminator.
+     *
+     * @param line The zero-based line index.
+     * @return The end offset of the line.
+     */
+    public int getLineEnd(int line) {
+        return this.lineEnds[line];
+    }
+
+    /**
+     * Gets the byte at the specified offset.
+     *
+     * @param offset The offset of the byte.
+     * @return The byte at that offset.
+     */
+    public byte byteAt(int offset) {
+        return this.content.get(offset);
+    }
+
+    /**
+     * Determines whether a line contains only whitespace, with the same
+     * definition of whitespace used by {@link String#trim()}.
+     *
+     * @param line The zero-based line index.
+     * @return {@code true} if the line is empty or blank, {@code false} otherwise.
+     */
+    public boolean isBlankLine(int line) {
+        for (int offset = this.lineStarts[line]; offset < this.lineEnds[line]; offset++) {
+            if ((this.content.get(offset) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a view of a line as a character sequence. The view does not copy
+     * the bytes; each byte is exposed as one ISO-8859-1 character.
+     *
+     * @param line The zero-based line index.
+     * @return A character sequence backed by the bytes of the line.
+     */
+    public CharSequence getLine(int line) {
+        return new ByteView(this.lineStarts[line], this.lineEnds[line]);
+    }
+
+    /**
+     * Read-only character view over a range of the content.
+     */
+    private class ByteView implements CharSequence {
+        /**
+         * Offset of the first byte of the view.
+         */
+        private final int start;
+
+        /**
+         * Offset right after the last byte of the view.
+         */
+        private final int end;
+
+        /**
+         * Constructs a view over the bytes in {@code [start, end)}.
+         *
+         * @param start The start offset, inclusive.
+         * @param end The end offset, exclusive.
+         */
+        ByteView(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return this.end - this.start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+            }
+            return (char) (content.get(this.start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length() || from > to) {
+                throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + length());
+            }
+            return new ByteView(this.start + from, this.start + to);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length()];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = content.get(this.start + i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.example;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.example.exceptions.FileException;
+
+/**
+ * The {@code StagedPipeline} class processes a directory as four stages connected
+ * by bounded queues:
+ * <ol>
+ *   <li>discovery: one thread walks the directory tree and emits each Java file;</li>
+ *   <li>loading: reader threads load the content of each file;</li>
+ *   <li>analysis: analyzer threads validate, analyze and count each loaded file,
+ *       then release its content;</li>
+ *   <li>aggregation: the calling thread collects the results.</li>
+ * </ol>
+ *
+ * <p>Disk reads and the CPU-bound analysis overlap instead of alternating. The
+ * queues are bounded, so a fast stage blocks until the next one catches up: at
+ * most the capacity of the loaded queue plus one file per reader and analyzer
+ * thread are held in memory at any time.</p>
+ *
+ * <p>Files are numbered in walk order, the same order used by the sequential
+ * walk, and the results are merged in that order whatever order they finish in.</p>
+ */
+public class StagedPipeline {
+    /**
+     * Default number of reader threads.
+     */
+    public static final int DEFAULT_READER_THREADS = 2;
+
+    /**
+     * Default capacity of each queue between two stages.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    /**
+     * Item that marks the end of a queue.
+     */
+    private static final WorkItem END = new WorkItem(-1, null);
+
+    /**
+     * Factory that creates the engine of each analyzer thread.
+     */
+    private final Supplier<AnalysisEngine> analysisEngineFactory;
+
+    /**
+     * Number of threads of the loading stage.
+     */
+    private final int readerThreads;
+
+    /**
+     * Number of threads of the analysis stage.
+     */
+    private final int analyzerThreads;
+
+    /**
+     * Capacity of each queue between two stages.
+     */
+    private final int queueCapacity;
+
+    /**
+     * Cache of the analyses of previous runs, or {@code null} if caching is disabled.
+     */
+    private final AnalysisCache analysisCache;
+
+    /**
+     * A file travelling through the pipeline, together with its position in walk order.
+     */
+    private static final class WorkItem {
+        /**
+         * The position of the file in walk order.
+         */
+        private final int fileId;
+
+        /**
+         * The file being processed.
+         */
+        private final JavaFile javaFile;
+
+        /**
+         * The analysis of the file, set once it has been analyzed or failed to load.
+         */
+        private FileAnalysis fileAnalysis;
+
+        /**
+         * Constructs a work item.
+         *
+         * @param fileId   The position of the file in walk order.
+         * @param javaFile The file being processed.
+         */
+        private WorkItem(int fileId, JavaFile javaFile) {
+            this.fileId = fileId;
+            this.javaFile = javaFile;
+        }
+    }
+
+    /**
+     * Constructs a {@code StagedPipeline} without a cache.
+     *
+     * @param analysisEngineFactory Factory that creates the engine of each analyzer thread.
+     * @param readerThreads         Number of threads of the loading stage.
+     * @param analyzerThreads       Number of threads of the analysis stage.
+     * @param queueCapacity         Capacity of each queue between two stages.
+     * @throws IllegalArgumentException If any of the numbers is lower than one.
+     */
+    public StagedPipeline(Supplier<AnalysisEngine> analysisEngineFactory, int readerThreads, int analyzerThreads,
+            int queueCapacity) {
+        this(analysisEngineFactory, readerThreads, analyzerThreads, queueCapacity, null);
+    }
+
+    /**
+     * Constructs a {@code StagedPipeline}. With a cache, the loading stage only reads
+     * the metadata of unchanged files and forwards their cached analysis.
+     *
+     * @param analysisEngineFactory Factory that creates the engine of each analyzer thread.
+     * @param readerThreads         Number of threads of the loading stage.
+     * @param analyzerThreads       Number of threads of the analysis stage.
+     * @param queueCapacity         Capacity of each queue between two stages.
+     * @param analysisCache         Cache of the analyses of previous runs, or {@code null}.
+     * @throws IllegalArgumentException If any of the numbers is lower than one.
+     */
+    public StagedPipeline(Supplier<AnalysisEngine> analysisEngineFactory, int readerThreads, int analyzerThreads,
+            int queueCapacity, AnalysisCache analysisCache) {
+        if (readerThreads < 1 || analyzerThreads < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("The threads of each stage and the queue capacity must be at least 1.");
+        }
+        this.analysisEngineFactory = analysisEngineFactory;
+        this.readerThreads = readerThreads;
+        this.analyzerThreads = analyzerThreads;
+        this.queueCapacity = queueCapacity;
+        this.analysisCache = analysisCache;
+    }
+
+    /**
+     * Runs every stage over a directory and waits for the last result.
+     *
+     * @param directory       The root directory to process.
+     * @param discoveredFiles The list that receives the discovered Java files, in walk order.
+     * @return The collector holding the analysis of every discovered file.
+     * @throws FileException If the pipeline is interrupted.
+     */
+    public AnalysisCollector run(File directory, List<JavaFile> discoveredFiles) throws FileException {
+        return run(directory, IgnoreRules.none(), discoveredFiles);
+    }
+
+    /**
+     * Runs every stage over a directory and waits for the last result. The discovery
+     * stage skips ignored files and prunes ignored subdirectories.
+     *
+     * @param directory       The root directory to process.
+     * @param ignoreRules     The ignore rules of the root directory.
+     * @param discoveredFiles The list that receives the discovered Java files, in walk order.
+     * @return The collector holding the analysis of every discovered file.
+     * @throws FileException If the pipeline is interrupted.
+     */
+    public AnalysisCollector run(File directory, IgnoreRules ignoreRules, List<JavaFile> discoveredFiles)
+            throws FileException {
+        BlockingQueue<WorkItem> discoveredQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        BlockingQueue<WorkItem> loadedQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        BlockingQueue<WorkItem> analyzedQueue = new ArrayBlockingQueue<>(this.queueCapacity);
+        AtomicInteger activeReaders = new AtomicInteger(this.readerThreads);
+        AtomicInteger activeAnalyzers = new AtomicInteger(this.analyzerThreads);
+        List<JavaFile> walkedFiles = new ArrayList<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(1 + this.readerThreads + this.analyzerThreads);
+        try {
+            executor.execute(() -> discover(directory, ignoreRules, walkedFiles, discoveredQueue));
+            for (int i = 0; i < this.readerThreads; i++) {
+                executor.execute(() -> load(discoveredQueue, loadedQueue, activeReaders));
+            }
+            for (int i = 0; i < this.analyzerThreads; i++) {
+                executor.execute(() -> analyze(loadedQueue, analyzedQueue, activeAnalyzers));
+            }
+
+            List<FileAnalysis> analyses = new ArrayList<>();
+            for (WorkItem item = analyzedQueue.take(); item != END; item = analyzedQueue.take()) {
+                while (analyses.size() <= item.fileId) {
+                    analyses.add(null);
+                }
+                analyses.set(item.fileId, item.fileAnalysis);
+            }
+
+            // The discovery stage has finished before the last item reached this stage
+            synchronized (walkedFiles) {
+                discoveredFiles.addAll(walkedFiles);
+            }
+            AnalysisCollector collector = new AnalysisCollector(walkedFiles.size());
+            for (int fileId = 0; fileId < analyses.size(); fileId++) {
+                collector.collect(fileId, analyses.get(fileId));
+            }
+            return collector;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileException("Error: The analysis was interrupted.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Discovery stage: walks the directory tree and emits every Java file in walk
+     * order, then one end marker per reader thread. The time it waits for room in
+     * the queue is part of its {@link PhaseTimings.Phase#WALK} timing.
+     *
+     * @param directory       The root directory.
+     * @param ignoreRules     The ignore rules of the root directory.
+     * @param walkedFiles     The list that receives the discovered files.
+     * @param discoveredQueue The queue of discovered files.
+     */
+    private void discover(File directory, IgnoreRules ignoreRules, List<JavaFile> walkedFiles,
+            BlockingQueue<WorkItem> discoveredQueue) {
+        PhaseTimings.Measurement measurement = PhaseTimings.start(PhaseTimings.Phase.WALK);
+        try {
+            walk(directory, ignoreRules, walkedFiles, discoveredQueue);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (walkedFiles) {
+                PhaseTimings.stop(measurement, walkedFiles.size(), 0, 0);
+            }
+            for (int i = 0; i < this.readerThreads; i++) {
+                putQuietly(discoveredQueue, END);
+            }
+        }
+    }
+
+    /**
+     * Recursively walks a directory, with its entries sorted by name and its
+     * subdirectories expanded in place.
+     *
+     * @param directory       The directory to walk.
+     * @param ignoreRules     The ignore rules that apply to the directory.
+     * @param walkedFiles     The list that receives the discovered files.
+     * @param discoveredQueue The queue of discovered files.
+     * @throws InterruptedException If the thread is interrupted while the queue is full.
+     */
+    private void walk(File directory, IgnoreRules ignoreRules, List<JavaFile> walkedFiles,
+            BlockingQueue<WorkItem> discoveredQueue) throws InterruptedException {
+        IgnoreRules directoryRules = ignoreRules.forDirectory(directory);
+        for (File file : DirectoryManager.listSortedFiles(directory, directoryRules)) {
+            if (file.isFile() && JavaFile.isValidFileType(file.getName())) {
+                JavaFile javaFile = DirectoryManager.createJavaFile(file);
+                if (javaFile != null) {
+                    int fileId;
+                    synchronized (walkedFiles) {
+                        fileId = walkedFiles.size();
+                        walkedFiles.add(javaFile);
+                    }
+                    discoveredQueue.put(new WorkItem(fileId, javaFile));
+                }
+            } else if (file.isDirectory()) {
+                walk(file, directoryRules, walkedFiles, discoveredQueue);
+            }
+        }
+    }
+
+    /**
+     * Loading stage: loads the content of each discovered file. A file found in the
+     * cache is forwarded with its cached analysis, and a file that cannot be loaded
+     * is forwarded with an invalid analysis. The last reader to finish
+     * emits one end marker per analyzer thread.
+     *
+     * @param discoveredQueue The queue of discovered files.
+     * @param loadedQueue     The queue of loaded files.
+     * @param activeReaders   The number of reader threads still running.
+     */
+    private void load(BlockingQueue<WorkItem> discoveredQueue, BlockingQueue<WorkItem> loadedQueue,
+            AtomicInteger activeReaders) {
+        try {
+            for (WorkItem item = discoveredQueue.take(); item != END; item = discoveredQueue.take()) {
+                if (this.analysisCache != null) {
+                    item.fileAnalysis = this.analysisCache.lookup(item.javaFile);
+                    if (item.fileAnalysis != null) {
+                        loadedQueue.put(item);
+                        continue;
+                    }
+                }
+                try {
+                    if (this.analysisCache != null) {
+                        this.analysisCache.load(item.javaFile);
+                    } else {
+                        item.javaFile.load();
+                    }
+                } catch (Exception e) {
+                    item.javaFile.release();
+                    item.fileAnalysis = FileAnalysis.invalid(e.getMessage());
+                }
+                loadedQueue.put(item);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (activeReaders.decrementAndGet() == 0) {
+                for (int i = 0; i < this.analyzerThreads; i++) {
+                    putQuietly(loadedQueue, END);
+                }
+            }
+        }
+    }
+
+    /**
+     * Analysis stage: analyzes each loaded file with an engine owned by this thread
+     * and releases its content. The last analyzer to finish emits the end marker
+     * of the aggregation stage.
+     *
+     * @param loadedQueue     The queue of loaded files.
+     * @param analyzedQueue   The queue of analyzed files.
+     * @param activeAnalyzers The number of analyzer threads still running.
+     */
+    private void analyze(BlockingQueue<WorkItem> loadedQueue, BlockingQueue<WorkItem> analyzedQueue,
+            AtomicInteger activeAnalyzers) {
+        AnalysisEngine analysisEngine = this.analysisEngineFactory.get();
+        try {
+            for (WorkItem item = loadedQueue.take(); item != END; item = loadedQueue.take()) {
+                if (item.fileAnalysis == null) {
+                    item.fileAnalysis = ConcurrentFileAnalyzer.analyze(analysisEngine, item.javaFile);
+                    if (this.analysisCache != null) {
+                        this.analysisCache.store(item.javaFile, item.fileAnalysis);
+                    }
+                }
+                analyzedQueue.put(item);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (activeAnalyzers.decrementAndGet() == 0) {
+                putQuietly(analyzedQueue, END);
+            }
+        }
+    }
+
+    /**
+     * Puts an end marker in a queue. If the thread is interrupted, the pipeline
+     * is being cancelled and nobody will read the marker.
+     *
+     * @param queue The queue.
+     * @param item  The item to put.
+     */
+    private static void putQuietly(BlockingQueue<WorkItem> queue, WorkItem item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+
+import com.example.constants.SymbolsConstants;
+
+/**
+ * The {@code TableWriter} class writes the results table of {@link ResultPrinter}
+ * row by row to a {@link Writer}, so the table is never held in memory as a whole.
+ *
+ * <p>The column widths come from the maxima that {@link ClassResultStore} keeps
+ * while the results are collected, so the rows are visited once, to write them.
+ * Cells are padded by hand instead of with {@link String#format(String, Object...)},
+ * and numbers are written digit by digit, so a row allocates nothing. The output is
+ * the same, character for character, as formatting each row with
+ * {@link ResultPrinter#COLUMN_FORMAT_TEMPLATE}.</p>
+ */
+public class TableWriter {
+    /**
+     * The largest number of characters of an {@code int}, including its sign.
+     */
+    private static final int MAX_INT_LENGTH = 11;
+
+    /**
+     * Spaces written in chunks to pad the cells.
+     */
+    private static final char[] SPACES = " ".repeat(64).toCharArray();
+
+    /**
+     * The writer that receives the table.
+     */
+    private final Writer writer;
+
+    /**
+     * Scratch space where the digits of a number are written before the writer.
+     */
+    private final char[] digits = new char[MAX_INT_LENGTH];
+
+    /**
+     * Constructs a table writer. The writer should be buffered, since the table
+     * is written a few characters at a time.
+     *
+     * @param writer The writer that receives the table.
+     */
+    public TableWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes the results table and flushes the writer.
+     *
+     * @param programName Name of the analyzed program.
+     * @param classResults The row of each class.
+     * @param totalLOC Total number of physical LOC in the program.
+     * @throws IOException If the writer fails.
+     */
+    public void write(String programName, ClassResultStore classResults, int totalLOC) throws IOException {
+        int programWidth = Math.max(ResultPrinter.TITLE_PROGRAM.length(), programName.length());
+        int classWidth = Math.max(ResultPrinter.TITLE_CLASS.length(), classResults.getMaxClassNameLength());
+        int methodsWidth = Math.max(ResultPrinter.TITLE_METHODS_CLASS.length(),
+            lengthOf(classResults.getMaxMethodCount()));
+        int classLOCWidth = Math.max(ResultPrinter.TITLE_TOTAL_LOC_CLASS.length(),
+            lengthOf(classResults.getMaxPhysicalLines()));
+        int totalLOCWidth = Math.max(ResultPrinter.TITLE_TOTAL_LOC.length(), lengthOf(totalLOC));
+
+        String separator = createSeparator(programWidth, classWidth, methodsWidth, classLOCWidth, totalLOCWidth);
+        this.writer.write(separator);
+        this.writer.write("| ");
+        writeCell(ResultPrinter.TITLE_PROGRAM, programWidth);
+        writeCell(ResultPrinter.TITLE_CLASS, classWidth);
+        writeCell(ResultPrinter.TITLE_METHODS_CLASS, methodsWidth);
+        writeCell(ResultPrinter.TITLE_TOTAL_LOC_CLASS, classLOCWidth);
+        writeLastCell(ResultPrinter.TITLE_TOTAL_LOC, totalLOCWidth);
+        this.writer.write(separator);
+
+        for (int i = 0; i < classResults.size(); i++) {
+            this.writer.write("| ");
+            writeCell(programName, programWidth);
+            writeCell(classResults.getClassName(i), classWidth);
+            writeCell(classResults.getMethodCount(i), methodsWidth);
+            writeCell(classResults.getPhysicalLines(i), classLOCWidth);
+            int length = writeNumber(totalLOC);
+            writePadding(totalLOCWidth - length);
+            this.writer.write(" |\n");
+        }
+
+        this.writer.write(separator);
+        this.writer.flush();
+    }
+
+    /**
+     * Creates a writer that prints to a stream in the stream's own encoding, as
+     * {@link PrintStream#print(String)} does. It does not close the stream.
+     *
+     * @param stream The stream to print to, such as {@link System#out}.
+     * @return A writer over the stream, to be wrapped in a buffered writer.
+     */
+    public static Writer toPrintStream(PrintStream stream) {
+        return new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) {
+                stream.print(new String(buffer, offset, length));
+            }
+
+            @Override
+            public void flush() {
+                stream.flush();
+            }
+
+            @Override
+            public void close() {
+                stream.flush();
+            }
+        };
+    }
+
+    /**
+     * Writes a text cell followed by the separator of the next cell.
+     *
+     * @param value The text of the cell.
+     * @param width The width of the column.
+     * @throws IOException If the writer fails.
+     */
+    private void writeCell(String value, int width) throws IOException {
+        this.writer.write(value);
+        writePadding(width - value.length());
+        this.writer.write(" | ");
+    }
+
+    /**
+     * Writes a numeric cell followed by the separator of the next cell.
+     *
+     * @param value The number of the cell.
+     * @param width The width of the column.
+     * @throws IOException If the writer fails.
+     */
+    private void writeCell(int value, int width) throws IOException {
+        int length = writeNumber(value);
+        writePadding(width - length);
+        this.writer.write(" | ");
+    }
+
+    /**
+     * Writes the text of the last cell of a row and the end of the row.
+     *
+     * @param value The text of the cell.
+     * @param width The width of the column.
+     * @throws IOException If the writer fails.
+     */
+    private void writeLastCell(String value, int width) throws IOException {
+        this.writer.write(value);
+        writePadding(width - value.length());
+        this.writer.write(" |\n");
+    }
+
+    /**
+     * Writes a number in decimal without creating a string.
+     *
+     * @param value The number to write.
+     * @return The number of characters written.
+     * @throws IOException If the writer fails.
+     */
+    private int writeNumber(int value) throws IOException {
+        int position = this.digits.length;
+        long remaining = Math.abs((long) value);
+        do {
+            this.digits[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        if (value < 0) {
+            this.digits[--position] = '-';
+        }
+        this.writer.write(this.digits, position, this.digits.length - position);
+        return this.digits.length - position;
+    }
+
+    /**
+     * Writes the spaces that fill a cell up to the width of its column.
+     *
+     * @param count The number of spaces; nothing is written if it is not positive.
+     * @throws IOException If the writer fails.
+     */
+    private void writePadding(int count) throws IOException {
+        for (int remaining = count; remaining > 0; remaining -= SPACES.length) {
+            this.writer.write(SPACES, 0, Math.min(remaining, SPACES.length));
+        }
+    }
+
+    /**
+     * Gets the number of characters of a number written in decimal.
+     *
+     * @param value The number.
+     * @return The length of its decimal representation.
+     */
+    private static int lengthOf(int value) {
+        int length = value < 0 ? 2 : 1;
+        for (long remaining = Math.abs((long) value); remaining >= 10; remaining /= 10) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Creates the separator line of the table.
+     *
+     * @param widths The width of each column.
+     * @return The separator line, with its line terminator.
+     */
+    private static String createSeparator(int... widths) {
+        StringBuilder separator = new StringBuilder(SymbolsConstants.PLUS_SIGN);
+        for (int width : widths) {
+            separator.append(SymbolsConstants.MINUS_SIGN.repeat(width + ResultPrinter.HORIZONTAL_PADDING));
+            separator.append(SymbolsConstants.PLUS_SIGN);
+        }
+        return separator.append('\n').toString();
+    }
+}
@@ -36,4 +36,10 @@ public class FileFormatConstants {
      * File extension for Java source files.
      */
     public final static String JAVA_FILE_TYPE = ".java";
+
+    /**
+     * File extensions of the source archives that can be analyzed without being extracted,
+     * such as {@code -sources.jar} files.
+     */
+    public final static String[] ARCHIVE_FILE_TYPES = {".zip", ".jar"};
 }
\ No newline at end of file
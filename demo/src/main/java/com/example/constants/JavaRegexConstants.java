@@ -105,6 +105,13 @@ public class JavaRegexConstants {
         PARAMETERS_DECLARATION_REGEX +     
         THROWS_DECLARATION_REGEX; 
 
+    /**
+     * Regular expression to capture the name of a method in its declaration:
+     * the first identifier followed by an opening parenthesis.
+     * Example: "main" in "public static void main(String[] args) {".
+     */
+    public static final String METHOD_NAME_REGEX = "(\\w+)\\s*\\(";
+
     /**
      * Regular expression to match valid Java declarations, including classes,
      * methods, control flow statements, and more.
@@ -121,33 +128,43 @@ public class JavaRegexConstants {
     public static final String CLASS_INSTANTIATION_REGEX = ".*\\bnew\\s+(([a-zA-Z0-9_]+\\.)" +
         "*[a-zA-Z0-9_]+(<[^>]+>)?\\s*\\([^)]*\\)).*";
 
+    /**
+     * Regular expression to match the modifiers of a class declaration, in any order.
+     * This includes the {@code static} modifier of nested classes.
+     * Example: "public", "private static final", "abstract".
+     */
+    public static final String CLASS_MODIFIERS_REGEX =
+        "((public|protected|private|abstract|final|static|strictfp|sealed|non-sealed)\\s+)*";
+
     /**
      * Regular expression to match standard class declarations.
-     * Example: "public class MyClass {", "class MyClass {".
+     * Example: "public class MyClass {", "class MyClass {", "private static class Inner {".
      */
     public static final String STANDARD_CLASS_DECLARATION_REGEX =
-        "^\\s*(public|protected|private)?\\s*(abstract|final|sealed|non-sealed)?\\s*class\\s+\\w+\\s*\\{";
+        "^\\s*" + CLASS_MODIFIERS_REGEX + "class\\s+\\w+\\s*\\{";
 
     /**
      * Regular expression to match class declarations with generics.
      * Example: "class MyClass<T> {".
      */
     public static final String GENERIC_CLASS_DECLARATION_REGEX =
-        "^\\s*(public|protected|private)?\\s*(abstract|final|sealed|non-sealed)?\\s*class\\s+\\w+\\s*<[^>]+>\\s*\\{";
+        "^\\s*" + CLASS_MODIFIERS_REGEX + "class\\s+\\w+\\s*<[^>]+>\\s*\\{";
 
     /**
      * Regular expression to match class declarations with inheritance.
      * Example: "class MyClass extends ParentClass {".
      */
     public static final String CLASS_WITH_EXTENDS_REGEX =
-        "^\\s*(public|protected|private)?\\s*(abstract|final|sealed|non-sealed)?\\s*class\\s+\\w+\\s*(extends\\s+\\w+(\\s*<[^>]+>)?)?\\s*\\{";
+        "^\\s*" + CLASS_MODIFIERS_REGEX + "class\\s+\\w+\\s*(extends\\s+\\w+(\\s*<[^>]+>)?)?\\s*\\{";
 
     /**
      * Regular expression to match class declarations implementing interfaces.
      * Example: "class MyClass implements Interface1, Interface2 {".
+     * The list of interfaces is possessive: it already takes the whitespace before
+     * the brace, so giving characters back can never find a match.
      */
     public static final String CLASS_WITH_IMPLEMENTS_REGEX =
-        "^\\s*(public|protected|private)?\\s*(abstract|final|sealed|non-sealed)?\\s*class\\s+\\w+\\s*(implements\\s+[\\w,\\s,<>]+)\\s*\\{";
+        "^\\s*" + CLASS_MODIFIERS_REGEX + "class\\s+\\w+\\s*(implements\\s+[\\w,\\s,<>]++)\\s*\\{";
 
     /**
      * Comprehensive regular expression to match any class declaration.
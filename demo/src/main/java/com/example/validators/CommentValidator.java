@@ -4,54 +4,48 @@ package com.example.validators;
  * Validates whether a given line of code is a comment.
  * Supports line comments, block comments, and tracks
  * whether the validator is inside a block comment.
+ *
+ * <p>It is an adapter over {@link JavaLexer}: lines are classified by a
+ * character-level state machine instead of regular expressions, so code that
+ * follows the end of a block comment and comment markers inside string literals
+ * or text blocks are handled correctly.</p>
  */
 public class CommentValidator {
     /**
-     * Regular expression to match line comments. A line comment starts with {@code //} and
-     * can be preceded by whitespace characters.
+     * Lexer that follows the comment and literal state across the lines of the file.
      */
-    private final String LINE_COMMENT_REGEX = "^\\s*//.*";
+    private final JavaLexer lexer = new JavaLexer();
 
     /**
-     * Regular expression to match the start of a block comment. A block comment starts with
-     * {@code /*} and can be preceded by whitespace characters.
-     */
-    private final String START_BLOCK_COMMENT_REGEX = "^\\s*/\\*.*";
-
-    /**
-     * Regular expression to match the start of a documentation comment. A documentation comment
-     * starts with {@code /**} and can be preceded by whitespace characters.
+     * Determines if the given line is a comment.
+     *
+     * @param line The line of code to check
+     * @return true if the line is a comment, false otherwise
      */
-    private final String START_DOC_COMMENT_REGEX = "^\\s*/\\*\\*.*";
+    public boolean isComment(String line) {
+        return isComment((CharSequence) line);
+    }
 
     /**
-     * Regular expression to match the end of a block comment. A block comment ends with
-     * {@code * /} and can be followed by whitespace characters.
+     * Determines if the given line is a comment. Accepts any character
+     * sequence, such as a view over the raw bytes of a file.
+     * A line is a comment if it contains no code and either contains a
+     * comment or is part of a block comment.
+     *
+     * @param line The line of code to check
+     * @return true if the line is a comment, false otherwise
      */
-    private final String END_BLOCK_COMMENT_REGEX = ".*\\*/\\s*$";
+    public boolean isComment(CharSequence line) {
+        this.lexer.scanLine(line);
+        return this.lexer.isCommentLine();
+    }
 
     /**
      * Indicates whether the validator is currently inside a block comment.
+     *
+     * @return true if the last line left a block comment open, false otherwise
      */
-    private boolean isInsideBlockComment = false;
-
-    /**
-     * Determines if the given line is a comment.
-     * 
-     * @param line The line of code to check
-     * @return true if the line is a comment, false otherwise
-     */
-    public boolean isComment(String line) {
-        if (isInsideBlockComment) {
-            if (line.matches(END_BLOCK_COMMENT_REGEX)) {
-                isInsideBlockComment = false;
-            }
-            return true;
-        } else if (line.matches(START_BLOCK_COMMENT_REGEX)) {
-            isInsideBlockComment = !line.matches(END_BLOCK_COMMENT_REGEX);
-            return true;
-        } else {
-            return line.matches(LINE_COMMENT_REGEX);
-        }
+    public boolean isInsideBlockComment() {
+        return this.lexer.getState() == JavaLexer.State.BLOCK_COMMENT;
     }
 }
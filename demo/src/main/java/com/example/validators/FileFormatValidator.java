@@ -1,10 +1,8 @@
 package com.example.validators;
 
-import java.util.List;
-
 import com.example.JavaFile;
+import com.example.PatternRegistry;
 import com.example.constants.FileFormatConstants;
-import com.example.constants.JavaRegexConstants;
 import com.example.constants.SymbolsConstants;
 import com.example.exceptions.FileFormatException;
 
@@ -39,74 +37,97 @@ public class FileFormatValidator {
      * @throws FileFormatException If a formatting error is detected.
      */
     public static boolean isValidFileFormat(JavaFile javaFile) throws FileFormatException {
+        FileValidationEvent event = new FileValidationEvent();
+        event.begin();
         String fileName = javaFile.getName();
         CommentValidator validator = new CommentValidator();
-        List<String> lines = javaFile.getLines();
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty() || validator.isComment(line)) {
-                continue;
-            }
+        try {
+            for (int i = 0; i < javaFile.getLineCount(); i++) {
+                String line = javaFile.getLine(i).toString().trim();
+                if (line.isEmpty() || validator.isComment(line)) {
+                    continue;
+                }
 
-            if (!isValidLineLength(line)) {
-                throw new FileFormatException(
-                    "Error: Line " +
-                    (i + 1) +
-                    " " +
-                    fileName +
-                    " " +
-                    FileFormatConstants.INVALID_LINE_LENGHT_MESSAGE
-                );
+                validateLine(line, i, i > 0 ? javaFile.getLine(i - 1).toString().trim() : "", fileName);
             }
+        } catch (FileFormatException e) {
+            event.commitResult(javaFile, e.getMessage());
+            throw e;
+        }
 
-            line = deleteStringInsideCode(line);
-
-            if (!isValidAnnotationFormat(line, i > 0 ? lines.get(i - 1).trim() : "")) {
-                throw new FileFormatException(
-                    "Error: Line " +
-                    (i + 1) + 
-                    " " + 
-                    fileName + 
-                    " " +
-                    FileFormatConstants.INVALID_ANOTATION_FORMAT_MESSAGE
-                );
-            }
+        event.commitResult(javaFile, null);
+        return true;
+    }
 
-            if (!isValidBracesStyle(line)) {
-                throw new FileFormatException(
-                    "Error: Line " +
-                    (i + 1) + 
-                    " " +
-                    fileName + 
-                    " " +
-                    FileFormatConstants.INVALID_BRACES_STYLE_MESSAGE
-                );
-            }
+    /**
+     * Validates a single line of code that is neither empty nor a comment.
+     * It applies the same rules as {@link #isValidFileFormat(JavaFile)}, so callers
+     * that already walk the lines of a file can validate them in the same pass.
+     *
+     * @param line The trimmed line of code to validate.
+     * @param lineIndex The zero-based index of the line in the file.
+     * @param previousLine The trimmed previous line, or an empty string for the first line.
+     * @param fileName The name of the file, used in the error message.
+     * @throws FileFormatException If the line breaks one of the formatting rules.
+     */
+    public static void validateLine(String line, int lineIndex, String previousLine, String fileName)
+            throws FileFormatException {
+        if (!isValidLineLength(line)) {
+            throw new FileFormatException(
+                "Error: Line " +
+                (lineIndex + 1) +
+                " " +
+                fileName +
+                " " +
+                FileFormatConstants.INVALID_LINE_LENGHT_MESSAGE
+            );
+        }
 
-            if (!isValidMultipleStatements(line)) {
-                throw new FileFormatException(
-                    "Error: Line " + 
-                    (i + 1) + 
-                    " " +
-                    fileName + 
-                    " " +
-                    FileFormatConstants.INVALID_MULTIPLE_STATEMENTS_MESSAGE
-                );
-            }
+        line = deleteStringInsideCode(line);
 
-            if (!isValidImportStatement(line)) {
-                throw new FileFormatException(
-                    "Error: Line " +
-                    (i + 1) + 
-                    " " +
-                    fileName +
-                    " " +
-                    FileFormatConstants.INVALID_IMPORT_STATEMENTS_MESSAGE
-                );
-            }
+        if (!isValidAnnotationFormat(line, previousLine)) {
+            throw new FileFormatException(
+                "Error: Line " +
+                (lineIndex + 1) + 
+                " " + 
+                fileName + 
+                " " +
+                FileFormatConstants.INVALID_ANOTATION_FORMAT_MESSAGE
+            );
         }
 
-        return true;
+        if (!isValidBracesStyle(line)) {
+            throw new FileFormatException(
+                "Error: Line " +
+                (lineIndex + 1) + 
+                " " +
+                fileName + 
+                " " +
+                FileFormatConstants.INVALID_BRACES_STYLE_MESSAGE
+            );
+        }
+
+        if (!isValidMultipleStatements(line)) {
+            throw new FileFormatException(
+                "Error: Line " + 
+                (lineIndex + 1) + 
+                " " +
+                fileName + 
+                " " +
+                FileFormatConstants.INVALID_MULTIPLE_STATEMENTS_MESSAGE
+            );
+        }
+
+        if (!isValidImportStatement(line)) {
+            throw new FileFormatException(
+                "Error: Line " +
+                (lineIndex + 1) + 
+                " " +
+                fileName +
+                " " +
+                FileFormatConstants.INVALID_IMPORT_STATEMENTS_MESSAGE
+            );
+        }
     }
 
     /**
@@ -163,7 +184,7 @@ public class FileFormatValidator {
      * @return The modified line without string literals.
      */
     private static String deleteStringInsideCode(String line) {
-        return line.replaceAll(JavaRegexConstants.QUOTED_STRING_REGEX, "");
+        return PatternRegistry.QUOTED_STRING.removeAll(line);
     }
 
 
@@ -197,9 +218,7 @@ public class FileFormatValidator {
      * @return true if the line matches a control structure with a semicolon, false otherwise
      */
     private static boolean isControlStructureWithSemicolon(String line) {
-        return line.trim().matches(
-            JavaRegexConstants.FLOW_CONTROL_REGEX + SymbolsConstants.SEMICOLON
-        );
+        return PatternRegistry.CONTROL_STRUCTURE_WITH_SEMICOLON.matches(line.trim());
     }
 
     /**
@@ -212,9 +231,7 @@ public class FileFormatValidator {
      * @return true if the line is a valid declaration, false otherwise
      */
     private static boolean isValidDeclaration(String line) {
-        return line.trim().matches(
-            JavaRegexConstants.VALID_DECLARATION
-        );
+        return PatternRegistry.VALID_DECLARATION.matches(line.trim());
     }
 
     /**
@@ -225,7 +242,7 @@ public class FileFormatValidator {
      * {@code false} otherwise.
      */
     private static boolean isValidImportStatement(String line) {
-        return !line.matches(JavaRegexConstants.WILDCARD_IMPORT_REGEX);
+        return !PatternRegistry.WILDCARD_IMPORT.matches(line);
     }
 
     /**
@@ -240,6 +257,6 @@ public class FileFormatValidator {
             return true;
         }
 
-        return currentLine.matches(JavaRegexConstants.ANNOTATION_REGEX);
+        return PatternRegistry.ANNOTATION.matches(currentLine);
     }
 }
\ No newline at end of file
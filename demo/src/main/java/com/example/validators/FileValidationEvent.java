@@ -0,0 +1,67 @@
+package com.example.validators;
+
+import com.example.JavaFile;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the format validation of a file, either by
+ * {@link FileFormatValidator#isValidFileFormat(JavaFile)} or by the single pass
+ * of {@link com.example.FusedAnalysisEngine}, where it also spans the class
+ * analysis and the counting done in the same pass.
+ *
+ * <p>It is only recorded while a flight recording that enables it is running.</p>
+ */
+@Name("com.example.FileValidation")
+@Label("File Validation")
+@Category({"Contador", "Analysis"})
+@Description("Format validation of a Java file")
+@StackTrace(false)
+public class FileValidationEvent extends Event {
+    /**
+     * The path of the file.
+     */
+    @Label("Path")
+    String path;
+
+    /**
+     * The number of lines of the file.
+     */
+    @Label("Lines")
+    int lines;
+
+    /**
+     * Indicates whether the file follows every format rule.
+     */
+    @Label("Valid")
+    boolean valid;
+
+    /**
+     * The error message of the first broken rule, or {@code null}.
+     */
+    @Label("Message")
+    String message;
+
+    /**
+     * Commits the event of the validation of a file, if a recording enables it.
+     * The fields are only filled when the event is committed.
+     *
+     * @param javaFile The validated file.
+     * @param errorMessage The error message of the broken rule, or {@code null} if the file is valid.
+     */
+    public void commitResult(JavaFile javaFile, String errorMessage) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.path = javaFile.getfilePath();
+        this.lines = javaFile.getLineCount();
+        this.valid = errorMessage == null;
+        this.message = errorMessage;
+        commit();
+    }
+}
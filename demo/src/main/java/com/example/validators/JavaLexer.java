@@ -0,0 +1,216 @@
+package com.example.validators;
+
+/**
+ * A small character-level lexer that follows the comment and literal structure
+ * of a Java source file line by line, in a single forward pass.
+ *
+ * <p>It tracks whether the scanner is in code, in a line comment, in a block
+ * comment, or inside a string literal, a character literal or a text block.
+ * The state carries over from one line to the next, so block comments and text
+ * blocks spanning several lines are handled. After each line it reports whether
+ * the line contained code, comments or both, and exposes the code of the line
+ * with comments and literal contents removed.</p>
+ */
+public class JavaLexer {
+    /**
+     * The states of the lexer.
+     */
+    public enum State {
+        /** Plain code, outside any comment or literal. */
+        CODE,
+        /** Inside a {@code //} comment. It always ends with the line. */
+        LINE_COMMENT,
+        /** Inside a {@code /* ... * /} or documentation comment. */
+        BLOCK_COMMENT,
+        /** Inside a {@code "..."} string literal. */
+        STRING_LITERAL,
+        /** Inside a {@code '...'} character literal. */
+        CHAR_LITERAL,
+        /** Inside a {@code """ ... """} text block. */
+        TEXT_BLOCK
+    }
+
+    /**
+     * The state of the lexer between two lines.
+     */
+    private State state = State.CODE;
+
+    /**
+     * The state of the lexer when the last scanned line started.
+     */
+    private State lineStartState = State.CODE;
+
+    /**
+     * Indicates whether the last scanned line contained code.
+     */
+    private boolean lineHasCode;
+
+    /**
+     * Indicates whether the last scanned line contained a comment.
+     */
+    private boolean lineHasComment;
+
+    /**
+     * The code of the last scanned line, without comments and literal contents.
+     */
+    private final StringBuilder code = new StringBuilder();
+
+    /**
+     * Scans one line, updating the state of the lexer. Lines must be given
+     * in order and without their line terminator.
+     *
+     * @param line The line to scan.
+     */
+    public void scanLine(CharSequence line) {
+        this.lineStartState = this.state;
+        this.lineHasCode = false;
+        this.lineHasComment = false;
+        this.code.setLength(0);
+
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            char current = line.charAt(i);
+            char next = i + 1 < length ? line.charAt(i + 1) : '\0';
+            switch (this.state) {
+                case CODE:
+                    if (current == '/' && next == '/') {
+                        this.lineHasComment = true;
+                        this.state = State.LINE_COMMENT;
+                        i = length;
+                        continue;
+                    } else if (current == '/' && next == '*') {
+                        this.lineHasComment = true;
+                        this.state = State.BLOCK_COMMENT;
+                        i += 2;
+                        continue;
+                    } else if (current == '"' && next == '"' && i + 2 < length && line.charAt(i + 2) == '"') {
+                        this.lineHasCode = true;
+                        this.code.append("\"\"\"");
+                        this.state = State.TEXT_BLOCK;
+                        i += 3;
+                        continue;
+                    } else if (current == '"') {
+                        this.lineHasCode = true;
+                        this.code.append(current);
+                        this.state = State.STRING_LITERAL;
+                    } else if (current == '\'') {
+                        this.lineHasCode = true;
+                        this.code.append(current);
+                        this.state = State.CHAR_LITERAL;
+                    } else {
+                        if (current > ' ') {
+                            this.lineHasCode = true;
+                        }
+                        this.code.append(current);
+                    }
+                    i++;
+                    break;
+                case BLOCK_COMMENT:
+                    this.lineHasComment = true;
+                    if (current == '*' && next == '/') {
+                        this.state = State.CODE;
+                        i += 2;
+                    } else {
+                        i++;
+                    }
+                    break;
+                case STRING_LITERAL:
+                case CHAR_LITERAL:
+                    char delimiter = this.state == State.STRING_LITERAL ? '"' : '\'';
+                    if (current == '\\') {
+                        i += 2;
+                    } else if (current == delimiter) {
+                        this.code.append(current);
+                        this.state = State.CODE;
+                        i++;
+                    } else {
+                        i++;
+                    }
+                    break;
+                case TEXT_BLOCK:
+                    this.lineHasCode |= current > ' ';
+                    if (current == '\\') {
+                        i += 2;
+                    } else if (current == '"' && next == '"' && i + 2 < length && line.charAt(i + 2) == '"') {
+                        this.code.append("\"\"\"");
+                        this.state = State.CODE;
+                        i += 3;
+                    } else {
+                        i++;
+                    }
+                    break;
+                default:
+                    i = length;
+                    break;
+            }
+        }
+
+        if (this.state == State.LINE_COMMENT
+                || this.state == State.STRING_LITERAL
+                || this.state == State.CHAR_LITERAL) {
+            // Line comments end with the line; unterminated literals are not valid Java.
+            this.state = State.CODE;
+        }
+    }
+
+    /**
+     * Indicates whether the last scanned line is a comment line: it contains no code
+     * and is either part of a block comment or contains a comment.
+     * Blank lines outside comments are not comment lines.
+     *
+     * @return {@code true} if the last scanned line is a comment line.
+     */
+    public boolean isCommentLine() {
+        return !this.lineHasCode && (this.lineHasComment || this.lineStartState == State.BLOCK_COMMENT);
+    }
+
+    /**
+     * Indicates whether the last scanned line contained code outside comments.
+     *
+     * @return {@code true} if the line contained code.
+     */
+    public boolean hasCode() {
+        return this.lineHasCode;
+    }
+
+    /**
+     * Indicates whether the last scanned line contained a comment.
+     *
+     * @return {@code true} if the line contained a comment.
+     */
+    public boolean hasComment() {
+        return this.lineHasComment;
+    }
+
+    /**
+     * Gets the code of the last scanned line. Comments are removed and
+     * literals keep only their delimiters. The returned sequence is reused
+     * by the next call to {@link #scanLine(CharSequence)}.
+     *
+     * @return The code of the last scanned line.
+     */
+    public CharSequence getCode() {
+        return this.code;
+    }
+
+    /**
+     * Gets the state of the lexer after the last scanned line.
+     *
+     * @return The current state.
+     */
+    public State getState() {
+        return this.state;
+    }
+
+    /**
+     * Resets the lexer so it can scan a new file.
+     */
+    public void reset() {
+        this.state = State.CODE;
+        this.lineStartState = State.CODE;
+        this.lineHasCode = false;
+        this.lineHasComment = false;
+        this.code.setLength(0);
+    }
+}
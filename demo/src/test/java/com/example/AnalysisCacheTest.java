@@ -0,0 +1,238 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the AnalysisCache class.
+ * These tests verify that cached analyses survive a restart, that changed files
+ * are analyzed again and that a touched but unchanged file is found by its digest.
+ */
+public class AnalysisCacheTest {
+
+    private final FusedAnalysisEngine engine = new FusedAnalysisEngine();
+
+    /**
+     * Creates a Java file with a class, a method and a nested class.
+     *
+     * @param directory The directory of the file.
+     * @param name The name of the class.
+     * @return The created file.
+     * @throws IOException if an I/O error occurs while creating the file
+     * @throws FileException if there is an issue handling the file
+     */
+    private JavaFile createJavaFile(Path directory, String name) throws IOException, FileException {
+        Path file = directory.resolve(name + ".java");
+        Files.write(file, List.of(
+            "public class " + name + " {",
+            "    public int value() {",
+            "        return 1;",
+            "    }",
+            "    static class Nested {",
+            "    }",
+            "}"));
+        return new JavaFile(file.toString(), file.getFileName().toString());
+    }
+
+    /**
+     * Analyzes a file through the cache.
+     *
+     * @param cache The cache.
+     * @param javaFile The file to analyze.
+     * @return The analysis of the file.
+     */
+    private FileAnalysis analyze(AnalysisCache cache, JavaFile javaFile) {
+        return ConcurrentFileAnalyzer.analyze(engine, cache, javaFile);
+    }
+
+    /**
+     * Tests that the analyses stored in a run are found, complete, after reopening the cache.
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the file
+     */
+    @Test
+    public void testLookup_AfterReopen() throws IOException, FileException {
+        Path directory = Files.createTempDirectory("analysisCache");
+        Path cacheFile = directory.resolve("cache").resolve("analysis.cache");
+        JavaFile javaFile = createJavaFile(directory, "Cached");
+
+        AnalysisCache coldCache = AnalysisCache.open(cacheFile);
+        FileAnalysis expected = analyze(coldCache, javaFile);
+        coldCache.save();
+        assertEquals(1, coldCache.getMissCount());
+
+        AnalysisCache warmCache = AnalysisCache.open(cacheFile);
+        FileAnalysis cached = warmCache.lookup(javaFile);
+
+        assertNotNull(cached);
+        assertEquals(1, warmCache.getHitCount());
+        assertFalse(javaFile.isLoaded(), "A hit must not read the file");
+        assertEquals(expected.getPhysicalLines(), cached.getPhysicalLines());
+        assertEquals(expected.getLogicalLines(), cached.getLogicalLines());
+        assertEquals(expected.getMethodCount(), cached.getMethodCount());
+        assertEquals(2, cached.getClassesInfo().size());
+        assertEquals("Nested", cached.getClassesInfo().get(1).getClassName());
+        assertEquals(expected.getClassesInfo().get(0).getPhysicalLines(),
+            cached.getClassesInfo().get(0).getPhysicalLines());
+        assertEquals("value", cached.getMethodIndex().getMethodName(0));
+        assertEquals("Cached", cached.getMethodIndex().getClassName(0));
+        assertEquals(4, cached.getMethodIndex().getEndLine(0));
+    }
+
+    /**
+     * Tests that a modified file is analyzed again, while a file whose modification
+     * time changed without changing its content is found by its digest.
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the file
+     */
+    @Test
+    public void testLookup_ChangedAndTouchedFiles() throws IOException, FileException {
+        Path directory = Files.createTempDirectory("analysisCache");
+        Path cacheFile = directory.resolve("analysis.cache");
+        JavaFile changedFile = createJavaFile(directory, "Changed");
+        JavaFile touchedFile = createJavaFile(directory, "Touched");
+
+        AnalysisCache coldCache = AnalysisCache.open(cacheFile);
+        analyze(coldCache, changedFile);
+        analyze(coldCache, touchedFile);
+        coldCache.save();
+
+        Files.write(Path.of(changedFile.getfilePath()), List.of("public class Changed {", "}"));
+        Files.setLastModifiedTime(Path.of(changedFile.getfilePath()), FileTime.fromMillis(1_000_000L));
+        Files.setLastModifiedTime(Path.of(touchedFile.getfilePath()), FileTime.fromMillis(2_000_000L));
+
+        AnalysisCache warmCache = AnalysisCache.open(cacheFile);
+        assertNull(warmCache.lookup(changedFile));
+        assertNotNull(warmCache.lookup(touchedFile));
+        assertEquals(1, warmCache.getHitCount());
+        assertEquals(1, warmCache.getMissCount());
+    }
+
+    /**
+     * Tests that the digest of a new or resized file, taken from the content loaded
+     * for its analysis, lets a later run find the file after only its modification
+     * time changed.
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the file
+     */
+    @Test
+    public void testStore_DigestOfLoadedContent() throws IOException, FileException {
+        Path directory = Files.createTempDirectory("analysisCache");
+        Path cacheFile = directory.resolve("analysis.cache");
+        JavaFile javaFile = createJavaFile(directory, "Resized");
+        Path path = Path.of(javaFile.getfilePath());
+
+        AnalysisCache coldCache = AnalysisCache.open(cacheFile);
+        analyze(coldCache, javaFile);
+        coldCache.save();
+
+        Files.write(path, List.of("public class Resized {", "}"));
+        AnalysisCache resizedCache = AnalysisCache.open(cacheFile);
+        assertEquals(2, analyze(resizedCache, javaFile).getPhysicalLines());
+        assertEquals(1, resizedCache.getMissCount());
+        resizedCache.save();
+
+        Files.setLastModifiedTime(path, FileTime.fromMillis(3_000_000L));
+        AnalysisCache touchedCache = AnalysisCache.open(cacheFile);
+        FileAnalysis cached = touchedCache.lookup(javaFile);
+        assertNotNull(cached);
+        assertEquals(2, cached.getPhysicalLines());
+        assertEquals(1, touchedCache.getHitCount());
+    }
+
+    /**
+     * Tests that a corrupt cache file gives an empty cache.
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the file
+     */
+    @Test
+    public void testOpen_CorruptFile() throws IOException, FileException {
+        Path directory = Files.createTempDirectory("analysisCache");
+        Path cacheFile = directory.resolve("analysis.cache");
+        Files.write(cacheFile, new byte[] {0x4C, 0x4F, 0x43, 0x43, 0, 0, 0, 1, 0, 0, 0, 5, 1, 2});
+
+        AnalysisCache cache = AnalysisCache.open(cacheFile);
+
+        assertNull(cache.lookup(createJavaFile(directory, "Fresh")));
+    }
+
+    /**
+     * Tests that a warm run of a directory prints the same report and answers every file from the cache.
+     *
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the file
+     */
+    @Test
+    public void testProcessDirectory_WarmRunUsesCache() throws IOException, FileException {
+        Path directory = Files.createTempDirectory("analysisCache");
+        Path sources = Files.createDirectory(directory.resolve("sources"));
+        createJavaFile(sources, "First");
+        createJavaFile(sources, "Second");
+        Files.write(sources.resolve("Invalid.java"), List.of("public class Invalid {", "    int a; int b;", "}"));
+        Path cacheFile = directory.resolve("analysis.cache");
+
+        String coldOutput = processDirectory(sources, cacheFile);
+        DirectoryManager warmManager = new DirectoryManager(sources.toString());
+        warmManager.setCacheFile(cacheFile);
+        String warmOutput = capture(warmManager);
+
+        assertEquals(coldOutput, warmOutput);
+        assertTrue(warmOutput.contains("Second"));
+        assertEquals(3, warmManager.getAnalysisCache().getHitCount());
+        assertEquals(0, warmManager.getAnalysisCache().getMissCount());
+    }
+
+    /**
+     * Processes a directory with a cache file and captures its output.
+     *
+     * @param directory The directory to process.
+     * @param cacheFile The cache file.
+     * @return The printed output.
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the file
+     */
+    private String processDirectory(Path directory, Path cacheFile) throws IOException, FileException {
+        DirectoryManager directoryManager = new DirectoryManager(directory.toString());
+        directoryManager.setCacheFile(cacheFile);
+        return capture(directoryManager);
+    }
+
+    /**
+     * Processes a directory and captures everything it prints.
+     *
+     * @param directoryManager The manager of the directory.
+     * @return The printed output.
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the file
+     */
+    private String capture(DirectoryManager directoryManager) throws IOException, FileException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+        try {
+            directoryManager.processDirectory();
+        } finally {
+            System.setOut(originalOut);
+        }
+        return outputStream.toString();
+    }
+}
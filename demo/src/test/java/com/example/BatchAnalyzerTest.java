@@ -0,0 +1,108 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the BatchAnalyzer class.
+ * These tests verify the parsing of the command line and the per-directory
+ * and combined reports of a batch run.
+ */
+public class BatchAnalyzerTest {
+
+    /**
+     * Tests that roots and paths files are added in order, skipping blank and comment lines.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the paths file cannot be written or read
+     */
+    @Test
+    public void testFromArguments_readsRootsAndPathsFile(@TempDir Path tempDir) throws IOException {
+        Path pathsFile = tempDir.resolve("paths.txt");
+        Files.write(pathsFile, List.of("# repositories", "second", "", "  third  "));
+
+        BatchAnalyzer batchAnalyzer = BatchAnalyzer.fromArguments(
+            new String[] {"first", "--paths-file", pathsFile.toString(), "--threads", "3", "fourth"});
+
+        assertEquals(List.of("first", "second", "third", "fourth"), batchAnalyzer.getRoots());
+    }
+
+    /**
+     * Tests that unknown options, missing values and invalid thread counts are rejected.
+     */
+    @Test
+    public void testFromArguments_rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+            () -> BatchAnalyzer.fromArguments(new String[] {"--unknown", "root"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> BatchAnalyzer.fromArguments(new String[] {"root", "--paths-file"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> BatchAnalyzer.fromArguments(new String[] {"--threads", "0"}));
+        assertThrows(IllegalArgumentException.class,
+            () -> BatchAnalyzer.fromArguments(new String[] {"--threads", "many"}));
+    }
+
+    /**
+     * Tests that an error without a message is reported by the name of its class.
+     */
+    @Test
+    public void testGetErrorMessage_withoutMessage() {
+        assertEquals("java.lang.NullPointerException", BatchAnalyzer.getErrorMessage(new NullPointerException()));
+        assertEquals("Error: Broken.", BatchAnalyzer.getErrorMessage(new IllegalStateException("Error: Broken.")));
+    }
+
+    /**
+     * Tests that every root is analyzed and reported, that a missing root does not
+     * stop the others and that the combined report adds up the analyzed roots.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files cannot be written
+     */
+    @Test
+    public void testRun_reportsEachRootAndTotals(@TempDir Path tempDir) throws IOException {
+        Path first = Files.createDirectories(tempDir.resolve("first"));
+        Files.writeString(first.resolve("One.java"), "public class One {\n    private int a;\n}\n");
+        Path second = Files.createDirectories(tempDir.resolve("second"));
+        Files.writeString(second.resolve("Two.java"), "public class Two {\n}\n");
+        Files.writeString(second.resolve("Three.java"), "public class Three {\n}\n");
+        String missing = tempDir.resolve("missing").toString();
+
+        BatchAnalyzer batchAnalyzer = new BatchAnalyzer();
+        batchAnalyzer.addRoot(first.toString());
+        batchAnalyzer.addRoot(missing);
+        batchAnalyzer.addRoot(second.toString());
+        batchAnalyzer.setThreads(2);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+        int failedRootCount;
+        try {
+            failedRootCount = batchAnalyzer.run();
+        } finally {
+            System.setOut(originalOut);
+        }
+        String report = output.toString(StandardCharsets.UTF_8);
+
+        assertEquals(1, failedRootCount);
+        assertTrue(report.contains("| first "));
+        assertTrue(report.contains("| second "));
+        assertTrue(report.contains("Resumen de 3 directorios:"));
+        assertTrue(report.contains("  " + first + ": 1 archivos, 1 clases, 3 LOC físicas"));
+        assertTrue(report.contains("  " + missing + ": Error: The directory does not exist."));
+        assertTrue(report.contains("  " + second + ": 2 archivos, 2 clases, 4 LOC físicas"));
+        assertTrue(report.contains("Total: 3 archivos, 3 clases, 7 LOC físicas. Directorios con errores: 1"));
+    }
+}
@@ -56,6 +56,111 @@ class ClassAnalyzerTest {
         assertEquals(5, classInfo.getPhysicalLines()); // 5 líneas físicas
     }
 
+    @Test
+    void testAnalyze_NestedClasses() throws IOException, FileException {
+        Path javaFilePath = createJavaFile("Outer.java", List.of(
+                "package sample;",
+                "",
+                "public class Outer {",
+                "    private int x;",
+                "    public void outerMethod() { }",
+                "    private static class StaticNested {",
+                "        public int nestedMethod() { return 0; }",
+                "    }",
+                "    class Inner {",
+                "        public void innerMethod() {",
+                "            class Local {",
+                "                public void localMethod() { }",
+                "            }",
+                "        }",
+                "    }",
+                "    public void lastMethod() { }",
+                "}"));
+
+        JavaFile javaFile = new JavaFile(javaFilePath.toString(), javaFilePath.getFileName().toString());
+
+        List<ClassInfo> classInfoList = classAnalyzer.analyze(javaFile);
+
+        // Cada clase recibe solo las líneas y métodos que encierra directamente
+        assertEquals(4, classInfoList.size());
+        assertClassInfo(classInfoList.get(0), "Outer", 2, 5);
+        assertClassInfo(classInfoList.get(1), "StaticNested", 1, 3);
+        assertClassInfo(classInfoList.get(2), "Inner", 1, 4);
+        assertClassInfo(classInfoList.get(3), "Local", 1, 3);
+    }
+
+    @Test
+    void testAnalyze_SeveralTopLevelClasses() throws IOException, FileException {
+        Path javaFilePath = createJavaFile("TopLevel.java", List.of(
+                "public class First {",
+                "    // public class Commented {",
+                "    public void first() { }",
+                "}",
+                "",
+                "class Second extends First {",
+                "    /* } */",
+                "    private String text = \"}\";",
+                "    public void second() { }",
+                "    public void third() { }",
+                "}",
+                "final class Third {}"));
+
+        JavaFile javaFile = new JavaFile(javaFilePath.toString(), javaFilePath.getFileName().toString());
+
+        List<ClassInfo> classInfoList = classAnalyzer.analyze(javaFile);
+
+        // Las llaves dentro de comentarios y cadenas no cierran la clase
+        assertEquals(3, classInfoList.size());
+        assertClassInfo(classInfoList.get(0), "First", 1, 3);
+        assertClassInfo(classInfoList.get(1), "Second", 2, 5);
+        assertClassInfo(classInfoList.get(2), "Third", 0, 1);
+    }
+
+    @Test
+    void testAnalyze_MethodRecords() throws IOException, FileException {
+        Path javaFilePath = createJavaFile("Sizes.java", List.of(
+                "public class Sizes {",
+                "    public int small() { return 1; }",
+                "",
+                "    public int large(int value) {",
+                "        // comentario",
+                "        if (value > 0) {",
+                "            return value;",
+                "        }",
+                "        return 0;",
+                "    }",
+                "    class Inner {",
+                "        public void inner() {",
+                "        }",
+                "    }",
+                "}"));
+
+        JavaFile javaFile = new JavaFile(javaFilePath.toString(), javaFilePath.getFileName().toString());
+        MethodIndex methodIndex = new MethodIndex();
+
+        classAnalyzer.analyze(javaFile, methodIndex);
+
+        assertEquals(3, methodIndex.size());
+        assertMethodRecord(methodIndex, 0, "small", "Sizes", 2, 2, 1);
+        assertMethodRecord(methodIndex, 1, "large", "Sizes", 4, 10, 6);
+        assertMethodRecord(methodIndex, 2, "inner", "Inner", 12, 13, 2);
+    }
+
+    private void assertMethodRecord(MethodIndex methodIndex, int index, String methodName, String className,
+            int startLine, int endLine, int physicalLines) {
+        assertEquals(methodName, methodIndex.getMethodName(index));
+        assertEquals(className, methodIndex.getClassName(index));
+        assertEquals(startLine, methodIndex.getStartLine(index), "Línea inicial de " + methodName);
+        assertEquals(endLine, methodIndex.getEndLine(index), "Línea final de " + methodName);
+        assertEquals(physicalLines, methodIndex.getPhysicalLines(index), "LOC físicas de " + methodName);
+    }
+
+    private void assertClassInfo(ClassInfo classInfo, String className, int methodCount, int physicalLines) {
+        assertEquals(className, classInfo.getClassName());
+        assertEquals(methodCount, classInfo.getMethodCount(), "Métodos de " + className);
+        assertEquals(physicalLines, classInfo.getPhysicalLines(), "LOC físicas de " + className);
+    }
+
     private Path createJavaFile(String fileName, List<String> lines) throws IOException {
         Path javaFilePath = tempDir.resolve(fileName);
         Files.write(javaFilePath, lines);
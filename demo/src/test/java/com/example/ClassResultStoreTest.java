@@ -0,0 +1,94 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ClassResultStore class.
+ * These tests verify how class rows are stored and how the widths and totals are kept.
+ */
+public class ClassResultStoreTest {
+
+    /**
+     * Tests that rows keep their values, that names are interned and that the
+     * maxima and totals follow every append.
+     */
+    @Test
+    public void testAdd_KeepsRowsAndAggregates() {
+        ClassResultStore store = new ClassResultStore();
+        for (int i = 0; i < 100; i++) {
+            store.add(i % 2 == 0 ? "Even" : "OddClass", i % 7, i, i / 10);
+        }
+
+        assertEquals(100, store.size());
+        assertEquals("OddClass", store.getClassName(97));
+        assertEquals(97 % 7, store.getMethodCount(97));
+        assertEquals(97, store.getPhysicalLines(97));
+        assertEquals(9, store.getFileId(97));
+        assertEquals(2, store.getDistinctClassNameCount());
+        assertEquals(8, store.getMaxClassNameLength());
+        assertEquals(6, store.getMaxMethodCount());
+        assertEquals(99, store.getMaxPhysicalLines());
+        assertEquals(99 * 100 / 2, store.getTotalPhysicalLines());
+    }
+
+    /**
+     * Tests that a store created from a list keeps the order of the list.
+     */
+    @Test
+    public void testOf_KeepsListOrder() {
+        List<ClassInfo> classInfoList = List.of(
+            new ClassInfo("First", 1, 10), new ClassInfo("Second", 2, 20), new ClassInfo("First", 0, 3));
+
+        ClassResultStore store = ClassResultStore.of(classInfoList);
+
+        assertEquals(3, store.size());
+        for (int i = 0; i < classInfoList.size(); i++) {
+            assertEquals(classInfoList.get(i).getClassName(), store.getClassName(i));
+            assertEquals(classInfoList.get(i).getMethodCount(), store.getMethodCount(i));
+            assertEquals(classInfoList.get(i).getPhysicalLines(), store.getPhysicalLines(i));
+            assertEquals(MethodIndex.NONE, store.getFileId(i));
+        }
+        assertEquals(3, store.getTotalMethodCount());
+    }
+
+    /**
+     * Tests that rows appended by several threads are all kept and that the
+     * rows of each file stay together.
+     *
+     * @throws Exception if a worker fails
+     */
+    @Test
+    public void testAddAll_FromParallelWorkers() throws Exception {
+        ClassResultStore store = new ClassResultStore();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int fileId = 0; fileId < 200; fileId++) {
+                int id = fileId;
+                futures.add(executor.submit(() -> store.addAll(
+                    List.of(new ClassInfo("A" + id, 1, 2), new ClassInfo("B" + id, 3, 4)), id)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(400, store.size());
+        assertEquals(200 * 4, store.getTotalMethodCount());
+        assertEquals(200 * 6, store.getTotalPhysicalLines());
+        for (int i = 0; i < store.size(); i += 2) {
+            assertEquals(store.getFileId(i), store.getFileId(i + 1));
+            assertEquals("B" + store.getFileId(i), store.getClassName(i + 1));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Concurrency stress tests for the line counters, the class analyzer and the
+ * analysis engines. A single instance of each is shared by many threads that
+ * analyze the sample corpus at the same time, and every result must match the
+ * single-threaded output.
+ */
+public class ConcurrencyStressTest {
+
+    /**
+     * Number of threads analyzing the corpus at the same time.
+     */
+    private static final int THREADS = 16;
+
+    /**
+     * Number of times each thread analyzes the whole corpus.
+     */
+    private static final int ROUNDS = 20;
+
+    private final PhysicalLineCounter physicalLineCounter = new PhysicalLineCounter();
+    private final LogicalLineCounter logicalLineCounter = new LogicalLineCounter();
+    private final MethodLineCounter methodLineCounter = new MethodLineCounter();
+    private final ClassAnalyzer classAnalyzer = new ClassAnalyzer();
+    private final FusedAnalysisEngine fusedEngine = new FusedAnalysisEngine();
+    private final MultiPassAnalysisEngine referenceEngine = new MultiPassAnalysisEngine();
+
+    /**
+     * Lists the Java files of the sample corpus.
+     *
+     * @return The paths of the Java files.
+     * @throws IOException if an I/O error occurs
+     */
+    private List<Path> listCorpus() throws IOException {
+        try (Stream<Path> paths = Files.walk(Path.of("files"))) {
+            return paths.filter(path -> JavaFile.isValidFileType(path.toString())).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Describes every result computed for the corpus with the shared instances.
+     * Each call works on its own {@link JavaFile} objects, which are not meant to be shared.
+     *
+     * @param corpus The paths of the Java files.
+     * @return One line per file with every result.
+     * @throws Exception if a file cannot be loaded
+     */
+    private String analyzeCorpus(List<Path> corpus) throws Exception {
+        StringBuilder description = new StringBuilder();
+        for (Path path : corpus) {
+            JavaFile javaFile = new JavaFile(path.toString(), path.getFileName().toString());
+            javaFile.load();
+            description.append(path)
+                .append(' ').append(physicalLineCounter.count(javaFile))
+                .append(' ').append(logicalLineCounter.count(javaFile))
+                .append(' ').append(methodLineCounter.count(javaFile));
+            for (ClassInfo classInfo : classAnalyzer.analyze(javaFile)) {
+                description.append(' ').append(classInfo.getClassName())
+                    .append(':').append(classInfo.getMethodCount())
+                    .append(':').append(classInfo.getPhysicalLines());
+            }
+            for (FileAnalysis fileAnalysis : List.of(fusedEngine.analyze(javaFile), referenceEngine.analyze(javaFile))) {
+                description.append(' ').append(fileAnalysis.isValid())
+                    .append(':').append(fileAnalysis.getPhysicalLines())
+                    .append(':').append(fileAnalysis.getLogicalLines())
+                    .append(':').append(fileAnalysis.getMethodCount());
+            }
+            javaFile.release();
+            description.append('\n');
+        }
+        return description.toString();
+    }
+
+    /**
+     * Tests that shared counters, analyzers and engines give the single-threaded
+     * results when used from many threads at the same time.
+     *
+     * @throws Exception if the corpus cannot be analyzed
+     */
+    @Test
+    public void testSharedInstancesMatchSingleThreadedOutput() throws Exception {
+        List<Path> corpus = listCorpus();
+        assertFalse(corpus.isEmpty(), "The sample corpus must contain Java files");
+        String expected = analyzeCorpus(corpus);
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                Callable<List<String>> task = () -> {
+                    start.await();
+                    List<String> outputs = new ArrayList<>();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        outputs.add(analyzeCorpus(corpus));
+                    }
+                    return outputs;
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+
+            for (Future<List<String>> result : results) {
+                for (String output : result.get()) {
+                    assertEquals(expected, output);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the ConcurrentFileAnalyzer and AnalysisCollector classes.
+ * These tests verify that files analyzed concurrently are merged in file order
+ * and that the cap on open files is respected.
+ */
+public class ConcurrentFileAnalyzerTest {
+
+    /**
+     * Creates temporary Java files, each declaring one class with the given number of fields.
+     *
+     * @param count The number of files to create.
+     * @return The created files, in creation order.
+     * @throws IOException if an I/O error occurs while creating the files
+     * @throws FileException if there is an issue handling the files
+     */
+    private List<JavaFile> createJavaFiles(int count) throws IOException, FileException {
+        Path directory = Files.createTempDirectory("concurrentFiles");
+        directory.toFile().deleteOnExit();
+        List<JavaFile> javaFiles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<String> lines = new ArrayList<>();
+            lines.add("public class Sample" + i + " {");
+            for (int field = 0; field < i % 5; field++) {
+                lines.add("    private int field" + field + ";");
+            }
+            lines.add("}");
+            Path file = directory.resolve("Sample" + i + ".java");
+            Files.write(file, lines);
+            file.toFile().deleteOnExit();
+            javaFiles.add(new JavaFile(file.toString(), file.getFileName().toString()));
+        }
+        return javaFiles;
+    }
+
+    /**
+     * Tests that results are merged in file order, whatever order the tasks finish in.
+     *
+     * @throws FileException if an issue occurs while processing the files
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testAnalyzeAll_MergesInFileOrder() throws FileException, IOException {
+        List<JavaFile> javaFiles = createJavaFiles(40);
+        AnalysisCollector collector = new AnalysisCollector(javaFiles.size());
+
+        new ConcurrentFileAnalyzer(FusedAnalysisEngine::new, 8).analyzeAll(javaFiles, collector);
+
+        ClassResultStore classResults = collector.getClassResults();
+        assertEquals(40, classResults.size());
+        int expectedLOC = 0;
+        for (int i = 0; i < classResults.size(); i++) {
+            assertEquals("Sample" + i, classResults.getClassName(i));
+            assertEquals(2 + i % 5, classResults.getPhysicalLines(i));
+            assertEquals(i, classResults.getFileId(i));
+            expectedLOC += 2 + i % 5;
+        }
+        assertEquals(expectedLOC, collector.getTotalLOC());
+        assertTrue(collector.getErrorMessages().isEmpty());
+        assertFalse(javaFiles.get(0).isLoaded(), "Files must be released after the analysis");
+    }
+
+    /**
+     * Tests that no more files than the cap are analyzed at the same time.
+     *
+     * @throws FileException if an issue occurs while processing the files
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testAnalyzeAll_RespectsMaxOpenFiles() throws FileException, IOException {
+        List<JavaFile> javaFiles = createJavaFiles(24);
+        AtomicInteger openFiles = new AtomicInteger();
+        AtomicInteger maxObserved = new AtomicInteger();
+        AnalysisEngine slowEngine = javaFile -> {
+            maxObserved.accumulateAndGet(openFiles.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            openFiles.decrementAndGet();
+            return new FusedAnalysisEngine().analyze(javaFile);
+        };
+
+        AnalysisCollector collector = new AnalysisCollector(javaFiles.size());
+        new ConcurrentFileAnalyzer(() -> slowEngine, 3).analyzeAll(javaFiles, collector);
+
+        assertTrue(maxObserved.get() <= 3, "At most 3 files may be open, got " + maxObserved.get());
+        assertEquals(24, collector.getClassResults().size());
+    }
+
+    /**
+     * Tests that a file that cannot be read is reported as an error without stopping the others.
+     *
+     * @throws FileException if an issue occurs while processing the files
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testAnalyzeAll_ReportsUnreadableFile() throws FileException, IOException {
+        List<JavaFile> javaFiles = createJavaFiles(3);
+        Files.delete(Path.of(javaFiles.get(1).getfilePath()));
+        AnalysisCollector collector = new AnalysisCollector(javaFiles.size());
+
+        new ConcurrentFileAnalyzer(FusedAnalysisEngine::new, 2).analyzeAll(javaFiles, collector);
+
+        assertEquals(1, collector.getErrorMessages().size());
+        assertEquals(2, collector.getClassResults().size());
+    }
+
+    /**
+     * Tests that the cap on open files must be positive.
+     */
+    @Test
+    public void testConstructor_RejectsInvalidCap() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentFileAnalyzer(FusedAnalysisEngine::new, 0));
+    }
+
+    /**
+     * Tests that a shared executor runs several analyses and is left running after each of them.
+     *
+     * @throws FileException if an issue occurs while processing the files
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testAnalyzeAll_KeepsSharedExecutorRunning() throws FileException, IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int run = 0; run < 2; run++) {
+                List<JavaFile> javaFiles = createJavaFiles(10);
+                AnalysisCollector collector = new AnalysisCollector(javaFiles.size());
+
+                new ConcurrentFileAnalyzer(FusedAnalysisEngine::new, 4, null, executor)
+                    .analyzeAll(javaFiles, collector);
+
+                assertEquals(10, collector.getClassResults().size());
+                assertFalse(executor.isShutdown());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
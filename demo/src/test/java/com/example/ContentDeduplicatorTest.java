@@ -0,0 +1,89 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the ContentDeduplicator class.
+ */
+public class ContentDeduplicatorTest {
+
+    /**
+     * Writes a Java file and creates its JavaFile.
+     * @param directory the directory of the file.
+     * @param relativePath the path of the file inside the directory.
+     * @param lines the content of the file.
+     * @return the JavaFile of the written file.
+     */
+    private JavaFile writeJavaFile(Path directory, String relativePath, List<String> lines)
+            throws IOException, FileException {
+        Path filePath = directory.resolve(relativePath);
+        Files.createDirectories(filePath.getParent());
+        Files.write(filePath, lines);
+        return new JavaFile(filePath.toString(), filePath.getFileName().toString());
+    }
+
+    /**
+     * Test to verify that only byte-identical files are treated as copies,
+     * even when other files have the same size.
+     * @param tempDir a temporary directory provided by JUnit.
+     */
+    @Test
+    public void testOf_identicalContentOnly(@TempDir Path tempDir) throws IOException, FileException {
+        List<JavaFile> javaFiles = new ArrayList<>();
+        javaFiles.add(writeJavaFile(tempDir, "a/Alpha.java", List.of("public class Alpha {", "}")));
+        javaFiles.add(writeJavaFile(tempDir, "b/Omega.java", List.of("public class Omega {", "}")));
+        javaFiles.add(writeJavaFile(tempDir, "c/Alpha.java", List.of("public class Alpha {", "}")));
+        javaFiles.add(writeJavaFile(tempDir, "Unique.java", List.of("public class Unique {", "    int x;", "}")));
+        javaFiles.add(writeJavaFile(tempDir, "d/Alpha.java", List.of("public class Alpha {", "}")));
+
+        ContentDeduplicator deduplicator = ContentDeduplicator.of(javaFiles);
+
+        assertEquals(2, deduplicator.getDuplicateCount());
+        assertEquals(List.of(javaFiles.get(0), javaFiles.get(1), javaFiles.get(3)), deduplicator.getDistinctFiles());
+    }
+
+    /**
+     * Test to verify that the analysis of an original is attributed to its copies,
+     * and that a renamed copy of an invalid file gets its own error message.
+     * @param tempDir a temporary directory provided by JUnit.
+     */
+    @Test
+    public void testAttribute_copiesShareAnalysis(@TempDir Path tempDir) throws IOException, FileException {
+        List<String> invalidLines = List.of("public class Broken {", "    int a = 1; int b = 2;", "}");
+        List<JavaFile> javaFiles = new ArrayList<>();
+        javaFiles.add(writeJavaFile(tempDir, "a/Alpha.java", List.of("public class Alpha {", "}")));
+        javaFiles.add(writeJavaFile(tempDir, "b/Alpha.java", List.of("public class Alpha {", "}")));
+        javaFiles.add(writeJavaFile(tempDir, "a/Broken.java", invalidLines));
+        javaFiles.add(writeJavaFile(tempDir, "b/Copy.java", invalidLines));
+
+        ContentDeduplicator deduplicator = ContentDeduplicator.of(javaFiles);
+        List<JavaFile> distinctFiles = deduplicator.getDistinctFiles();
+        AnalysisCollector distinctCollector = new AnalysisCollector(distinctFiles.size());
+        FusedAnalysisEngine analysisEngine = new FusedAnalysisEngine();
+        for (int i = 0; i < distinctFiles.size(); i++) {
+            distinctCollector.collect(i, ConcurrentFileAnalyzer.analyze(analysisEngine, distinctFiles.get(i)));
+        }
+        AnalysisCollector collector = deduplicator.attribute(distinctCollector, FusedAnalysisEngine::new, null);
+
+        assertEquals(2, distinctFiles.size());
+        assertSame(collector.get(0), collector.get(1));
+        assertEquals(2 * collector.get(0).getPhysicalLines(), collector.getTotalLOC());
+        assertFalse(collector.get(2).isValid());
+        assertTrue(collector.get(2).getErrorMessage().contains("Broken.java"));
+        assertTrue(collector.get(3).getErrorMessage().contains("Copy.java"));
+    }
+}
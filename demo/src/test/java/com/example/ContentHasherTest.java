@@ -0,0 +1,46 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the ContentHasher class.
+ */
+public class ContentHasherTest {
+
+    /**
+     * Tests the digest of a known value.
+     */
+    @Test
+    public void testHash_KnownValue() {
+        byte[] hash = ContentHasher.hash("abc".getBytes(StandardCharsets.US_ASCII));
+
+        assertEquals(ContentHasher.HASH_LENGTH, hash.length);
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", ContentHasher.toHex(hash));
+    }
+
+    /**
+     * Tests that a file larger than the streaming buffer gives the digest of its bytes.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testHash_FileMatchesBytes() throws IOException {
+        byte[] content = new byte[200_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        Path file = Files.createTempFile("hashed", ".java");
+        file.toFile().deleteOnExit();
+        Files.write(file, content);
+
+        assertArrayEquals(ContentHasher.hash(content), ContentHasher.hash(file));
+    }
+}
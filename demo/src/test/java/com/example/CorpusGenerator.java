@@ -0,0 +1,389 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import com.example.constants.FileFormatConstants;
+
+/**
+ * Writes synthetic Java source trees to measure how the analyzer scales.
+ *
+ * <p>The shape of the tree is configurable: number of files, depth of the
+ * directories, classes per file, nested classes per class, methods per class
+ * and statements per method, how often comments and long lines appear, and how
+ * many files break one of the rules of
+ * {@link com.example.validators.FileFormatValidator}. Every file is generated
+ * from the seed and its own position, so the same settings always write the
+ * same bytes, whatever the order in which files are written.</p>
+ */
+public class CorpusGenerator {
+    /**
+     * The format violations a generated file can contain, one per invalid file.
+     */
+    public enum Violation {
+        /** A line longer than the maximum length. */
+        LINE_LENGTH,
+        /** Two statements on the same line. */
+        MULTIPLE_STATEMENTS,
+        /** A method whose body opens and closes on its declaration line. */
+        BRACES_STYLE,
+        /** A wildcard import. */
+        WILDCARD_IMPORT,
+        /** An annotation on the same line as the declaration it annotates. */
+        ANNOTATION_FORMAT
+    }
+
+    /**
+     * Number of subdirectories of each generated directory.
+     */
+    private static final int DIRECTORIES_PER_LEVEL = 8;
+
+    /**
+     * Length of the long lines that are still within the maximum length.
+     */
+    private static final int LONG_LINE_LENGTH = 116;
+
+    /**
+     * The seed of the generated tree.
+     */
+    private final long seed;
+
+    /**
+     * Number of files to generate.
+     */
+    private int fileCount = 1000;
+
+    /**
+     * Number of directory levels below the root.
+     */
+    private int directoryDepth = 3;
+
+    /**
+     * Number of top-level classes in each file.
+     */
+    private int classesPerFile = 1;
+
+    /**
+     * Number of nested classes in each top-level class.
+     */
+    private int nestedClassesPerClass = 1;
+
+    /**
+     * Number of methods in each class.
+     */
+    private int methodsPerClass = 5;
+
+    /**
+     * Number of statements in each method.
+     */
+    private int statementsPerMethod = 6;
+
+    /**
+     * Probability that a statement is preceded by a comment.
+     */
+    private double commentDensity = 0.2;
+
+    /**
+     * Probability that a statement is a long line within the maximum length.
+     */
+    private double longLineRate = 0.05;
+
+    /**
+     * Probability that a file contains a format violation.
+     */
+    private double violationRate = 0.0;
+
+    /**
+     * Constructs a generator with the default shape.
+     *
+     * @param seed The seed of the generated tree.
+     */
+    public CorpusGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the number of files to generate.
+     *
+     * @param fileCount The number of files.
+     */
+    public void setFileCount(int fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    /**
+     * Sets the number of directory levels below the root. Files are spread evenly
+     * over the directories of the last level, with {@value #DIRECTORIES_PER_LEVEL}
+     * subdirectories per directory.
+     *
+     * @param directoryDepth The number of levels; 0 writes every file in the root.
+     */
+    public void setDirectoryDepth(int directoryDepth) {
+        this.directoryDepth = directoryDepth;
+    }
+
+    /**
+     * Sets the number of top-level classes in each file.
+     *
+     * @param classesPerFile The number of classes, at least 1.
+     */
+    public void setClassesPerFile(int classesPerFile) {
+        this.classesPerFile = classesPerFile;
+    }
+
+    /**
+     * Sets the number of nested classes in each top-level class.
+     *
+     * @param nestedClassesPerClass The number of nested classes.
+     */
+    public void setNestedClassesPerClass(int nestedClassesPerClass) {
+        this.nestedClassesPerClass = nestedClassesPerClass;
+    }
+
+    /**
+     * Sets the number of methods in each class, nested or not.
+     *
+     * @param methodsPerClass The number of methods.
+     */
+    public void setMethodsPerClass(int methodsPerClass) {
+        this.methodsPerClass = methodsPerClass;
+    }
+
+    /**
+     * Sets the number of statements in each method.
+     *
+     * @param statementsPerMethod The number of statements.
+     */
+    public void setStatementsPerMethod(int statementsPerMethod) {
+        this.statementsPerMethod = statementsPerMethod;
+    }
+
+    /**
+     * Sets the probability that a statement is preceded by a comment. Line and
+     * block comments are generated in equal parts.
+     *
+     * @param commentDensity The probability, between 0 and 1.
+     */
+    public void setCommentDensity(double commentDensity) {
+        this.commentDensity = commentDensity;
+    }
+
+    /**
+     * Sets the probability that a statement is a long line that is still within
+     * the maximum length.
+     *
+     * @param longLineRate The probability, between 0 and 1.
+     */
+    public void setLongLineRate(double longLineRate) {
+        this.longLineRate = longLineRate;
+    }
+
+    /**
+     * Sets the probability that a file contains a format violation.
+     *
+     * @param violationRate The probability, between 0 and 1.
+     */
+    public void setViolationRate(double violationRate) {
+        this.violationRate = violationRate;
+    }
+
+    /**
+     * Writes the tree.
+     *
+     * @param root The directory that receives the tree. It is created if needed.
+     * @return The number of files written with a format violation.
+     * @throws IOException If a file cannot be written.
+     */
+    public int generate(Path root) throws IOException {
+        int invalidFiles = 0;
+        for (int fileId = 0; fileId < this.fileCount; fileId++) {
+            String packageName = getPackageName(fileId);
+            Path directory = packageName.isEmpty() ? root : root.resolve(packageName.replace('.', '/'));
+            Files.createDirectories(directory);
+            Path file = directory.resolve(getClassName(fileId) + FileFormatConstants.JAVA_FILE_TYPE);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                if (writeFile(writer, fileId, packageName)) {
+                    invalidFiles++;
+                }
+            }
+        }
+        return invalidFiles;
+    }
+
+    /**
+     * Writes the content of a file.
+     *
+     * @param writer      The writer of the file.
+     * @param fileId      The position of the file.
+     * @param packageName The package of the file, or an empty string.
+     * @return {@code true} if the file contains a format violation.
+     * @throws IOException If the file cannot be written.
+     */
+    private boolean writeFile(BufferedWriter writer, int fileId, String packageName) throws IOException {
+        Random random = new Random(this.seed * 1_000_003L + fileId);
+        Violation violation = random.nextDouble() < this.violationRate
+            ? Violation.values()[random.nextInt(Violation.values().length)]
+            : null;
+
+        if (!packageName.isEmpty()) {
+            writeLine(writer, 0, "package " + packageName + ";");
+            writeLine(writer, 0, "");
+        }
+        writeLine(writer, 0, violation == Violation.WILDCARD_IMPORT ? "import java.util.*;" : "import java.util.List;");
+        writeLine(writer, 0, "");
+
+        // The violation goes in the first method of the first class
+        String className = getClassName(fileId);
+        for (int classIndex = 0; classIndex < this.classesPerFile; classIndex++) {
+            String name = classIndex == 0 ? className : className + "Part" + classIndex;
+            writeLine(writer, 0, "/**");
+            writeLine(writer, 0, " * Generated class " + name + ".");
+            writeLine(writer, 0, " */");
+            writeLine(writer, 0, (classIndex == 0 ? "public class " : "class ") + name + " {");
+            writeClassBody(writer, random, 1, classIndex == 0 ? violation : null);
+            for (int nested = 0; nested < this.nestedClassesPerClass; nested++) {
+                writeLine(writer, 0, "");
+                writeLine(writer, 1, "private static class Nested" + nested + " {");
+                writeClassBody(writer, random, 2, null);
+                writeLine(writer, 1, "}");
+            }
+            writeLine(writer, 0, "}");
+            writeLine(writer, 0, "");
+        }
+        return violation != null;
+    }
+
+    /**
+     * Writes the field and the methods of a class.
+     *
+     * @param writer    The writer of the file.
+     * @param random    The random source of the file.
+     * @param indent    The indentation level of the members.
+     * @param violation The violation to write in the first method, or {@code null}.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeClassBody(BufferedWriter writer, Random random, int indent, Violation violation)
+            throws IOException {
+        writeLine(writer, indent, "private int total;");
+        for (int method = 0; method < this.methodsPerClass; method++) {
+            writeLine(writer, 0, "");
+            if (method == 0 && violation == Violation.BRACES_STYLE) {
+                writeLine(writer, indent, "public void empty() {}");
+                continue;
+            }
+            if (method == 0 && violation == Violation.ANNOTATION_FORMAT) {
+                writeLine(writer, indent, "@Deprecated public int method" + method + "(int input) {");
+            } else {
+                writeLine(writer, indent, "public int method" + method + "(int input) {");
+            }
+            writeLine(writer, indent + 1, "int result = input;");
+            for (int statement = 0; statement < this.statementsPerMethod; statement++) {
+                writeStatement(writer, random, indent + 1, statement);
+            }
+            if (method == 0 && violation == Violation.MULTIPLE_STATEMENTS) {
+                writeLine(writer, indent + 1, "result++; total++;");
+            } else if (method == 0 && violation == Violation.LINE_LENGTH) {
+                writeLine(writer, indent + 1, "String tooLong = \"" + "x".repeat(LONG_LINE_LENGTH) + "\";");
+            }
+            writeLine(writer, indent + 1, "return result;");
+            writeLine(writer, indent, "}");
+        }
+    }
+
+    /**
+     * Writes a statement of a method, possibly preceded by a comment.
+     *
+     * @param writer    The writer of the file.
+     * @param random    The random source of the file.
+     * @param indent    The indentation level of the statement.
+     * @param statement The position of the statement in the method.
+     * @throws IOException If the file cannot be written.
+     */
+    private void writeStatement(BufferedWriter writer, Random random, int indent, int statement)
+            throws IOException {
+        if (random.nextDouble() < this.commentDensity) {
+            if (random.nextBoolean()) {
+                writeLine(writer, indent, "// Updates the result with step " + statement);
+            } else {
+                writeLine(writer, indent, "/*");
+                writeLine(writer, indent, " * Step " + statement + " of the computation.");
+                writeLine(writer, indent, " */");
+            }
+        }
+        if (random.nextDouble() < this.longLineRate) {
+            String prefix = "String text" + statement + " = \"";
+            int padding = Math.max(0, LONG_LINE_LENGTH - prefix.length() - 2);
+            writeLine(writer, indent, prefix + "y".repeat(padding) + "\";");
+            return;
+        }
+        switch (random.nextInt(4)) {
+            case 0:
+                writeLine(writer, indent, "result = result + " + random.nextInt(100) + ";");
+                break;
+            case 1:
+                writeLine(writer, indent, "if (result > " + random.nextInt(1000) + ") {");
+                writeLine(writer, indent + 1, "result = result - 1;");
+                writeLine(writer, indent, "}");
+                break;
+            case 2:
+                writeLine(writer, indent, "for (int i = 0; i < " + (1 + random.nextInt(5)) + "; i++) {");
+                writeLine(writer, indent + 1, "total += i;");
+                writeLine(writer, indent, "}");
+                break;
+            default:
+                writeLine(writer, indent, "List<Integer> values" + statement + " = List.of(result, total);");
+                break;
+        }
+    }
+
+    /**
+     * Writes a line with the specified indentation.
+     *
+     * @param writer The writer of the file.
+     * @param indent The indentation level, four spaces each.
+     * @param text   The text of the line.
+     * @throws IOException If the file cannot be written.
+     */
+    private static void writeLine(BufferedWriter writer, int indent, String text) throws IOException {
+        if (!text.isEmpty()) {
+            for (int i = 0; i < indent; i++) {
+                writer.write("    ");
+            }
+            writer.write(text);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * Gets the package of a file, which is also its directory below the root.
+     *
+     * @param fileId The position of the file.
+     * @return The package name, or an empty string if the depth is 0.
+     */
+    private String getPackageName(int fileId) {
+        StringBuilder packageName = new StringBuilder();
+        int remaining = fileId;
+        for (int level = 0; level < this.directoryDepth; level++) {
+            if (level > 0) {
+                packageName.append('.');
+            }
+            packageName.append("pkg").append(remaining % DIRECTORIES_PER_LEVEL);
+            remaining /= DIRECTORIES_PER_LEVEL;
+        }
+        return packageName.toString();
+    }
+
+    /**
+     * Gets the name of the public class of a file, which is also the name of the file.
+     *
+     * @param fileId The position of the file.
+     * @return The class name.
+     */
+    private static String getClassName(int fileId) {
+        return "Gen" + fileId;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.exceptions.FileException;
+import com.example.exceptions.FileFormatException;
+import com.example.validators.FileFormatValidator;
+
+/**
+ * Unit tests for the CorpusGenerator class.
+ * These tests verify that the generated trees are reproducible and that their
+ * format violations are exactly those the validator reports.
+ */
+public class CorpusGeneratorTest {
+
+    /**
+     * Tests that the same seed writes the same files, byte for byte.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files cannot be written or read
+     */
+    @Test
+    public void testGenerate_IsDeterministic(@TempDir Path tempDir) throws IOException {
+        Path first = tempDir.resolve("first");
+        Path second = tempDir.resolve("second");
+        createGenerator(0.3).generate(first);
+        createGenerator(0.3).generate(second);
+
+        List<Path> firstFiles = listJavaFiles(first);
+        assertEquals(40, firstFiles.size());
+        for (Path file : firstFiles) {
+            assertArrayEquals(Files.readAllBytes(file), Files.readAllBytes(second.resolve(first.relativize(file))));
+        }
+    }
+
+    /**
+     * Tests that a tree without violations passes the validator and has the
+     * configured number of classes.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files cannot be written or read
+     * @throws FileException if a generated file cannot be found
+     * @throws FileFormatException if a generated file breaks a format rule
+     */
+    @Test
+    public void testGenerate_ValidTreePassesValidator(@TempDir Path tempDir)
+            throws IOException, FileException, FileFormatException {
+        assertEquals(0, createGenerator(0.0).generate(tempDir));
+
+        int classCount = 0;
+        for (Path file : listJavaFiles(tempDir)) {
+            JavaFile javaFile = new JavaFile(file.toString(), file.getFileName().toString());
+            assertTrue(FileFormatValidator.isValidFileFormat(javaFile));
+            classCount += new ClassAnalyzer().analyze(javaFile).size();
+        }
+        assertEquals(40 * 2 * 2, classCount);
+    }
+
+    /**
+     * Tests that every file written with a violation is rejected by the validator.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files cannot be written or read
+     * @throws FileException if a generated file cannot be found
+     */
+    @Test
+    public void testGenerate_ViolationsAreReported(@TempDir Path tempDir) throws IOException, FileException {
+        assertEquals(40, createGenerator(1.0).generate(tempDir));
+
+        for (Path file : listJavaFiles(tempDir)) {
+            JavaFile javaFile = new JavaFile(file.toString(), file.getFileName().toString());
+            assertThrows(FileFormatException.class, () -> FileFormatValidator.isValidFileFormat(javaFile),
+                "No violation reported in " + file);
+        }
+    }
+
+    /**
+     * Creates a generator of 40 files with two classes per file, one nested class
+     * per class and every kind of line.
+     *
+     * @param violationRate The probability that a file contains a violation.
+     * @return The generator.
+     */
+    private CorpusGenerator createGenerator(double violationRate) {
+        CorpusGenerator generator = new CorpusGenerator(7);
+        generator.setFileCount(40);
+        generator.setDirectoryDepth(2);
+        generator.setClassesPerFile(2);
+        generator.setNestedClassesPerClass(1);
+        generator.setMethodsPerClass(3);
+        generator.setCommentDensity(0.5);
+        generator.setLongLineRate(0.2);
+        generator.setViolationRate(violationRate);
+        return generator;
+    }
+
+    /**
+     * Lists the Java files of a tree.
+     *
+     * @param root The root of the tree.
+     * @return The files, in path order.
+     * @throws IOException if the tree cannot be read
+     */
+    private List<Path> listJavaFiles(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(file -> file.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        }
+    }
+}
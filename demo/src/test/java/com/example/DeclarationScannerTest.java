@@ -0,0 +1,91 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the DeclarationScanner class. Every scanner must give the same
+ * result as the pattern it replaces.
+ */
+public class DeclarationScannerTest {
+    /**
+     * Tokens used to build random lines close to the patterns.
+     */
+    private static final List<String> TOKENS = List.of(
+        "public", "private", "protected", "static", "final", "class", "enum", "interface", "if", "else",
+        "for", "while", "switch", "do", "try", "new", "throws", "void", "int", "List", "Map", "x", "_", "a1",
+        " ", " ", " ", "\t", "(", ")", "{", "}", "<", ">", ".", ",", ";", "\"", "'", "=", "\u00e1", "\u0301",
+        "\u2028", "\r", "String[]");
+
+    /**
+     * Asserts that the scanners and the patterns agree on a line.
+     * @param line the line to check.
+     */
+    private void assertSameResults(String line) {
+        assertEquals(PatternRegistry.METHOD_DECLARATION.getPattern().matcher(line).find(),
+            DeclarationScanner.isMethodDeclaration(line), "method: " + line);
+        assertEquals(PatternRegistry.CLASS_INSTANTIATION.getPattern().matcher(line).find(),
+            DeclarationScanner.isClassInstantiation(line), "instantiation: " + line);
+        assertEquals(PatternRegistry.LOGICAL_LINE.getPattern().matcher(line).find(),
+            DeclarationScanner.isLogicalLine(line), "logical line: " + line);
+        assertEquals(PatternRegistry.VALID_DECLARATION.getPattern().matcher(line).matches(),
+            DeclarationScanner.isValidDeclaration(line), "declaration: " + line);
+    }
+
+    /**
+     * Test to verify that the scanners agree with the patterns on typical declarations.
+     */
+    @Test
+    public void testScanners_matchPatternsOnDeclarations() {
+        for (String line : List.of(
+                "public static void main(String[] args) throws Exception {", "private final int size() {",
+                "public static final List<String> names(int a) {", "protected foo bar(", "public int_x f()",
+                "Object o = new java.util.ArrayList<String>(10);", "x = new a.b.(1);", "renew Foo()",
+                "_new Foo()", "} else if (done) {", "while (running) {", "for(;;)", "try {", "enum Color {",
+                "value = compute(a) {", "public void run() {}", "if (a) b(); else c();", "")) {
+            assertSameResults(line);
+        }
+    }
+
+    /**
+     * Test to verify that the scanners agree with the patterns on random lines.
+     */
+    @Test
+    public void testScanners_matchPatternsOnRandomLines() {
+        Random random = new Random(17);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder line = new StringBuilder();
+            int tokenCount = random.nextInt(12);
+            for (int j = 0; j < tokenCount; j++) {
+                line.append(TOKENS.get(random.nextInt(TOKENS.size())));
+            }
+            assertSameResults(line.toString());
+        }
+    }
+
+    /**
+     * Test to verify that adversarial lines of a hundred thousand characters are
+     * scanned in bounded time.
+     */
+    @Test
+    public void testScanners_boundedTimeOnAdversarialLines() {
+        for (String line : PatternBacktrackingBenchmark.createAdversarialLines(100_000).values()) {
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                DeclarationScanner.isMethodDeclaration(line);
+                DeclarationScanner.isClassInstantiation(line);
+                DeclarationScanner.isLogicalLine(line);
+                DeclarationScanner.isValidDeclaration(line);
+            });
+        }
+        assertTrue(DeclarationScanner.isMethodDeclaration("public void run()"));
+        assertFalse(DeclarationScanner.isMethodDeclaration("public void run"));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.io.TempDir;
 import com.example.exceptions.FileException;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
@@ -74,6 +75,111 @@ class DirectoryManagerTest {
             throw new RuntimeException(e);
         }
     }
+    /**
+     * Test to verify that the parallel walk returns the same Java files, in the same
+     * order, as the sequential walk.
+     * @param tempDir a temporary directory provided by JUnit for storing test files.
+     */
+    @Test
+    public void testGetAllJavaFiles_parallelMatchesSequential(@TempDir Path tempDir) throws IOException, FileException {
+        Path rootPath = tempDir.resolve("parallelDir");
+        for (String directoryName : List.of("b", "a", "a/c", "a/d/e", "f")) {
+            Path subdirectoryPath = rootPath.resolve(directoryName);
+            Files.createDirectories(subdirectoryPath);
+            Files.write(subdirectoryPath.resolve("Z.java"), List.of("public class Z {}"));
+            Files.write(subdirectoryPath.resolve("A.java"), List.of("public class A {}"));
+            Files.write(subdirectoryPath.resolve("Notes.txt"), List.of("not java"));
+        }
+        Files.write(rootPath.resolve("Root.java"), List.of("public class Root {}"));
+
+        DirectoryManager sequentialManager = new DirectoryManager(rootPath.toString());
+        DirectoryManager parallelManager = new DirectoryManager(rootPath.toString());
+        parallelManager.setParallelTraversal(true);
+
+        List<String> sequentialPaths = sequentialManager.getAllJavaFiles().stream()
+            .map(JavaFile::getfilePath)
+            .toList();
+        List<String> parallelPaths = parallelManager.getAllJavaFiles().stream()
+            .map(JavaFile::getfilePath)
+            .toList();
+
+        assertEquals(11, sequentialPaths.size());
+        assertEquals(sequentialPaths, parallelPaths);
+        assertTrue(sequentialPaths.get(0).endsWith("Root.java"));
+        assertTrue(sequentialPaths.get(1).endsWith("a" + File.separator + "A.java"));
+        assertTrue(sequentialPaths.get(10).endsWith("f" + File.separator + "Z.java"));
+    }
+
+    /**
+     * Test to verify that source packages named like the default build directories
+     * are counted, while the build output of the root is pruned.
+     * @param tempDir a temporary directory provided by JUnit for storing test files.
+     */
+    @Test
+    public void testGetAllJavaFiles_packagesNamedLikeBuildOutputAreKept(@TempDir Path tempDir)
+            throws IOException, FileException {
+        Path rootPath = tempDir.resolve("packagesDir");
+        Path packagePath = rootPath.resolve("src/main/java/com/x");
+        for (String directoryName : List.of("build", "target")) {
+            Files.createDirectories(packagePath.resolve(directoryName));
+            Files.createDirectories(rootPath.resolve(directoryName));
+            Files.write(rootPath.resolve(directoryName).resolve("Output.java"), List.of("public class Output {}"));
+        }
+        Files.write(packagePath.resolve("build/Foo.java"), List.of("public class Foo {}"));
+        Files.write(packagePath.resolve("target/Bar.java"), List.of("public class Bar {}"));
+        Files.write(packagePath.resolve("Baz.java"), List.of("public class Baz {}"));
+
+        List<String> expectedPaths = List.of(packagePath.resolve("Baz.java").toString(),
+            packagePath.resolve("build/Foo.java").toString(), packagePath.resolve("target/Bar.java").toString());
+        for (boolean parallelTraversal : List.of(false, true)) {
+            DirectoryManager directoryManager = new DirectoryManager(rootPath.toString());
+            directoryManager.setParallelTraversal(parallelTraversal);
+            List<String> paths = directoryManager.getAllJavaFiles().stream()
+                .map(JavaFile::getfilePath)
+                .toList();
+            assertEquals(expectedPaths, paths);
+        }
+    }
+
+    /**
+     * Test to verify that ignored files and directories are pruned by the sequential
+     * and parallel walks and by the staged pipeline.
+     * @param tempDir a temporary directory provided by JUnit for storing test files.
+     */
+    @Test
+    public void testGetAllJavaFiles_ignoredPathsArePruned(@TempDir Path tempDir) throws IOException, FileException {
+        Path rootPath = tempDir.resolve("ignoredDir");
+        for (String directoryName : List.of("src", "src/generated", "target/classes", "lib")) {
+            Path subdirectoryPath = rootPath.resolve(directoryName);
+            Files.createDirectories(subdirectoryPath);
+            Files.write(subdirectoryPath.resolve("A.java"), List.of("public class A {}"));
+        }
+        Files.write(rootPath.resolve("Root.java"), List.of("public class Root {}"));
+        Files.write(rootPath.resolve(".gitignore"), List.of("# build output", "generated/", "/lib"));
+        Files.write(rootPath.resolve("src/.gitignore"), List.of("*.java", "!A.java"));
+        Files.write(rootPath.resolve("src/B.java"), List.of("public class B {}"));
+
+        List<String> expectedPaths = List.of(
+            rootPath.resolve("Root.java").toString(), rootPath.resolve("src/A.java").toString());
+        for (boolean parallelTraversal : List.of(false, true)) {
+            DirectoryManager directoryManager = new DirectoryManager(rootPath.toString());
+            directoryManager.setParallelTraversal(parallelTraversal);
+            List<String> paths = directoryManager.getAllJavaFiles().stream()
+                .map(JavaFile::getfilePath)
+                .toList();
+            assertEquals(expectedPaths, paths);
+        }
+
+        DirectoryManager pipelineManager = new DirectoryManager(rootPath.toString());
+        pipelineManager.setPipelinedAnalysis(true);
+        assertEquals(captureOutput(new DirectoryManager(rootPath.toString())), captureOutput(pipelineManager));
+
+        DirectoryManager unfilteredManager = new DirectoryManager(rootPath.toString());
+        unfilteredManager.setIgnorePatterns(List.of());
+        unfilteredManager.setIgnoreFilesEnabled(false);
+        assertEquals(6, unfilteredManager.getAllJavaFiles().size());
+    }
+
     /**
      * Integration test to verify the processing of a directory, including file analysis and output.
      * @param tempDir a temporary directory provided by JUnit for storing test files.
@@ -149,8 +255,8 @@ class DirectoryManagerTest {
                         "+-------------+----------+------------------------------+----------------------------------+-----------------------------------+\n"+
                         "| Programa    | Clase    | Total de métodos en la clase | Total de LOC físicas de la clase | Total de LOC físicas del programa |\n" +
                         "+-------------+----------+------------------------------+----------------------------------+-----------------------------------+\n" +
-                        "| testDirTemp | Example  | 3                            | 14                               | 37                                |\n" +
-                        "| testDirTemp | Example2 | 2                            | 11                               | 37                                |\n" +
+                        "| testDirTemp | Example  | 3                            | 13                               | 25                                |\n" +
+                        "| testDirTemp | Example2 | 2                            | 10                               | 25                                |\n" +
                         "+-------------+----------+------------------------------+----------------------------------+-----------------------------------+"));
 
             Files.delete(javaFile1);
@@ -160,4 +266,83 @@ class DirectoryManagerTest {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that the concurrent analysis prints exactly the same report,
+     * errors included, as the sequential analysis of the sample corpus.
+     */
+    @Test
+    public void testProcessDirectory_concurrentMatchesSequential() throws IOException, FileException {
+        DirectoryManager concurrentManager = new DirectoryManager("files");
+        concurrentManager.setConcurrentAnalysis(true);
+        concurrentManager.setMaxOpenFiles(2);
+
+        String sequentialOutput = captureOutput(new DirectoryManager("files"));
+        String concurrentOutput = captureOutput(concurrentManager);
+
+        assertTrue(sequentialOutput.contains("| files"));
+        assertEquals(sequentialOutput, concurrentOutput);
+    }
+
+    /**
+     * Test to verify that the staged pipeline prints exactly the same report,
+     * errors included, as the sequential analysis of the sample corpus.
+     */
+    @Test
+    public void testProcessDirectory_pipelineMatchesSequential() throws IOException, FileException {
+        DirectoryManager pipelineManager = new DirectoryManager("files");
+        pipelineManager.setPipelinedAnalysis(true);
+        pipelineManager.setPipelineParallelism(2, 2, 1);
+
+        String sequentialOutput = captureOutput(new DirectoryManager("files"));
+        String pipelineOutput = captureOutput(pipelineManager);
+
+        assertEquals(sequentialOutput, pipelineOutput);
+    }
+
+    /**
+     * Test to verify that the deduplication prints the same report as a full
+     * analysis, followed by the deduplicated totals.
+     * @param tempDir a temporary directory provided by JUnit for storing test files.
+     */
+    @Test
+    public void testProcessDirectory_deduplicationMatchesFullAnalysis(@TempDir Path tempDir)
+            throws IOException, FileException {
+        Path rootPath = tempDir.resolve("dedupDir");
+        for (String directoryName : List.of("app", "vendor/a", "vendor/b")) {
+            Path subdirectoryPath = rootPath.resolve(directoryName);
+            Files.createDirectories(subdirectoryPath);
+            Files.write(subdirectoryPath.resolve("Shared.java"), List.of("public class Shared {", "}"));
+        }
+        Files.write(rootPath.resolve("app/Main.java"), List.of("public class Main {", "    int x;", "}"));
+
+        for (boolean concurrentAnalysis : List.of(false, true)) {
+            DirectoryManager deduplicatingManager = new DirectoryManager(rootPath.toString());
+            deduplicatingManager.setDeduplication(true);
+            deduplicatingManager.setConcurrentAnalysis(concurrentAnalysis);
+
+            String fullOutput = captureOutput(new DirectoryManager(rootPath.toString()));
+            String deduplicatedOutput = captureOutput(deduplicatingManager);
+
+            String summary = String.format(ResultPrinter.DEDUPLICATION_SUMMARY_FORMAT, 2, 4, 5);
+            assertEquals(fullOutput + summary + System.lineSeparator(), deduplicatedOutput);
+        }
+    }
+
+    /**
+     * Processes a directory and captures everything it prints.
+     * @param directoryManager the manager of the directory to process.
+     * @return the printed output.
+     */
+    private String captureOutput(DirectoryManager directoryManager) throws IOException, FileException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+        try {
+            directoryManager.processDirectory();
+        } finally {
+            System.setOut(originalOut);
+        }
+        return outputStream.toString();
+    }
+}
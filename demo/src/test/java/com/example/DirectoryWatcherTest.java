@@ -0,0 +1,160 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the DirectoryWatcher class.
+ * These tests edit a temporary directory and verify that the watcher updates
+ * only the affected results and keeps the walk order.
+ */
+public class DirectoryWatcherTest {
+
+    /**
+     * Maximum time to wait for the file system to report a change.
+     */
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Writes a Java file declaring one class with the given number of fields.
+     *
+     * @param file The file to write.
+     * @param className The name of the class.
+     * @param fields The number of fields of the class.
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeClass(Path file, String className, int fields) throws IOException {
+        StringBuilder content = new StringBuilder("public class " + className + " {\n");
+        for (int i = 0; i < fields; i++) {
+            content.append("    private int field").append(i).append(";\n");
+        }
+        content.append("}\n");
+        Files.writeString(file, content);
+    }
+
+    /**
+     * Waits until the watcher reports a change that reaches the expected total.
+     *
+     * @param watcher The watcher.
+     * @param expectedLOC The expected total physical LOC.
+     * @throws InterruptedException if the thread is interrupted
+     * @throws IOException if an I/O error occurs
+     */
+    private void awaitTotal(DirectoryWatcher watcher, int expectedLOC) throws InterruptedException, IOException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (watcher.getTotalLOC() != expectedLOC && System.currentTimeMillis() < deadline) {
+            watcher.pollChanges(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(expectedLOC, watcher.getTotalLOC());
+    }
+
+    /**
+     * Gets the names of the classes reported by the watcher.
+     *
+     * @param watcher The watcher.
+     * @return The class names, in order.
+     */
+    private List<String> classNames(DirectoryWatcher watcher) {
+        ClassResultStore classResults = watcher.getClassResults();
+        List<String> classNames = new ArrayList<>(classResults.size());
+        for (int i = 0; i < classResults.size(); i++) {
+            classNames.add(classResults.getClassName(i));
+        }
+        return classNames;
+    }
+
+    /**
+     * Tests that modified, created and deleted files update the results incrementally.
+     *
+     * @param root a temporary directory provided by JUnit
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if the directory does not exist
+     * @throws InterruptedException if the thread is interrupted
+     */
+    @Test
+    public void testPollChanges_UpdatesAffectedFiles(@TempDir Path root)
+            throws IOException, FileException, InterruptedException {
+        writeClass(root.resolve("B.java"), "B", 1);
+        writeClass(root.resolve("D.java"), "D", 2);
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(outputStream, true, StandardCharsets.UTF_8));
+        try (DirectoryWatcher watcher = new DirectoryWatcher(root.toFile(), new FusedAnalysisEngine())) {
+            watcher.start();
+            assertEquals(7, watcher.getTotalLOC());
+            assertEquals(List.of("B", "D"), classNames(watcher));
+
+            writeClass(root.resolve("B.java"), "B", 4);
+            awaitTotal(watcher, 10);
+
+            Path subdirectory = Files.createDirectory(root.resolve("C"));
+            writeClass(subdirectory.resolve("A.java"), "A", 0);
+            awaitTotal(watcher, 12);
+            assertEquals(List.of("B", "A", "D"), classNames(watcher), "Classes must keep the walk order");
+
+            Files.delete(root.resolve("D.java"));
+            awaitTotal(watcher, 8);
+            assertEquals(List.of("B", "A"), classNames(watcher));
+        } finally {
+            System.setOut(originalOut);
+        }
+        assertTrue(outputStream.toString(StandardCharsets.UTF_8).contains("Total de LOC físicas: 8 (-4)"));
+    }
+
+    /**
+     * Tests that a change to a .gitignore file drops the files it now ignores and
+     * analyzes the files it no longer ignores.
+     *
+     * @param root a temporary directory provided by JUnit
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if the directory does not exist
+     * @throws InterruptedException if the thread is interrupted
+     */
+    @Test
+    public void testPollChanges_ReloadsIgnoreFile(@TempDir Path root)
+            throws IOException, FileException, InterruptedException {
+        Path subdirectory = Files.createDirectories(root.resolve("sub").resolve("gen"));
+        writeClass(root.resolve("A.java"), "A", 0);
+        writeClass(subdirectory.resolve("G.java"), "G", 0);
+        writeClass(root.resolve("sub").resolve("K.java"), "K", 1);
+        Path ignoreFile = root.resolve("sub").resolve(IgnoreRules.IGNORE_FILE_NAME);
+
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try (DirectoryWatcher watcher = new DirectoryWatcher(root.toFile(), new FusedAnalysisEngine())) {
+            watcher.start();
+            assertEquals(7, watcher.getTotalLOC());
+
+            Files.write(ignoreFile, List.of("gen/"));
+            awaitTotal(watcher, 5);
+            assertEquals(List.of("A", "K"), classNames(watcher));
+
+            Files.write(ignoreFile, List.of("K.java"));
+            awaitTotal(watcher, 4);
+            assertEquals(List.of("A", "G"), classNames(watcher));
+
+            Files.delete(ignoreFile);
+            awaitTotal(watcher, 7);
+            assertEquals(List.of("A", "K", "G"), classNames(watcher));
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+}
@@ -85,4 +85,63 @@ public class FileManagerTest {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Test to verify that the byte-level reader finds the same lines as readLines,
+     * including every kind of line terminator and a last line without terminator.
+     * @param tempDir a temporary directory provided by JUnit for storing test files.
+     */
+    @Test
+    public void testReadBuffer_lineOffsets(@TempDir Path tempDir) {
+        try {
+            File tempFile = tempDir.resolve("Terminators.java").toFile();
+            Files.write(tempFile.toPath(), "int a;\r\n\nint b;\rint c;\n\n  }".getBytes("UTF-8"));
+
+            List<String> lines = FileManager.readLines(tempFile.getAbsolutePath());
+            SourceBuffer sourceBuffer = FileManager.readBuffer(tempFile.getAbsolutePath());
+
+            assertEquals(lines.size(), sourceBuffer.getLineCount(), "Both readers must find the same lines.");
+            for (int i = 0; i < lines.size(); i++) {
+                assertEquals(lines.get(i), sourceBuffer.getLine(i).toString(), "Line " + i + " does not match.");
+                assertEquals(lines.get(i).trim().isEmpty(), sourceBuffer.isBlankLine(i));
+            }
+        } catch (IOException | FileException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Test to verify that files above the mapping threshold are read through a memory mapping
+     * and still expose the same lines as readLines.
+     * @param tempDir a temporary directory provided by JUnit for storing test files.
+     */
+    @Test
+    public void testReadBuffer_mappedFile(@TempDir Path tempDir) {
+        try {
+            File tempFile = tempDir.resolve("Large.java").toFile();
+            StringBuilder content = new StringBuilder();
+            while (content.length() < FileManager.MAP_THRESHOLD * 2) {
+                content.append("    int value").append(content.length()).append(" = 0;\n");
+            }
+            Files.write(tempFile.toPath(), content.toString().getBytes("UTF-8"));
+
+            List<String> lines = FileManager.readLines(tempFile.getAbsolutePath());
+            SourceBuffer sourceBuffer = FileManager.readBuffer(tempFile.getAbsolutePath());
+
+            assertEquals(lines.size(), sourceBuffer.getLineCount());
+            assertEquals(lines.get(lines.size() - 1), sourceBuffer.getLine(lines.size() - 1).toString());
+        } catch (IOException | FileException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Test to verify that an exception is thrown when the byte-level reader is given an invalid file.
+     * @param tempDir a temporary directory provided by JUnit for storing test files.
+     */
+    @Test
+    public void testReadBuffer_invalidFile(@TempDir Path tempDir) {
+        String invalidFilePath = tempDir.resolve("NonExistentFile.java").toString();
+        assertThrows(FileException.class, () -> FileManager.readBuffer(invalidFilePath));
+    }
+}
@@ -0,0 +1,179 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.exceptions.FileException;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for the flight recorder events of the analysis.
+ * These tests record the analysis of a small directory with each engine and check
+ * the events of the walk, of each file, of its validation and of its class analysis.
+ */
+public class FlightRecorderEventsTest {
+
+    /**
+     * A valid file with one class, 4 lines and 52 bytes.
+     */
+    private static final String VALID_SOURCE = "public class Valid {\n    public void run() {\n    }\n}\n";
+
+    /**
+     * A file that breaks the rule of one statement per line.
+     */
+    private static final String INVALID_SOURCE = "public class Invalid {\n    int a = 1; int b = 2;\n}\n";
+
+    /**
+     * Tests that the events of a run with the default engine are recorded with
+     * the path, size, lines, classes and validation outcome of each file.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files or the recording cannot be written or read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    @Test
+    public void testRecording_defaultEngine(@TempDir Path tempDir) throws IOException, FileException {
+        assertAnalysisEvents(record(tempDir, null));
+    }
+
+    /**
+     * Tests that the multi-pass engine records the same events as the default engine.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files or the recording cannot be written or read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    @Test
+    public void testRecording_multiPassEngine(@TempDir Path tempDir) throws IOException, FileException {
+        assertAnalysisEvents(record(tempDir, MultiPassAnalysisEngine::new));
+    }
+
+    /**
+     * Records the analysis of a directory with a valid and an invalid file.
+     *
+     * @param tempDir               A temporary directory.
+     * @param analysisEngineFactory The factory of the engines, or {@code null} for the default one.
+     * @return The recorded events of the analysis.
+     * @throws IOException if the files or the recording cannot be written or read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    private static List<RecordedEvent> record(Path tempDir, Supplier<AnalysisEngine> analysisEngineFactory)
+            throws IOException, FileException {
+        Path directory = Files.createDirectories(tempDir.resolve("src"));
+        Files.writeString(directory.resolve("Valid.java"), VALID_SOURCE);
+        Files.writeString(directory.resolve("Invalid.java"), INVALID_SOURCE);
+        Path recordingFile = tempDir.resolve("analysis.jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String eventName : List.of("com.example.FileAnalysis", "com.example.DirectoryWalk",
+                    "com.example.ClassAnalysis", "com.example.FileValidation")) {
+                recording.enable(eventName).withoutThreshold();
+            }
+            recording.start();
+            DirectoryManager directoryManager = new DirectoryManager(directory.toString());
+            if (analysisEngineFactory != null) {
+                directoryManager.setAnalysisEngineFactory(analysisEngineFactory);
+            }
+            processDirectory(directoryManager);
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        return RecordingFile.readAllEvents(recordingFile);
+    }
+
+    /**
+     * Checks the events of the analysis of the directory written by {@link #record}.
+     *
+     * @param events The recorded events.
+     */
+    private static void assertAnalysisEvents(List<RecordedEvent> events) {
+        List<RecordedEvent> walkEvents = filter(events, "com.example.DirectoryWalk");
+        assertEquals(1, walkEvents.size());
+        assertEquals(2, walkEvents.get(0).getInt("entries"));
+
+        List<RecordedEvent> fileEvents = filter(events, "com.example.FileAnalysis");
+        assertEquals(2, fileEvents.size());
+        RecordedEvent validFile = find(fileEvents, "Valid.java");
+        assertTrue(validFile.getBoolean("valid"));
+        assertEquals(VALID_SOURCE.length(), validFile.getLong("bytes"));
+        assertEquals(4, validFile.getInt("lines"));
+        assertEquals(1, validFile.getInt("classes"));
+        assertNull(validFile.getString("validationMessage"));
+        RecordedEvent invalidFile = find(fileEvents, "Invalid.java");
+        assertFalse(invalidFile.getBoolean("valid"));
+        assertTrue(invalidFile.getString("validationMessage").contains("Invalid.java"));
+
+        List<RecordedEvent> validationEvents = filter(events, "com.example.FileValidation");
+        assertEquals(2, validationEvents.size());
+        assertTrue(find(validationEvents, "Valid.java").getBoolean("valid"));
+        RecordedEvent invalidValidation = find(validationEvents, "Invalid.java");
+        assertFalse(invalidValidation.getBoolean("valid"));
+        assertEquals(invalidFile.getString("validationMessage"), invalidValidation.getString("message"));
+
+        List<RecordedEvent> classEvents = filter(events, "com.example.ClassAnalysis");
+        assertEquals(1, classEvents.size());
+        assertTrue(classEvents.get(0).getString("path").endsWith("Valid.java"));
+        assertEquals(1, classEvents.get(0).getInt("classes"));
+    }
+
+    /**
+     * Keeps the events of a type.
+     *
+     * @param events    The recorded events.
+     * @param eventName The name of the event type.
+     * @return The events of that type.
+     */
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String eventName) {
+        return events.stream()
+            .filter(event -> event.getEventType().getName().equals(eventName))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the event of a file.
+     *
+     * @param events   The events, each with a {@code path} field.
+     * @param fileName The name of the file.
+     * @return The event whose path ends with the file name.
+     */
+    private static RecordedEvent find(List<RecordedEvent> events, String fileName) {
+        return events.stream()
+            .filter(event -> event.getString("path").endsWith(fileName))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    /**
+     * Processes a directory, discarding the printed results.
+     *
+     * @param directoryManager The manager of the directory.
+     * @throws IOException if the files cannot be read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    private static void processDirectory(DirectoryManager directoryManager) throws IOException, FileException {
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            directoryManager.processDirectory();
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+}
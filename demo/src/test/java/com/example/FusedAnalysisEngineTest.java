@@ -0,0 +1,174 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the FusedAnalysisEngine class.
+ * The single-pass engine is checked against the multi-pass reference engine,
+ * which must produce exactly the same results for every file.
+ */
+public class FusedAnalysisEngineTest {
+
+    private final FusedAnalysisEngine fusedEngine = new FusedAnalysisEngine();
+    private final MultiPassAnalysisEngine referenceEngine = new MultiPassAnalysisEngine();
+
+    /**
+     * Creates a temporary Java file with the given lines of content.
+     *
+     * @param lines List of strings representing lines in the file
+     * @return A JavaFile object representing the created temporary file
+     * @throws IOException if an I/O error occurs while creating the file
+     * @throws FileException if there is an issue handling the file
+     */
+    private JavaFile createTempJavaFile(List<String> lines) throws IOException, FileException {
+        Path tempFile = Files.createTempFile("fusedFile", ".java");
+        Files.write(tempFile, lines);
+        tempFile.toFile().deleteOnExit();
+        return new JavaFile(tempFile.toString(), tempFile.getFileName().toString());
+    }
+
+    /**
+     * Asserts that both engines produce the same results for a file.
+     *
+     * @param javaFile The file to analyze with both engines.
+     * @return The analysis produced by the fused engine.
+     */
+    private FileAnalysis assertSameAnalysis(JavaFile javaFile) {
+        FileAnalysis expected = referenceEngine.analyze(javaFile);
+        FileAnalysis actual = fusedEngine.analyze(javaFile);
+        String fileName = javaFile.getName();
+
+        assertEquals(expected.getErrorMessage(), actual.getErrorMessage(), "Validation differs for " + fileName);
+        assertEquals(expected.getPhysicalLines(), actual.getPhysicalLines(), "Physical LOC differs for " + fileName);
+        assertEquals(expected.getLogicalLines(), actual.getLogicalLines(), "Logical LOC differs for " + fileName);
+        assertEquals(expected.getMethodCount(), actual.getMethodCount(), "Method count differs for " + fileName);
+        assertEquals(describe(expected.getClassesInfo()), describe(actual.getClassesInfo()),
+            "Classes differ for " + fileName);
+        assertEquals(describe(expected.getMethodIndex()), describe(actual.getMethodIndex()),
+            "Methods differ for " + fileName);
+        return actual;
+    }
+
+    /**
+     * Describes a list of classes as a comparable string.
+     *
+     * @param classesInfo The classes to describe.
+     * @return One "name methods lines" entry per class.
+     */
+    private String describe(List<ClassInfo> classesInfo) {
+        return classesInfo.stream()
+            .map(info -> info.getClassName() + " " + info.getMethodCount() + " " + info.getPhysicalLines())
+            .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Describes the records of a method index as a comparable string.
+     *
+     * @param methodIndex The index to describe.
+     * @return One "class.method start-end lines" entry per method.
+     */
+    private String describe(MethodIndex methodIndex) {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < methodIndex.size(); i++) {
+            description.append(methodIndex.getClassName(i)).append('.').append(methodIndex.getMethodName(i))
+                .append(' ').append(methodIndex.getStartLine(i)).append('-').append(methodIndex.getEndLine(i))
+                .append(' ').append(methodIndex.getPhysicalLines(i)).append(", ");
+        }
+        return description.toString();
+    }
+
+    /**
+     * Tests that both engines agree on every Java file of the sample corpus.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testAnalyzeMatchesReferenceOnCorpus() throws FileException, IOException {
+        List<Path> corpus;
+        try (Stream<Path> paths = Files.walk(Path.of("files"))) {
+            corpus = paths.filter(path -> JavaFile.isValidFileType(path.toString())).collect(Collectors.toList());
+        }
+
+        assertFalse(corpus.isEmpty(), "The sample corpus must contain Java files");
+        for (Path path : corpus) {
+            assertSameAnalysis(new JavaFile(path.toString(), path.getFileName().toString()));
+        }
+    }
+
+    /**
+     * Tests that both engines agree on a file with several classes, comments and methods.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testAnalyzeMatchesReferenceOnSeveralClasses() throws FileException, IOException {
+        JavaFile javaFile = createTempJavaFile(Arrays.asList(
+            "package sample;",
+            "",
+            "/**",
+            " * Documentation comment",
+            " */",
+            "public class Outer {",
+            "    private int value;",
+            "",
+            "    public int getValue() {",
+            "        if (value > 0) {",
+            "            return value;",
+            "        }",
+            "        return 0;",
+            "    }",
+            "}",
+            "",
+            "class Helper extends Outer {",
+            "    // public void commented() {",
+            "    public void help() {",
+            "        for (int i = 0; i < 3; i++) {",
+            "            System.out.println(i);",
+            "        }",
+            "    }",
+            "}"
+        ));
+
+        FileAnalysis fileAnalysis = assertSameAnalysis(javaFile);
+        assertTrue(fileAnalysis.isValid());
+        assertEquals(2, fileAnalysis.getClassesInfo().size());
+    }
+
+    /**
+     * Tests that both engines report the same format error for an invalid file.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testAnalyzeMatchesReferenceOnInvalidFile() throws FileException, IOException {
+        JavaFile javaFile = createTempJavaFile(Arrays.asList(
+            "import java.util.*;",
+            "",
+            "public class Invalid {",
+            "    public void run() {",
+            "        int a = 1; int b = 2;",
+            "    }",
+            "}"
+        ));
+
+        FileAnalysis fileAnalysis = assertSameAnalysis(javaFile);
+        assertFalse(fileAnalysis.isValid());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for the IgnoreRules class.
+ */
+public class IgnoreRulesTest {
+
+    /**
+     * Test to verify that the default patterns ignore version control and dependency
+     * directories at any depth, and build directories only at the root.
+     * @param tempDir a temporary directory provided by JUnit.
+     */
+    @Test
+    public void testIsIgnored_defaultPatterns(@TempDir Path tempDir) {
+        IgnoreRules rules = IgnoreRules.forRoot(tempDir.toFile(), IgnoreRules.DEFAULT_PATTERNS, false);
+
+        assertTrue(rules.isIgnored(tempDir.resolve(".git").toFile(), true));
+        assertTrue(rules.isIgnored(tempDir.resolve("web/node_modules").toFile(), true));
+        assertTrue(rules.isIgnored(tempDir.resolve("target").toFile(), true));
+        assertTrue(rules.isIgnored(tempDir.resolve("build").toFile(), true));
+        assertFalse(rules.isIgnored(tempDir.resolve("target").toFile(), false));
+        assertFalse(rules.isIgnored(tempDir.resolve("src/main/java/com/x/build").toFile(), true));
+        assertFalse(rules.isIgnored(tempDir.resolve("src/main/java/com/x/target").toFile(), true));
+        assertFalse(rules.isIgnored(tempDir.resolve("src").toFile(), true));
+        assertFalse(IgnoreRules.none().isIgnored(tempDir.resolve(".git").toFile(), true));
+    }
+
+    /**
+     * Test to verify that the patterns of a nested ignore file take precedence over those of its parents.
+     * @param tempDir a temporary directory provided by JUnit.
+     */
+    @Test
+    public void testForDirectory_nestedIgnoreFile(@TempDir Path tempDir) throws IOException {
+        Path nested = tempDir.resolve("nested");
+        Files.createDirectories(nested);
+        Files.write(tempDir.resolve(IgnoreRules.IGNORE_FILE_NAME), List.of("*.java", "# comment", ""));
+        Files.write(nested.resolve(IgnoreRules.IGNORE_FILE_NAME), List.of("!Keep.java"));
+
+        IgnoreRules rootRules = IgnoreRules.forRoot(tempDir.toFile(), List.of(), true).forDirectory(tempDir.toFile());
+        IgnoreRules nestedRules = rootRules.forDirectory(nested.toFile());
+
+        assertTrue(rootRules.isIgnored(tempDir.resolve("Keep.java").toFile(), false));
+        assertTrue(nestedRules.isIgnored(nested.resolve("Other.java").toFile(), false));
+        assertFalse(nestedRules.isIgnored(nested.resolve("Keep.java").toFile(), false));
+    }
+
+    /**
+     * Test to verify anchored patterns, double-star wildcards and escapes.
+     * @param tempDir a temporary directory provided by JUnit.
+     */
+    @Test
+    public void testIsIgnored_globSyntax(@TempDir Path tempDir) {
+        File root = tempDir.toFile();
+        IgnoreRules rules = IgnoreRules.forRoot(root,
+            List.of("/out", "docs/**/*.java", "Gen?.java", "\\!Bang.java", "[ab]*.txt"), false);
+
+        assertTrue(rules.isIgnored(new File(root, "out"), true));
+        assertFalse(rules.isIgnored(new File(root, "src/out"), true));
+        assertTrue(rules.isIgnored(new File(root, "docs/A.java"), false));
+        assertTrue(rules.isIgnored(new File(root, "docs/x/y/A.java"), false));
+        assertFalse(rules.isIgnored(new File(root, "src/docs/A.java"), false));
+        assertTrue(rules.isIgnored(new File(root, "src/Gen1.java"), false));
+        assertFalse(rules.isIgnored(new File(root, "src/Gen12.java"), false));
+        assertTrue(rules.isIgnored(new File(root, "!Bang.java"), false));
+        assertTrue(rules.isIgnored(new File(root, "b.txt"), false));
+        assertFalse(rules.isIgnored(new File(root, "c.txt"), false));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the JavaFile class.
+ * This class verifies that the content of a file is loaded lazily
+ * and can be released once it has been analyzed.
+ */
+public class JavaFileTest {
+
+    /**
+     * Tests that creating a JavaFile does not read its content
+     * and that the content is loaded on first access.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testGetLines_LoadsContentLazily() throws FileException, IOException {
+        Path tempFile = Files.createTempFile("lazyFile", ".java");
+        List<String> lines = Arrays.asList("public class Lazy {", "}");
+        Files.write(tempFile, lines);
+
+        JavaFile javaFile = new JavaFile(tempFile.toString(), tempFile.getFileName().toString());
+        assertFalse(javaFile.isLoaded(), "The content must not be read by the constructor");
+
+        assertEquals(lines, javaFile.getLines());
+        assertTrue(javaFile.isLoaded());
+        Files.delete(tempFile);
+    }
+
+    /**
+     * Tests that released content is read again from disk when requested.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testRelease_ReloadsContentOnNextAccess() throws FileException, IOException {
+        Path tempFile = Files.createTempFile("releasedFile", ".java");
+        Files.write(tempFile, Arrays.asList("int a = 0;"));
+
+        JavaFile javaFile = new JavaFile(tempFile.toString(), tempFile.getFileName().toString());
+        javaFile.load();
+        javaFile.release();
+        assertFalse(javaFile.isLoaded());
+
+        Files.write(tempFile, Arrays.asList("int a = 0;", "a++;"));
+        assertEquals(2, javaFile.getLines().size());
+        Files.delete(tempFile);
+    }
+
+    /**
+     * Tests that a missing file is reported when its content is first needed.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testLoad_MissingFile() throws FileException, IOException {
+        JavaFile javaFile = new JavaFile("nonexistentDir/Missing.java", "Missing.java");
+
+        assertThrows(FileException.class, javaFile::load);
+        assertThrows(UncheckedIOException.class, javaFile::getLines);
+    }
+
+    /**
+     * Tests that the lines are split at the same terminators as
+     * {@link BufferedReader#readLine()}, including a last line without terminator.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testGetLine_SplitsLinesLikeReadLine() throws FileException, IOException {
+        String[] contents = {"", "\n", "a", "a\n", "a\r\nb", "a\rb\r", "\r\n\r\n", "a\n\rb\r\r\n", " x \t\n\n"};
+        for (String content : contents) {
+            List<String> expected = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new StringReader(content))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    expected.add(line);
+                }
+            }
+
+            JavaFile javaFile = new JavaFile("Content.java", "Content.java");
+            javaFile.setContent(content);
+            assertEquals(expected.size(), javaFile.getLineCount(), "Line count of " + Arrays.toString(content.getBytes()));
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), javaFile.getLine(i).toString());
+                assertEquals(expected.get(i).trim().isEmpty(), javaFile.isBlankLine(i));
+            }
+            assertEquals(expected, javaFile.getLines());
+        }
+    }
+
+    /**
+     * Tests that a line view reads the content without copying it and
+     * that its subsequences are views of the same line.
+     *
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testGetLine_ReturnsViewOfTheLine() throws FileException, IOException {
+        JavaFile javaFile = new JavaFile("View.java", "View.java");
+        javaFile.setLines(Arrays.asList("int a = 0;", "  return a;"));
+
+        CharSequence line = javaFile.getLine(1);
+        assertEquals(11, line.length());
+        assertEquals('r', line.charAt(2));
+        assertEquals("return", line.subSequence(2, 8).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> line.charAt(11));
+        assertThrows(IndexOutOfBoundsException.class, () -> javaFile.getLine(2));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.validators.CommentValidator;
+import com.example.validators.JavaLexer;
+
+/**
+ * Unit tests for the JavaLexer class and the CommentValidator adapter.
+ * These tests verify how lines are classified when comments, string literals,
+ * character literals and text blocks are mixed.
+ */
+public class JavaLexerTest {
+
+    /**
+     * Tests that plain comments and blank lines keep the classification of the
+     * previous regular expression based validator.
+     */
+    @Test
+    public void testIsComment_BasicComments() {
+        CommentValidator validator = new CommentValidator();
+
+        assertTrue(validator.isComment("// Line comment"));
+        assertFalse(validator.isComment(""));
+        assertTrue(validator.isComment("/* Start block comment"));
+        assertTrue(validator.isComment(""));
+        assertTrue(validator.isComment("End block comment*/"));
+        assertFalse(validator.isComment("int a = 5; // assignment"));
+        assertTrue(validator.isComment("/** Documentation */"));
+    }
+
+    /**
+     * Tests that code following the end of a block comment is not a comment line.
+     */
+    @Test
+    public void testIsComment_CodeAfterBlockComment() {
+        CommentValidator validator = new CommentValidator();
+
+        assertTrue(validator.isComment("/* start"));
+        assertFalse(validator.isComment("end */ int value = 1;"));
+        assertFalse(validator.isComment("/* inline */ int other = 2;"));
+        assertFalse(validator.isInsideBlockComment());
+    }
+
+    /**
+     * Tests that comment markers inside string and character literals are ignored.
+     */
+    @Test
+    public void testIsComment_MarkersInsideLiterals() {
+        CommentValidator validator = new CommentValidator();
+
+        assertFalse(validator.isComment("String path = \"/*\";"));
+        assertFalse(validator.isComment("int next = 1;"), "A /* inside a string must not open a comment");
+        assertFalse(validator.isComment("String url = \"http://example.com\";"));
+        assertFalse(validator.isComment("String quote = \"\\\"/*\";"));
+        assertFalse(validator.isComment("char quote = '\"';"));
+        assertFalse(validator.isComment("int last = 2;"));
+    }
+
+    /**
+     * Tests that the lines of a text block are code, even if they look like comments.
+     */
+    @Test
+    public void testIsComment_TextBlock() {
+        CommentValidator validator = new CommentValidator();
+
+        assertFalse(validator.isComment("String text = \"\"\""));
+        assertFalse(validator.isComment("    // not a comment"));
+        assertFalse(validator.isComment("    /* not a comment either"));
+        assertFalse(validator.isComment("    \"\"\";"));
+        assertTrue(validator.isComment("// a real comment"));
+    }
+
+    /**
+     * Tests that the code view removes comments and literal contents.
+     */
+    @Test
+    public void testGetCode_RemovesCommentsAndLiterals() {
+        JavaLexer lexer = new JavaLexer();
+
+        lexer.scanLine("if (a) { /* { */ print(\"}\"); } // {");
+
+        assertEquals("if (a) {  print(\"\"); } ", lexer.getCode().toString());
+        assertTrue(lexer.hasCode());
+        assertTrue(lexer.hasComment());
+        assertEquals(JavaLexer.State.CODE, lexer.getState());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the MethodIndex class.
+ * These tests verify how method records are stored, merged and summarized.
+ */
+public class MethodIndexTest {
+
+    /**
+     * Creates an index with methods of 1, 3, 5, 10 and 40 physical lines.
+     *
+     * @return The populated index.
+     */
+    private MethodIndex createIndex() {
+        MethodIndex methodIndex = new MethodIndex();
+        int[] sizes = {1, 3, 5, 10, 40};
+        int line = 1;
+        for (int i = 0; i < sizes.length; i++) {
+            methodIndex.add("method" + i, "Sample", MethodIndex.NONE, line, line + sizes[i] - 1, sizes[i]);
+            line += sizes[i];
+        }
+        return methodIndex;
+    }
+
+    /**
+     * Tests that records keep their values and that the capacity grows as needed.
+     */
+    @Test
+    public void testAdd_StoresRecords() {
+        MethodIndex methodIndex = new MethodIndex();
+        for (int i = 0; i < 100; i++) {
+            methodIndex.add("method" + (i % 3), i % 2 == 0 ? "Even" : null, i, i + 1, i + 2, 2);
+        }
+
+        assertEquals(100, methodIndex.size());
+        assertEquals("method1", methodIndex.getMethodName(97));
+        assertNull(methodIndex.getClassName(97));
+        assertEquals("Even", methodIndex.getClassName(98));
+        assertEquals(98, methodIndex.getFileId(98));
+        assertEquals(99, methodIndex.getStartLine(98));
+        assertEquals(100, methodIndex.getEndLine(98));
+    }
+
+    /**
+     * Tests that merging an index assigns the file id to every record.
+     */
+    @Test
+    public void testAddAll_AssignsFileId() {
+        MethodIndex repositoryIndex = new MethodIndex();
+        repositoryIndex.addAll(createIndex(), 7);
+
+        assertEquals(5, repositoryIndex.size());
+        assertEquals(7, repositoryIndex.getFileId(4));
+        assertEquals(40, repositoryIndex.getPhysicalLines(4));
+        assertEquals("Sample", repositoryIndex.getClassName(0));
+    }
+
+    /**
+     * Tests the size distribution and the percentiles of method sizes.
+     */
+    @Test
+    public void testSizeDistribution() {
+        MethodIndex methodIndex = createIndex();
+
+        assertArrayEquals(new int[] {1, 2, 1, 1}, methodIndex.getSizeDistribution(1, 5, 20));
+        assertEquals(5, methodIndex.getPhysicalLinesPercentile(50));
+        assertEquals(40, methodIndex.getPhysicalLinesPercentile(100));
+        assertEquals(1, methodIndex.getPhysicalLinesPercentile(0));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measures the time to check adversarial lines with the declaration patterns,
+ * first with the regular expressions and then with the linear-time scanners of
+ * {@link DeclarationScanner}, for growing line lengths. The time of the regular
+ * expressions grows with the square of the length, or faster; the time of the
+ * scanners grows with the length.
+ *
+ * <p>This is not a unit test. Run it from the test classpath:</p>
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.example.PatternBacktrackingBenchmark [maxLength]
+ * </pre>
+ */
+public class PatternBacktrackingBenchmark {
+    /**
+     * Shortest line measured.
+     */
+    private static final int MIN_LENGTH = 1000;
+
+    /**
+     * Number of untimed rounds run first so both modes are compiled by the JIT.
+     */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional maximum line length; the lengths measured double up to it.
+     *             Beyond the default, the slowest regular expressions take minutes per line.
+     */
+    public static void main(String[] args) {
+        int maxLength = args.length > 0 ? Integer.parseInt(args[0]) : 4000;
+        PatternRegistry.setTimingEnabled(false);
+        for (String line : createAdversarialLines(MIN_LENGTH).values()) {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                checkLine(line, false);
+                checkLine(line, true);
+            }
+        }
+
+        System.out.println(String.format("%-22s %10s %16s %16s", "line", "length", "regex ms", "scanner ms"));
+        for (int length = MIN_LENGTH; length <= maxLength; length *= 2) {
+            for (Map.Entry<String, String> entry : createAdversarialLines(length).entrySet()) {
+                String line = entry.getValue();
+                long start = System.nanoTime();
+                int regexResult = checkLine(line, false);
+                long regexNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int scannerResult = checkLine(line, true);
+                long scannerNanos = System.nanoTime() - start;
+
+                if (regexResult != scannerResult) {
+                    throw new IllegalStateException("Modes disagree on " + entry.getKey());
+                }
+                System.out.println(String.format("%-22s %10d %16.3f %16.3f",
+                    entry.getKey(), line.length(), regexNanos / 1e6, scannerNanos / 1e6));
+            }
+        }
+        PatternRegistry.setLinearMatching(true);
+    }
+
+    /**
+     * Creates the adversarial lines. Each one passes the prefilters of the patterns
+     * and makes them backtrack before failing.
+     *
+     * @param length The approximate length of each line.
+     * @return The lines, by name.
+     */
+    static Map<String, String> createAdversarialLines(int length) {
+        Map<String, String> lines = new LinkedHashMap<>();
+        String spaces = " ".repeat(length / 3);
+        lines.put("whitespaceRuns", "f(x) public" + spaces + "int" + spaces + "run" + spaces);
+        lines.put("longParameterList", ") public void run(" + "int value, ".repeat(length / 11));
+        lines.put("modifierChain", "(" + "public static final ".repeat(length / 20));
+        lines.put("deepGenerics", ")" + "new A<".repeat(length / 6) + "(");
+        lines.put("qualifiedNames", ")" + "new a.".repeat(length / 6) + "(");
+        lines.put("keywordsBeforeBrace", "{ " + "if ".repeat(length / 3));
+        lines.put("parenthesesAndSpaces", "{" + ")  ".repeat(length / 3) + "x");
+        return lines;
+    }
+
+    /**
+     * Checks a line with every declaration pattern in the specified mode.
+     *
+     * @param line            The line to check.
+     * @param linearMatching  {@code true} to use the scanners, {@code false} for the regular expressions.
+     * @return A bit mask with the result of each pattern.
+     */
+    private static int checkLine(String line, boolean linearMatching) {
+        PatternRegistry.setLinearMatching(linearMatching);
+        int result = 0;
+        result |= PatternRegistry.METHOD_DECLARATION.find(line) ? 1 : 0;
+        result |= PatternRegistry.CLASS_INSTANTIATION.find(line) ? 2 : 0;
+        result |= PatternRegistry.LOGICAL_LINE.find(line) ? 4 : 0;
+        result |= PatternRegistry.VALID_DECLARATION.matches(line) ? 8 : 0;
+        return result;
+    }
+}
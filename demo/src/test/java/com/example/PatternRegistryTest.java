@@ -0,0 +1,81 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the PatternRegistry and PrefilteredPattern classes.
+ * A prefilter must never change the result of its regular expression.
+ */
+public class PatternRegistryTest {
+
+    /**
+     * Collects the lines of the sample corpus and of the sources of the analyzer,
+     * plus lines built to be close to the patterns.
+     * @return the lines, untrimmed and trimmed.
+     */
+    private List<String> collectLines() throws IOException {
+        List<String> lines = new ArrayList<>(List.of(
+            "public class A {", "class B<T> {", "private static class C extends D {",
+            "public void run() throws IOException, SQLException {", "int value = new Foo(1);",
+            "} else if (ready) {", "while (running);", "import java.util.*;", "@Override",
+            "@SuppressWarnings(\"unchecked\") int x;", "String s = \"class A {\";", "char c = '(';",
+            "try (Reader reader = open()) {", "enum Color {", "interface Shape {", "", "   "));
+        for (String root : List.of("files", "src/main/java")) {
+            try (Stream<Path> paths = Files.walk(Path.of(root))) {
+                for (Path path : paths.filter(p -> p.toString().endsWith(".java")).toList()) {
+                    for (String line : Files.readAllLines(path, StandardCharsets.ISO_8859_1)) {
+                        lines.add(line);
+                        lines.add(line.trim());
+                    }
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Test to verify that every prefiltered pattern gives the same results as its
+     * regular expression alone.
+     */
+    @Test
+    public void testPrefilters_neverChangeResults() throws IOException {
+        List<String> lines = collectLines();
+        for (PrefilteredPattern pattern : PatternRegistry.getPatterns()) {
+            for (String line : lines) {
+                String message = pattern.getName() + ": " + line;
+                assertEquals(pattern.getPattern().matcher(line).find(), pattern.find(line), message);
+                assertEquals(pattern.getPattern().matcher(line).matches(), pattern.matches(line), message);
+                assertEquals(pattern.getPattern().matcher(line).replaceAll(""), pattern.removeAll(line), message);
+            }
+        }
+    }
+
+    /**
+     * Test to verify that the statistics count the lines rejected by the prefilter
+     * and the lines matched with the regular expression.
+     */
+    @Test
+    public void testStatistics_countRejectedLines() {
+        PrefilteredPattern pattern = new PrefilteredPattern("test", "\\bfoo\\(", line -> line.contains("foo"));
+
+        pattern.find("int bar;");
+        pattern.find("foo(1);");
+        pattern.find("food;");
+
+        assertEquals(3, pattern.getLineCount());
+        assertEquals(1, pattern.getRejectedCount());
+        assertEquals(2, pattern.getRegexCount());
+        assertTrue(PatternRegistry.buildStatistics().contains("classDeclaration"));
+    }
+}
@@ -0,0 +1,180 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the PhaseTimings class.
+ * These tests verify that the phases of a run are counted when the timings are
+ * enabled, and that nothing is recorded while they are disabled.
+ */
+public class PhaseTimingsTest {
+
+    /**
+     * Content of the files of the analyzed directories: 5 lines.
+     */
+    private static final String SOURCE = String.join("\n",
+        "public class Sample {",
+        "    public int value() {",
+        "        return 1;",
+        "    }",
+        "}",
+        "");
+
+    /**
+     * Disables and clears the timings after each test.
+     */
+    @AfterEach
+    public void tearDown() {
+        PhaseTimings.setEnabled(false);
+        PhaseTimings.setSlowestFileCount(PhaseTimings.DEFAULT_SLOWEST_FILE_COUNT);
+        PhaseTimings.reset();
+    }
+
+    /**
+     * Tests that nothing is measured while the timings are disabled.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files cannot be written or read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    @Test
+    public void testDisabled_recordsNothing(@TempDir Path tempDir) throws IOException, FileException {
+        PhaseTimings.reset();
+        assertNull(PhaseTimings.start(PhaseTimings.Phase.WALK));
+
+        Path directory = createDirectory(tempDir, 3);
+        processDirectory(new DirectoryManager(directory.toString()));
+
+        for (PhaseTimings.Phase phase : PhaseTimings.Phase.values()) {
+            assertEquals(0, PhaseTimings.getFileCount(phase));
+            assertEquals(0, PhaseTimings.getWallNanos(phase));
+        }
+        assertTrue(PhaseTimings.getSlowestFiles().isEmpty());
+    }
+
+    /**
+     * Tests that the walk, the reads, the analyses and the report of a run are counted.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files cannot be written or read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    @Test
+    public void testEnabled_countsEachPhase(@TempDir Path tempDir) throws IOException, FileException {
+        PhaseTimings.setEnabled(true);
+        PhaseTimings.reset();
+
+        Path directory = createDirectory(tempDir, 3);
+        processDirectory(new DirectoryManager(directory.toString()));
+
+        assertEquals(3, PhaseTimings.getFileCount(PhaseTimings.Phase.WALK));
+        assertEquals(3, PhaseTimings.getFileCount(PhaseTimings.Phase.READ));
+        assertEquals(3 * SOURCE.length(), PhaseTimings.getByteCount(PhaseTimings.Phase.READ));
+        assertEquals(3, PhaseTimings.getFileCount(PhaseTimings.Phase.ANALYZE));
+        assertEquals(3 * 5, PhaseTimings.getLineCount(PhaseTimings.Phase.ANALYZE));
+        assertEquals(3, PhaseTimings.getFileCount(PhaseTimings.Phase.REPORT));
+        assertEquals(0, PhaseTimings.getFileCount(PhaseTimings.Phase.VALIDATE));
+        assertEquals(3, PhaseTimings.getSlowestFiles().size());
+        assertTrue(PhaseTimings.getWallNanos(PhaseTimings.Phase.ANALYZE) > 0);
+
+        String summary = PhaseTimings.buildSummary();
+        assertTrue(summary.contains("ANALYZE"));
+        assertTrue(summary.contains("Slowest files:"));
+        String record = PhaseTimings.buildRecord();
+        assertTrue(record.startsWith("{\"wallNanos\":"));
+        assertTrue(record.contains("\"READ\":{\"files\":3,\"lines\":15,\"bytes\":" + 3 * SOURCE.length()));
+    }
+
+    /**
+     * Tests that the multi-pass engine times its validation, class analysis and
+     * line counting separately.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if the files cannot be written or read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    @Test
+    public void testMultiPassEngine_timesEachPass(@TempDir Path tempDir) throws IOException, FileException {
+        PhaseTimings.setEnabled(true);
+        PhaseTimings.reset();
+
+        Path directory = createDirectory(tempDir, 2);
+        DirectoryManager directoryManager = new DirectoryManager(directory.toString());
+        directoryManager.setAnalysisEngineFactory(MultiPassAnalysisEngine::new);
+        processDirectory(directoryManager);
+
+        assertEquals(2, PhaseTimings.getFileCount(PhaseTimings.Phase.VALIDATE));
+        assertEquals(2, PhaseTimings.getFileCount(PhaseTimings.Phase.CLASS_ANALYSIS));
+        assertEquals(2 * 5, PhaseTimings.getLineCount(PhaseTimings.Phase.COUNT));
+    }
+
+    /**
+     * Tests that only the slowest files are kept, the slowest first, and that
+     * their paths are escaped in the record.
+     */
+    @Test
+    public void testRecordFile_keepsSlowest() {
+        PhaseTimings.setEnabled(true);
+        PhaseTimings.reset();
+        PhaseTimings.setSlowestFileCount(2);
+
+        PhaseTimings.recordFile("a.java", 30, 1);
+        PhaseTimings.recordFile("b.java", 10, 2);
+        PhaseTimings.recordFile("c\"d.java", 50, 3);
+
+        List<PhaseTimings.FileTiming> slowest = PhaseTimings.getSlowestFiles();
+        assertEquals(2, slowest.size());
+        assertEquals("c\"d.java", slowest.get(0).getPath());
+        assertEquals("a.java", slowest.get(1).getPath());
+        assertTrue(PhaseTimings.buildRecord().contains(
+            "\"slowestFiles\":[{\"path\":\"c\\\"d.java\",\"nanos\":50,\"lines\":3}"));
+    }
+
+    /**
+     * Creates a directory of identical Java files.
+     *
+     * @param tempDir   The parent directory.
+     * @param fileCount The number of files.
+     * @return The created directory.
+     * @throws IOException if the files cannot be written
+     */
+    private static Path createDirectory(Path tempDir, int fileCount) throws IOException {
+        Path directory = Files.createDirectories(tempDir.resolve("src"));
+        for (int i = 0; i < fileCount; i++) {
+            Files.writeString(directory.resolve("Sample" + i + ".java"), SOURCE);
+        }
+        return directory;
+    }
+
+    /**
+     * Processes a directory, discarding the printed results.
+     *
+     * @param directoryManager The manager of the directory.
+     * @throws IOException if the files cannot be read
+     * @throws FileException if the directory cannot be analyzed
+     */
+    private static void processDirectory(DirectoryManager directoryManager) throws IOException, FileException {
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            directoryManager.processDirectory();
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+}
@@ -110,4 +110,31 @@ public class PhysicalLineCounterTest {
             "Expected count for mixed input should be 2 (only counting effective code lines)"
         );
     }
+
+    /**
+     * Tests that counting over the raw bytes of a file gives the same result
+     * as counting over its decoded lines.
+     * 
+     * @throws FileException if an issue occurs while processing the file
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testCountSourceBufferMatchesLines() throws FileException, IOException {
+        JavaFile javaFile = createTempJavaFile(Arrays.asList(
+            "/* Start block comment",
+            "Comentario con acentos: método, año",
+            "End block comment*/",
+            "int a = 5; // asignación",
+            " ",
+            "// línea comentada",
+            "System.out.println(\"¿Qué tal?\");"
+        ));
+
+        SourceBuffer sourceBuffer = FileManager.readBuffer(javaFile.getfilePath());
+        assertEquals(
+            counter.count(javaFile),
+            counter.count(sourceBuffer),
+            "Counting raw bytes must match counting decoded lines"
+        );
+    }
 }
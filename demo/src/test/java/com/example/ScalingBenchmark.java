@@ -0,0 +1,140 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Measures how {@link DirectoryManager#processDirectory()} scales with the size of
+ * the tree. Trees of 1k, 10k, 100k and 1M files are written by a
+ * {@link CorpusGenerator} with a fixed seed, and each one is analyzed once,
+ * recording the elapsed time and the peak heap usage.
+ *
+ * <p>The trees are kept in the output directory, so later runs on the same
+ * directory only analyze them. The 1M file tree takes a few gigabytes of disk.</p>
+ *
+ * <p>This is not a unit test. Run it from the test classpath:</p>
+ * <pre>
+ * mvn test-compile
+ * java -Xmx4g -cp target/classes:target/test-classes com.example.ScalingBenchmark [maxFiles] [directory]
+ * </pre>
+ */
+public class ScalingBenchmark {
+    /**
+     * Seed of the generated trees.
+     */
+    private static final long SEED = 42;
+
+    /**
+     * Size of the smallest tree.
+     */
+    private static final int MIN_FILES = 1000;
+
+    /**
+     * Proportion of generated files with a format violation.
+     */
+    private static final double VIOLATION_RATE = 0.01;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional largest number of files and directory of the trees.
+     * @throws IOException If a tree cannot be written or read.
+     * @throws FileException If a tree cannot be analyzed.
+     */
+    public static void main(String[] args) throws IOException, FileException {
+        int maxFiles = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path directory = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("scalingBenchmark");
+
+        System.out.println(String.format("%10s %12s %12s %14s %14s", "files", "generate ms", "analyze ms",
+            "files/s", "peak heap MB"));
+        for (int fileCount = MIN_FILES; fileCount <= maxFiles; fileCount *= 10) {
+            Path tree = directory.resolve("files-" + fileCount);
+            long generateNanos = 0;
+            if (!Files.isDirectory(tree)) {
+                long start = System.nanoTime();
+                createGenerator(fileCount).generate(tree);
+                generateNanos = System.nanoTime() - start;
+            }
+
+            System.gc();
+            resetPeakHeap();
+            long start = System.nanoTime();
+            analyze(tree);
+            long analyzeNanos = System.nanoTime() - start;
+            long peakHeap = getPeakHeap();
+
+            System.out.println(String.format("%10d %12.0f %12.0f %14.0f %14.1f", fileCount, generateNanos / 1e6,
+                analyzeNanos / 1e6, fileCount / (analyzeNanos / 1e9), peakHeap / (1024.0 * 1024.0)));
+        }
+        System.out.println("Trees kept in " + directory);
+    }
+
+    /**
+     * Creates the generator of a tree: three directory levels, two classes per
+     * file with a nested class each, and one percent of invalid files.
+     *
+     * @param fileCount The number of files of the tree.
+     * @return The generator.
+     */
+    private static CorpusGenerator createGenerator(int fileCount) {
+        CorpusGenerator generator = new CorpusGenerator(SEED);
+        generator.setFileCount(fileCount);
+        generator.setDirectoryDepth(3);
+        generator.setClassesPerFile(2);
+        generator.setNestedClassesPerClass(1);
+        generator.setViolationRate(VIOLATION_RATE);
+        return generator;
+    }
+
+    /**
+     * Analyzes a tree with the default settings, discarding the printed results.
+     *
+     * @param tree The root of the tree.
+     * @throws IOException If the tree cannot be read.
+     * @throws FileException If the tree cannot be analyzed.
+     */
+    private static void analyze(Path tree) throws IOException, FileException {
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            new DirectoryManager(tree.toString()).processDirectory();
+        } finally {
+            System.setOut(originalOut);
+        }
+    }
+
+    /**
+     * Resets the peak usage of every heap memory pool.
+     */
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Adds up the peak usage of every heap memory pool since the last reset.
+     * The pools peak at different times, so this is an upper bound of the peak heap.
+     *
+     * @return The peak heap usage, in bytes.
+     */
+    private static long getPeakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
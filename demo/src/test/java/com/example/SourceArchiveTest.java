@@ -0,0 +1,181 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the SourceArchive and ArchiveJavaFile classes.
+ * An archive must give the same results as an extracted copy of it.
+ */
+public class SourceArchiveTest {
+
+    /**
+     * Gets the entries used by the tests, in the order they are written to the archive.
+     *
+     * @return The content of each entry, by entry name.
+     */
+    private Map<String, String> createEntries() {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("b/Zeta.java", "public class Zeta {\n    public void run() {\n    }\n}\n");
+        entries.put("a.java", "class Lower {\n}\n");
+        entries.put("a/c/Alpha.java", "public class Alpha {\n    private int value;\n}\n");
+        entries.put("a/Beta.java", "public class Beta {\n    int a; int b;\n}\n");
+        entries.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n");
+        return entries;
+    }
+
+    /**
+     * Writes the entries to a zip archive.
+     *
+     * @param archive The archive to write.
+     * @param entries The content of each entry, by entry name.
+     * @throws IOException if an I/O error occurs
+     */
+    private void writeArchive(Path archive, Map<String, String> entries) throws IOException {
+        try (OutputStream file = Files.newOutputStream(archive); ZipOutputStream zip = new ZipOutputStream(file)) {
+            zip.putNextEntry(new ZipEntry("a/"));
+            zip.closeEntry();
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Writes the entries as files under a directory.
+     *
+     * @param directory The directory to write to.
+     * @param entries The content of each entry, by entry name.
+     * @throws IOException if an I/O error occurs
+     */
+    private void extract(Path directory, Map<String, String> entries) throws IOException {
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            Path file = directory.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.write(file, entry.getValue().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Processes a directory or archive and captures everything it prints.
+     *
+     * @param directoryManager The manager of the directory or archive.
+     * @return The printed output.
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the files
+     */
+    private String capture(DirectoryManager directoryManager) throws IOException, FileException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(outputStream));
+        try {
+            directoryManager.processDirectory();
+        } finally {
+            System.setOut(originalOut);
+        }
+        return outputStream.toString();
+    }
+
+    /**
+     * Tests that the Java entries are listed in walk order and can be loaded and released.
+     *
+     * @param tempDir a temporary directory provided by JUnit
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the files
+     */
+    @Test
+    public void testGetJavaFiles_WalkOrder(@TempDir Path tempDir) throws IOException, FileException {
+        Path archive = tempDir.resolve("sources.jar");
+        writeArchive(archive, createEntries());
+
+        try (SourceArchive sourceArchive = new SourceArchive(archive.toFile())) {
+            List<JavaFile> javaFiles = sourceArchive.getJavaFiles();
+
+            assertEquals(List.of("Beta.java", "Alpha.java", "a.java", "Zeta.java"),
+                javaFiles.stream().map(JavaFile::getName).collect(Collectors.toList()));
+            JavaFile zeta = javaFiles.get(3);
+            assertTrue(zeta.getfilePath().endsWith(ArchiveJavaFile.ENTRY_SEPARATOR + "b/Zeta.java"));
+            assertEquals(4, zeta.getLines().size());
+            zeta.release();
+            assertFalse(zeta.isLoaded());
+        }
+    }
+
+    /**
+     * Tests that an archive prints the same report as its extracted copy.
+     *
+     * @param root a temporary directory provided by JUnit
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the files
+     */
+    @Test
+    public void testProcessDirectory_ArchiveMatchesExtractedCopy(@TempDir Path root)
+            throws IOException, FileException {
+        Map<String, String> entries = createEntries();
+        Path archive = root.resolve("sources.zip");
+        writeArchive(archive, entries);
+        Path extracted = Files.createDirectories(root.resolve("extracted").resolve("sources.zip"));
+        extract(extracted, entries);
+
+        DirectoryManager archiveManager = new DirectoryManager(archive.toString());
+        assertTrue(archiveManager.isArchive());
+        String archiveOutput = capture(archiveManager);
+        String extractedOutput = capture(new DirectoryManager(extracted.toString()));
+
+        assertEquals(extractedOutput, archiveOutput);
+        assertTrue(archiveOutput.contains("Alpha"));
+        assertEquals(4, archiveManager.getAllJavaFiles().size());
+    }
+
+    /**
+     * Tests that the entries of an archive are filtered by the default patterns and
+     * by the .gitignore entries like the files of its extracted copy.
+     *
+     * @param root a temporary directory provided by JUnit
+     * @throws IOException if an I/O error occurs
+     * @throws FileException if there is an issue handling the files
+     */
+    @Test
+    public void testProcessDirectory_ArchiveAppliesIgnoreRules(@TempDir Path root)
+            throws IOException, FileException {
+        Map<String, String> entries = createEntries();
+        entries.put("target/Output.java", "public class Output {\n}\n");
+        entries.put("node_modules/dep/Dependency.java", "public class Dependency {\n}\n");
+        entries.put("a/generated/Generated.java", "public class Generated {\n}\n");
+        entries.put("a/" + IgnoreRules.IGNORE_FILE_NAME, "generated/\n");
+        entries.put("com/x/build/Kept.java", "public class Kept {\n}\n");
+        Path archive = root.resolve("sources.zip");
+        writeArchive(archive, entries);
+        Path extracted = Files.createDirectories(root.resolve("extracted").resolve("sources.zip"));
+        extract(extracted, entries);
+
+        DirectoryManager archiveManager = new DirectoryManager(archive.toString());
+        String archiveOutput = capture(archiveManager);
+
+        assertEquals(capture(new DirectoryManager(extracted.toString())), archiveOutput);
+        assertEquals(List.of("Beta.java", "Alpha.java", "a.java", "Zeta.java", "Kept.java"),
+            archiveManager.getAllJavaFiles().stream().map(JavaFile::getName).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Compares the line-based reader ({@link FileManager#readLines(String)}) with the
+ * byte-level reader ({@link FileManager#readBuffer(String)}) by counting the
+ * physical lines of a generated set of files with each of them.
+ *
+ * <p>This is not a unit test. Run it from the test classpath:</p>
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.example.SourceReaderBenchmark [files] [linesPerFile]
+ * </pre>
+ */
+public class SourceReaderBenchmark {
+    /**
+     * Number of timed rounds for each reader.
+     */
+    private static final int ROUNDS = 10;
+
+    /**
+     * Number of untimed rounds run first so both readers are compiled by the JIT.
+     */
+    private static final int WARMUP_ROUNDS = 5;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of files and number of lines per file.
+     * @throws IOException If the benchmark files cannot be written or read.
+     * @throws FileException If a benchmark file cannot be found.
+     */
+    public static void main(String[] args) throws IOException, FileException {
+        int fileCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int linesPerFile = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        Path directory = Files.createTempDirectory("sourceReaderBenchmark");
+        List<String> paths = createFiles(directory, fileCount, linesPerFile);
+        long totalBytes = 0;
+        for (String path : paths) {
+            totalBytes += new File(path).length();
+        }
+
+        PhysicalLineCounter counter = new PhysicalLineCounter();
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            countWithLines(paths, counter);
+            countWithBuffers(paths, counter);
+        }
+
+        long linesNanos = 0;
+        long buffersNanos = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long linesResult = countWithLines(paths, counter);
+            linesNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long buffersResult = countWithBuffers(paths, counter);
+            buffersNanos += System.nanoTime() - start;
+
+            if (linesResult != buffersResult) {
+                throw new IllegalStateException("Readers disagree: " + linesResult + " != " + buffersResult);
+            }
+        }
+
+        System.out.println("Files: " + fileCount + ", lines per file: " + linesPerFile + ", bytes: " + totalBytes);
+        printResult("readLines  + count(JavaFile)    ", linesNanos, totalBytes);
+        printResult("readBuffer + count(SourceBuffer)", buffersNanos, totalBytes);
+
+        for (String path : paths) {
+            Files.delete(Path.of(path));
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Reads every file with {@link FileManager#readLines(String)} and counts its physical lines.
+     */
+    private static long countWithLines(List<String> paths, PhysicalLineCounter counter)
+            throws IOException, FileException {
+        long total = 0;
+        for (String path : paths) {
+            JavaFile javaFile = new JavaFile(path, path);
+            javaFile.setLines(FileManager.readLines(path));
+            total += counter.count(javaFile);
+        }
+        return total;
+    }
+
+    /**
+     * Reads every file with {@link FileManager#readBuffer(String)} and counts its physical lines.
+     */
+    private static long countWithBuffers(List<String> paths, PhysicalLineCounter counter)
+            throws IOException, FileException {
+        long total = 0;
+        for (String path : paths) {
+            total += counter.count(FileManager.readBuffer(path));
+        }
+        return total;
+    }
+
+    /**
+     * Prints the average time per round and the throughput of a reader.
+     */
+    private static void printResult(String label, long nanos, long totalBytes) {
+        double millisPerRound = nanos / 1_000_000.0 / ROUNDS;
+        double megabytesPerSecond = totalBytes / 1_048_576.0 / (millisPerRound / 1000.0);
+        System.out.printf("%s %10.2f ms/round %10.2f MB/s%n", label, millisPerRound, megabytesPerSecond);
+    }
+
+    /**
+     * Writes the benchmark files: a mix of code, blank lines, line comments and block comments.
+     */
+    private static List<String> createFiles(Path directory, int fileCount, int linesPerFile) throws IOException {
+        List<String> paths = new ArrayList<>();
+        for (int fileIndex = 0; fileIndex < fileCount; fileIndex++) {
+            List<String> lines = new ArrayList<>();
+            lines.add("public class Generated" + fileIndex + " {");
+            while (lines.size() < linesPerFile - 1) {
+                int kind = lines.size() % 10;
+                if (kind == 0) {
+                    lines.add("    /**");
+                    lines.add("     * Returns the value number " + lines.size() + ".");
+                    lines.add("     */");
+                } else if (kind == 5) {
+                    lines.add("");
+                } else if (kind == 7) {
+                    lines.add("        // Adds the next value to the total");
+                } else {
+                    lines.add("        total += values[" + lines.size() + "] * factor;");
+                }
+            }
+            lines.add("}");
+            Path file = directory.resolve("Generated" + fileIndex + ".java");
+            Files.write(file, lines);
+            paths.add(file.toString());
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.exceptions.FileException;
+
+/**
+ * Unit tests for the StagedPipeline class.
+ * These tests verify that the stages, connected by small bounded queues,
+ * still deliver every file and merge the results in walk order.
+ */
+public class StagedPipelineTest {
+
+    /**
+     * Creates a directory tree with Java files spread over nested subdirectories.
+     *
+     * @return The root directory of the tree.
+     * @throws IOException if an I/O error occurs while creating the files
+     */
+    private Path createTree() throws IOException {
+        Path root = Files.createTempDirectory("pipelineTree");
+        for (String directoryName : List.of("b", "a", "a/c", "a/d/e", "f")) {
+            Path directory = root.resolve(directoryName);
+            Files.createDirectories(directory);
+            for (int i = 0; i < 6; i++) {
+                Files.write(directory.resolve("File" + i + ".java"), List.of(
+                    "public class File" + i + " {",
+                    "    public void run() {",
+                    "    }",
+                    "}"));
+            }
+            Files.write(directory.resolve("Notes.txt"), List.of("not java"));
+        }
+        return root;
+    }
+
+    /**
+     * Deletes a directory tree created by a test.
+     *
+     * @param directory The directory to delete.
+     */
+    private void deleteTree(File directory) {
+        for (File file : DirectoryManager.listSortedFiles(directory)) {
+            if (file.isDirectory()) {
+                deleteTree(file);
+            }
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     * Tests that the pipeline discovers the same files as the sequential walk and
+     * merges their results in walk order, even with queues of a single element.
+     *
+     * @throws FileException if an issue occurs while processing the files
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testRun_MatchesSequentialWalk() throws FileException, IOException {
+        Path root = createTree();
+        try {
+            List<JavaFile> expectedFiles = new DirectoryManager(root.toString()).getAllJavaFiles();
+            List<JavaFile> discoveredFiles = new ArrayList<>();
+
+            AnalysisCollector collector = new StagedPipeline(FusedAnalysisEngine::new, 3, 2, 1)
+                .run(root.toFile(), discoveredFiles);
+
+            assertEquals(30, discoveredFiles.size());
+            for (int i = 0; i < expectedFiles.size(); i++) {
+                assertEquals(expectedFiles.get(i).getfilePath(), discoveredFiles.get(i).getfilePath());
+                assertFalse(discoveredFiles.get(i).isLoaded(), "Files must be released after the analysis");
+            }
+            ClassResultStore classResults = collector.getClassResults();
+            assertEquals(30, classResults.size());
+            for (int i = 0; i < classResults.size(); i++) {
+                assertEquals("File" + (i % 6), classResults.getClassName(i));
+            }
+            assertEquals(120, collector.getTotalLOC());
+            assertTrue(collector.getErrorMessages().isEmpty());
+        } finally {
+            deleteTree(root.toFile());
+        }
+    }
+
+    /**
+     * Tests that invalid files are reported as errors and do not stop the pipeline.
+     *
+     * @throws FileException if an issue occurs while processing the files
+     * @throws IOException if an I/O error occurs
+     */
+    @Test
+    public void testRun_ReportsInvalidFiles() throws FileException, IOException {
+        Path root = createTree();
+        try {
+            Files.write(root.resolve("a").resolve("Invalid.java"), List.of(
+                "public class Invalid {",
+                "    int a = 1; int b = 2;",
+                "}"));
+            List<JavaFile> discoveredFiles = new ArrayList<>();
+
+            AnalysisCollector collector = new StagedPipeline(FusedAnalysisEngine::new, 1, 1, 2)
+                .run(root.toFile(), discoveredFiles);
+
+            assertEquals(31, discoveredFiles.size());
+            assertEquals(1, collector.getErrorMessages().size());
+            assertEquals(30, collector.getClassResults().size());
+        } finally {
+            deleteTree(root.toFile());
+        }
+    }
+
+    /**
+     * Tests that the parallelism of each stage must be positive.
+     */
+    @Test
+    public void testConstructor_RejectsInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> new StagedPipeline(FusedAnalysisEngine::new, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new StagedPipeline(FusedAnalysisEngine::new, 1, 1, 0));
+    }
+}
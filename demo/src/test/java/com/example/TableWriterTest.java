@@ -0,0 +1,114 @@
+package com.example;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.constants.SymbolsConstants;
+
+/**
+ * Unit tests for the TableWriter class.
+ * These tests compare the streamed table with the table formatted row by row
+ * with {@link ResultPrinter#COLUMN_FORMAT_TEMPLATE}.
+ */
+public class TableWriterTest {
+
+    /**
+     * Tests that random tables are written exactly as the formatted ones.
+     *
+     * @throws IOException if the writer fails
+     */
+    @Test
+    public void testWrite_MatchesFormattedTable() throws IOException {
+        Random random = new Random(20);
+        for (int round = 0; round < 50; round++) {
+            ClassResultStore classResults = new ClassResultStore();
+            int rows = random.nextInt(40);
+            for (int i = 0; i < rows; i++) {
+                String className = "Clase" + "x".repeat(random.nextInt(60)) + i;
+                int methodCount = random.nextInt(10) == 0 ? Integer.MAX_VALUE : random.nextInt(1000);
+                classResults.add(className, methodCount, random.nextInt(Integer.MAX_VALUE), i);
+            }
+            String programName = "Prog" + "á".repeat(random.nextInt(30));
+            int totalLOC = random.nextInt(Integer.MAX_VALUE);
+
+            StringWriter table = new StringWriter();
+            new TableWriter(table).write(programName, classResults, totalLOC);
+
+            assertEquals(formatTable(programName, classResults, totalLOC), table.toString());
+        }
+    }
+
+    /**
+     * Tests that the printed table keeps the bytes of the table built in memory
+     * followed by a line separator, in the encoding of the console.
+     */
+    @Test
+    public void testPrintResults_StreamsSameBytes() {
+        ClassResultStore classResults = new ClassResultStore();
+        classResults.add("Señal", 3, 42, 0);
+        classResults.add("Otra", 12, 7, 1);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream originalOut = System.out;
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+        try {
+            ResultPrinter.printResults("programa", classResults, 49);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String expected = formatTable("programa", classResults, 49) + System.lineSeparator();
+        assertEquals(expected, output.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Formats a table row by row with {@link String#format(String, Object...)}.
+     *
+     * @param programName  The name of the program.
+     * @param classResults The rows of the table.
+     * @param totalLOC     The total physical LOC of the program.
+     * @return The formatted table.
+     */
+    private static String formatTable(String programName, ClassResultStore classResults, int totalLOC) {
+        int[] widths = {
+            Math.max(ResultPrinter.TITLE_PROGRAM.length(), programName.length()),
+            ResultPrinter.TITLE_CLASS.length(),
+            ResultPrinter.TITLE_METHODS_CLASS.length(),
+            ResultPrinter.TITLE_TOTAL_LOC_CLASS.length(),
+            Math.max(ResultPrinter.TITLE_TOTAL_LOC.length(), String.valueOf(totalLOC).length())
+        };
+        for (int i = 0; i < classResults.size(); i++) {
+            widths[1] = Math.max(widths[1], classResults.getClassName(i).length());
+            widths[2] = Math.max(widths[2], String.valueOf(classResults.getMethodCount(i)).length());
+            widths[3] = Math.max(widths[3], String.valueOf(classResults.getPhysicalLines(i)).length());
+        }
+        String rowFormat = String.format(ResultPrinter.COLUMN_FORMAT_TEMPLATE,
+            widths[0], widths[1], widths[2], widths[3], widths[4]);
+        StringBuilder separator = new StringBuilder(SymbolsConstants.PLUS_SIGN);
+        for (int width : widths) {
+            separator.append(SymbolsConstants.MINUS_SIGN.repeat(width + ResultPrinter.HORIZONTAL_PADDING))
+                .append(SymbolsConstants.PLUS_SIGN);
+        }
+        separator.append('\n');
+
+        StringBuilder table = new StringBuilder();
+        table.append(separator);
+        table.append(String.format(rowFormat, ResultPrinter.TITLE_PROGRAM, ResultPrinter.TITLE_CLASS,
+            ResultPrinter.TITLE_METHODS_CLASS, ResultPrinter.TITLE_TOTAL_LOC_CLASS, ResultPrinter.TITLE_TOTAL_LOC));
+        table.append(separator);
+        for (int i = 0; i < classResults.size(); i++) {
+            table.append(String.format(rowFormat, programName, classResults.getClassName(i),
+                classResults.getMethodCount(i), classResults.getPhysicalLines(i), totalLOC));
+        }
+        table.append(separator);
+        return table.toString();
+    }
+}